@@ -0,0 +1,140 @@
+package com.birozsombor4.springrestapitemplate.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.StreamUtils;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class AvatarTransferBenchmark {
+
+  private static final int CONCURRENT_REQUESTS = 1000;
+
+  @Param({"65536", "1048576"})
+  private int size;
+  private Path file;
+  private ServerSocketChannel server;
+  private ExecutorService requestThreads;
+  private final List<SocketChannel> clients = new ArrayList<>();
+  private final List<Callable<Long>> heapStreamCopies = new ArrayList<>();
+  private final List<Callable<Long>> fileChannelTransfers = new ArrayList<>();
+
+  @Setup
+  public void setup() throws IOException {
+    byte[] content = new byte[size];
+    new Random(42).nextBytes(content);
+    file = Files.createTempFile("avatar", ".png");
+    Files.write(file, content);
+    server = ServerSocketChannel.open()
+        .bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), CONCURRENT_REQUESTS);
+    requestThreads = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+    for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+      SocketChannel client = SocketChannel.open(server.getLocalAddress());
+      startDrain(server.accept());
+      OutputStream output = client.socket().getOutputStream();
+      clients.add(client);
+      heapStreamCopies.add(() -> heapStreamCopy(output));
+      fileChannelTransfers.add(() -> fileChannelTransfer(client));
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    requestThreads.shutdownNow();
+    for (SocketChannel client : clients) {
+      client.close();
+    }
+    server.close();
+    Files.delete(file);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CONCURRENT_REQUESTS)
+  public long heapStreamCopy() throws InterruptedException, ExecutionException {
+    return serve(heapStreamCopies);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CONCURRENT_REQUESTS)
+  public long fileChannelTransferTo() throws InterruptedException, ExecutionException {
+    return serve(fileChannelTransfers);
+  }
+
+  private long serve(List<Callable<Long>> requests) throws InterruptedException, ExecutionException {
+    long bytes = 0;
+    for (Future<Long> response : requestThreads.invokeAll(requests)) {
+      bytes += response.get();
+    }
+    return bytes;
+  }
+
+  private long heapStreamCopy(OutputStream output) throws IOException {
+    try (InputStream input = Files.newInputStream(file)) {
+      return StreamUtils.copy(input, output);
+    }
+  }
+
+  private long fileChannelTransfer(SocketChannel client) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long length = channel.size();
+      long position = 0;
+      while (position < length) {
+        position += channel.transferTo(position, length - position, client);
+      }
+      return position;
+    }
+  }
+
+  private static void startDrain(SocketChannel peer) {
+    Thread drain = new Thread(() -> drain(peer), "avatar-drain");
+    drain.setDaemon(true);
+    drain.start();
+  }
+
+  private static void drain(SocketChannel peer) {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+    try (SocketChannel channel = peer) {
+      while (channel.read(buffer) >= 0) {
+        buffer.clear();
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
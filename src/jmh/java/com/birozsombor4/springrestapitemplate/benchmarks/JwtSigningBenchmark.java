@@ -0,0 +1,86 @@
+package com.birozsombor4.springrestapitemplate.benchmarks;
+
+import com.birozsombor4.springrestapitemplate.models.daos.User;
+import com.birozsombor4.springrestapitemplate.security.UserDetailsImpl;
+import com.birozsombor4.springrestapitemplate.utils.HmacSigningEngine;
+import com.birozsombor4.springrestapitemplate.utils.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtSigningBenchmark {
+
+  private static final String SECRET_KEY = "c3ByaW5nLXJlc3QtYXBpLWJlbmNobWFyay1zZWNyZXQ=";
+
+  private UserDetailsImpl userDetails;
+  private JwtUtil jwtUtil;
+  private String engineToken;
+  private String jjwtToken;
+
+  @Setup
+  public void setup() {
+    User user = new User(1, "benchmarkUser", "password", "benchmark@example.com");
+    userDetails = new UserDetailsImpl(user);
+    jwtUtil = new JwtUtil(new HmacSigningEngine(SECRET_KEY, Collections.emptyMap(), null),
+        TimeUnit.MINUTES.toMillis(15));
+    engineToken = jwtUtil.generateToken(userDetails);
+    jjwtToken = jjwtGenerateToken();
+  }
+
+  @Benchmark
+  public String generateToken_jjwt() {
+    return jjwtGenerateToken();
+  }
+
+  @Benchmark
+  public String generateToken_signingEngine() {
+    return jwtUtil.generateToken(userDetails);
+  }
+
+  @Benchmark
+  public boolean validateToken_jjwt() {
+    Claims claims = Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(jjwtToken).getBody();
+    return claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date());
+  }
+
+  @Benchmark
+  public boolean validateToken_signingEngine() {
+    return jwtUtil.validateToken(engineToken, userDetails);
+  }
+
+  private String jjwtGenerateToken() {
+    Map<String, Object> claims = new HashMap<>();
+    return Jwts.builder().setClaims(claims)
+        .setSubject(userDetails.getUsername())
+        .claim("user_id", userDetails.getId())
+        .claim("verified", userDetails.isVerified())
+        .claim("epoch", userDetails.getTokenEpoch())
+        .setIssuedAt(new Date(System.currentTimeMillis()))
+        .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10))
+        .signWith(SignatureAlgorithm.HS256, SECRET_KEY)
+        .compact();
+  }
+}
@@ -0,0 +1,93 @@
+package com.birozsombor4.springrestapitemplate.benchmarks;
+
+import com.birozsombor4.springrestapitemplate.email.EmailConfig;
+import com.birozsombor4.springrestapitemplate.email.SmtpConnectionPool;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import java.util.concurrent.TimeUnit;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(2)
+public class SmtpThroughputBenchmark {
+
+  private GreenMail smtpServer;
+  private JavaMailSenderImpl javaMailSender;
+  private SmtpConnectionPool smtpConnectionPool;
+
+  @Setup
+  public void setup() {
+    smtpServer = new GreenMail(ServerSetupTest.SMTP);
+    smtpServer.start();
+    javaMailSender = new JavaMailSenderImpl();
+    javaMailSender.setHost("localhost");
+    javaMailSender.setPort(ServerSetupTest.SMTP.getPort());
+    javaMailSender.setUsername("test");
+    javaMailSender.setPassword("xxx");
+    EmailConfig emailConfig = new EmailConfig();
+    emailConfig.setHost("localhost");
+    emailConfig.setPort(ServerSetupTest.SMTP.getPort());
+    emailConfig.setUsername("test");
+    emailConfig.setPassword("xxx");
+    emailConfig.setPoolMaxConnections(2);
+    emailConfig.setPoolMaxMessagesPerConnection(100);
+    emailConfig.setPoolMaxConnectionAgeSeconds(60);
+    MailProperties mailProperties = new MailProperties();
+    smtpConnectionPool = new SmtpConnectionPool(emailConfig, mailProperties);
+  }
+
+  @TearDown(Level.Iteration)
+  public void purgeMailboxes() throws Exception {
+    smtpServer.purgeEmailFromAllMailboxes();
+  }
+
+  @TearDown
+  public void tearDown() {
+    smtpConnectionPool.close();
+    smtpServer.stop();
+  }
+
+  @Benchmark
+  public void send_connectionPerMessage() throws MessagingException {
+    javaMailSender.send(message(javaMailSender.getSession()));
+  }
+
+  @Benchmark
+  public void send_connectionPool() throws MessagingException {
+    smtpConnectionPool.send(message(smtpConnectionPool.getSession()));
+  }
+
+  private MimeMessage message(Session session) throws MessagingException {
+    MimeMessage mimeMessage = new MimeMessage(session);
+    MimeMessageHelper messageHelper = new MimeMessageHelper(mimeMessage);
+    messageHelper.setFrom("admin@admin.com");
+    messageHelper.setTo("benchmark@example.com");
+    messageHelper.setSubject("App Verification");
+    messageHelper.setText("<p>benchmark</p>", true);
+    mimeMessage.saveChanges();
+    return mimeMessage;
+  }
+}
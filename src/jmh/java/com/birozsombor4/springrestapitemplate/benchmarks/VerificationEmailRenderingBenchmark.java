@@ -0,0 +1,60 @@
+package com.birozsombor4.springrestapitemplate.benchmarks;
+
+import com.birozsombor4.springrestapitemplate.email.VerificationEmailRenderer;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class VerificationEmailRenderingBenchmark {
+
+  private TemplateEngine templateEngine;
+  private VerificationEmailRenderer renderer;
+  private String verificationToken;
+
+  @Setup
+  public void setup() {
+    ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+    templateResolver.setPrefix("templates/");
+    templateResolver.setSuffix(".html");
+    templateResolver.setTemplateMode(TemplateMode.HTML);
+    templateEngine = new SpringTemplateEngine();
+    templateEngine.setTemplateResolver(templateResolver);
+    renderer = new VerificationEmailRenderer(templateEngine);
+    verificationToken = UUID.randomUUID().toString();
+  }
+
+  @Benchmark
+  public String render_thymeleaf() {
+    Context context = new Context();
+    context.setVariable("username", "benchmarkUser");
+    context.setVariable("verificationToken", verificationToken);
+    return templateEngine.process(VerificationEmailRenderer.TEMPLATE_NAME, context);
+  }
+
+  @Benchmark
+  public String render_compiled() {
+    return renderer.render("benchmarkUser", verificationToken);
+  }
+}
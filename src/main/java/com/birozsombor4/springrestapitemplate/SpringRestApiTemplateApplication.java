@@ -2,8 +2,10 @@ package com.birozsombor4.springrestapitemplate;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SpringRestApiTemplateApplication {
 
   public static void main(String[] args) {
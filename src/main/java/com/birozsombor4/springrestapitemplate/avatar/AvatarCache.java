@@ -0,0 +1,170 @@
+package com.birozsombor4.springrestapitemplate.avatar;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AvatarCache implements MeterBinder {
+
+  private final long maxBytes;
+  private final long maxEntryBytes;
+  private final int maxMetadataEntries;
+  private final long revalidateNanos;
+  private final LongSupplier nanoClock;
+  private final LinkedHashMap<String, ByteBuffer> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final LinkedHashMap<String, MetadataEntry> metadata = new LinkedHashMap<>(16, 0.75f, true);
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private long residentBytes;
+  private long invalidations;
+
+  @Autowired
+  public AvatarCache(AvatarConfig avatarConfig) {
+    this(avatarConfig, System::nanoTime);
+  }
+
+  public AvatarCache(AvatarConfig avatarConfig, LongSupplier nanoClock) {
+    this.maxBytes = avatarConfig.getCacheMaxBytes();
+    this.maxEntryBytes = Math.min(avatarConfig.getCacheMaxEntryBytes(), maxBytes);
+    this.maxMetadataEntries = avatarConfig.getCacheMaxMetadataEntries();
+    this.revalidateNanos = TimeUnit.MILLISECONDS.toNanos(avatarConfig.getCacheRevalidateMillis());
+    this.nanoClock = nanoClock;
+  }
+
+  public boolean accepts(long size) {
+    return maxBytes > 0 && size <= maxEntryBytes;
+  }
+
+  public synchronized ByteBuffer get(String filename) {
+    ByteBuffer buffer = entries.get(filename);
+    if (buffer == null) {
+      misses.incrementAndGet();
+      return null;
+    }
+    hits.incrementAndGet();
+    return buffer.duplicate();
+  }
+
+  public synchronized long stamp() {
+    return invalidations;
+  }
+
+  public ByteBuffer put(String filename, ByteBuffer content, long stamp) {
+    ByteBuffer readOnly = content.asReadOnlyBuffer();
+    if (!accepts(readOnly.remaining())) {
+      return readOnly;
+    }
+    synchronized (this) {
+      if (stamp == invalidations) {
+        remove(filename);
+        entries.put(filename, readOnly);
+        residentBytes += readOnly.capacity();
+        evictToBudget();
+      }
+    }
+    return readOnly.duplicate();
+  }
+
+  public synchronized AvatarMetadata getMetadata(String filename) {
+    MetadataEntry entry = metadata.get(filename);
+    if (entry == null || nanoClock.getAsLong() - entry.checkedAt >= revalidateNanos) {
+      return null;
+    }
+    return entry.metadata;
+  }
+
+  public synchronized void putMetadata(AvatarMetadata avatarMetadata, long stamp) {
+    String filename = avatarMetadata.getFilename();
+    MetadataEntry previous = metadata.get(filename);
+    if (previous != null && !previous.metadata.getETag().equals(avatarMetadata.getETag())) {
+      invalidate(filename);
+      return;
+    }
+    if (previous == null && maxMetadataEntries > 0) {
+      remove(filename);
+    }
+    if (stamp != invalidations || maxMetadataEntries <= 0) {
+      return;
+    }
+    metadata.put(filename, new MetadataEntry(avatarMetadata, nanoClock.getAsLong()));
+    Iterator<String> eldest = metadata.keySet().iterator();
+    while (metadata.size() > maxMetadataEntries && eldest.hasNext()) {
+      eldest.next();
+      eldest.remove();
+    }
+  }
+
+  public synchronized void invalidate(String filename) {
+    invalidations++;
+    remove(filename);
+    metadata.remove(filename);
+  }
+
+  public synchronized void invalidateAll() {
+    invalidations++;
+    entries.clear();
+    metadata.clear();
+    residentBytes = 0;
+  }
+
+  public synchronized long getResidentBytes() {
+    return residentBytes;
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public double getHitRatio() {
+    long hitCount = hits.get();
+    long total = hitCount + misses.get();
+    return total == 0 ? 0 : (double) hitCount / total;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("avatar.cache.hits", hits, AtomicLong::get).register(registry);
+    FunctionCounter.builder("avatar.cache.misses", misses, AtomicLong::get).register(registry);
+    Gauge.builder("avatar.cache.hit.ratio", this, AvatarCache::getHitRatio).register(registry);
+    Gauge.builder("avatar.cache.bytes.resident", this, AvatarCache::getResidentBytes).baseUnit("bytes")
+        .register(registry);
+    Gauge.builder("avatar.cache.entries", this, AvatarCache::size).register(registry);
+  }
+
+  private void remove(String filename) {
+    ByteBuffer removed = entries.remove(filename);
+    if (removed != null) {
+      residentBytes -= removed.capacity();
+    }
+  }
+
+  private void evictToBudget() {
+    Iterator<Map.Entry<String, ByteBuffer>> eldest = entries.entrySet().iterator();
+    while (residentBytes > maxBytes && eldest.hasNext()) {
+      residentBytes -= eldest.next().getValue().capacity();
+      eldest.remove();
+    }
+  }
+
+  private static class MetadataEntry {
+
+    private final AvatarMetadata metadata;
+    private final long checkedAt;
+
+    private MetadataEntry(AvatarMetadata metadata, long checkedAt) {
+      this.metadata = metadata;
+      this.checkedAt = checkedAt;
+    }
+  }
+}
@@ -8,12 +8,31 @@ public class AvatarConfig {
 
   @Value("${avatars.root.location}")
   private String location;
+  @Value("${avatars.cache.max-bytes}")
+  private long cacheMaxBytes;
+  @Value("${avatars.cache.max-entry-bytes}")
+  private long cacheMaxEntryBytes;
+  @Value("${avatars.cache.max-metadata-entries}")
+  private int cacheMaxMetadataEntries;
+  @Value("${avatars.cache.revalidate-millis}")
+  private long cacheRevalidateMillis;
+  @Value("${avatars.cache-control}")
+  private String cacheControl;
+  @Value("${avatars.sendfile.min-bytes}")
+  private long sendfileMinBytes;
 
   public AvatarConfig() {
   }
 
-  public AvatarConfig(String location) {
+  public AvatarConfig(String location, long cacheMaxBytes, long cacheMaxEntryBytes, int cacheMaxMetadataEntries,
+                      long cacheRevalidateMillis, String cacheControl, long sendfileMinBytes) {
     this.location = location;
+    this.cacheMaxBytes = cacheMaxBytes;
+    this.cacheMaxEntryBytes = cacheMaxEntryBytes;
+    this.cacheMaxMetadataEntries = cacheMaxMetadataEntries;
+    this.cacheRevalidateMillis = cacheRevalidateMillis;
+    this.cacheControl = cacheControl;
+    this.sendfileMinBytes = sendfileMinBytes;
   }
 
   public String getLocation() {
@@ -23,4 +42,52 @@ public class AvatarConfig {
   public void setLocation(String location) {
     this.location = location;
   }
+
+  public long getCacheMaxBytes() {
+    return cacheMaxBytes;
+  }
+
+  public void setCacheMaxBytes(long cacheMaxBytes) {
+    this.cacheMaxBytes = cacheMaxBytes;
+  }
+
+  public long getCacheMaxEntryBytes() {
+    return cacheMaxEntryBytes;
+  }
+
+  public void setCacheMaxEntryBytes(long cacheMaxEntryBytes) {
+    this.cacheMaxEntryBytes = cacheMaxEntryBytes;
+  }
+
+  public int getCacheMaxMetadataEntries() {
+    return cacheMaxMetadataEntries;
+  }
+
+  public void setCacheMaxMetadataEntries(int cacheMaxMetadataEntries) {
+    this.cacheMaxMetadataEntries = cacheMaxMetadataEntries;
+  }
+
+  public long getCacheRevalidateMillis() {
+    return cacheRevalidateMillis;
+  }
+
+  public void setCacheRevalidateMillis(long cacheRevalidateMillis) {
+    this.cacheRevalidateMillis = cacheRevalidateMillis;
+  }
+
+  public String getCacheControl() {
+    return cacheControl;
+  }
+
+  public void setCacheControl(String cacheControl) {
+    this.cacheControl = cacheControl;
+  }
+
+  public long getSendfileMinBytes() {
+    return sendfileMinBytes;
+  }
+
+  public void setSendfileMinBytes(long sendfileMinBytes) {
+    this.sendfileMinBytes = sendfileMinBytes;
+  }
 }
@@ -0,0 +1,30 @@
+package com.birozsombor4.springrestapitemplate.avatar;
+
+public class AvatarMetadata {
+
+  private final String filename;
+  private final long size;
+  private final long lastModified;
+
+  public AvatarMetadata(String filename, long size, long lastModified) {
+    this.filename = filename;
+    this.size = size;
+    this.lastModified = lastModified;
+  }
+
+  public String getFilename() {
+    return filename;
+  }
+
+  public long getSize() {
+    return size;
+  }
+
+  public long getLastModified() {
+    return lastModified;
+  }
+
+  public String getETag() {
+    return "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(size) + "\"";
+  }
+}
@@ -0,0 +1,35 @@
+package com.birozsombor4.springrestapitemplate.avatar;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AvatarSendfile {
+
+  public static final String SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+  public static final String FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+  public static final String START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+  public static final String END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
+  private final Path rootLocation;
+  private final long minBytes;
+
+  @Autowired
+  public AvatarSendfile(AvatarConfig avatarConfig) {
+    this.rootLocation = Paths.get(avatarConfig.getLocation()).toAbsolutePath().normalize();
+    this.minBytes = avatarConfig.getSendfileMinBytes();
+  }
+
+  public boolean trySend(HttpServletRequest request, String filename, long start, long length) {
+    if (length < minBytes || !Boolean.TRUE.equals(request.getAttribute(SUPPORT_ATTRIBUTE))) {
+      return false;
+    }
+    request.setAttribute(FILENAME_ATTRIBUTE, rootLocation.resolve(filename).toString());
+    request.setAttribute(START_ATTRIBUTE, start);
+    request.setAttribute(END_ATTRIBUTE, start + length);
+    return true;
+  }
+}
@@ -11,6 +11,12 @@ public interface AvatarService {
 
   Resource loadAvatarAsResource(String filename) throws MalformedURLException;
 
+  Resource getCachedAvatar(String filename);
+
+  Resource readAvatarAsResource(String filename);
+
+  AvatarMetadata getAvatarMetadata(String filename);
+
   void deleteAvatar(String filename);
 
   void deleteAllCustomAvatar();
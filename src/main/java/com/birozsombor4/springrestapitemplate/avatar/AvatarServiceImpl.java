@@ -9,11 +9,14 @@ import com.birozsombor4.springrestapitemplate.exceptions.UnsupportedFileNameExce
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.MalformedURLException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Arrays;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,11 +29,13 @@ import org.springframework.web.multipart.MultipartFile;
 public class AvatarServiceImpl implements AvatarService {
 
   private AvatarConfig avatarConfig;
+  private AvatarCache avatarCache;
   private Path rootLocation;
 
   @Autowired
-  public AvatarServiceImpl(AvatarConfig avatarConfig) {
+  public AvatarServiceImpl(AvatarConfig avatarConfig, AvatarCache avatarCache) {
     this.avatarConfig = avatarConfig;
+    this.avatarCache = avatarCache;
     rootLocation = Paths.get(this.avatarConfig.getLocation());
     initAvatarsDirectory();
   }
@@ -46,7 +51,10 @@ public class AvatarServiceImpl implements AvatarService {
     try {
       InputStream inputStream = file.getInputStream();
       String newFileName = userId + file.getOriginalFilename().substring(file.getOriginalFilename().lastIndexOf("."));
-      Files.copy(inputStream, rootLocation.resolve(newFileName), StandardCopyOption.REPLACE_EXISTING);
+      Path path = rootLocation.resolve(newFileName);
+      Files.copy(inputStream, path, StandardCopyOption.REPLACE_EXISTING);
+      avatarCache.invalidate(newFileName);
+      avatarCache.putMetadata(readMetadata(newFileName, path), avatarCache.stamp());
       return newFileName;
     } catch (IOException e) {
       throw new FailedFileSavingException(file.getOriginalFilename());
@@ -55,18 +63,52 @@ public class AvatarServiceImpl implements AvatarService {
 
   @Override
   public Resource loadAvatarAsResource(String filename) {
-    if (Files.exists(rootLocation.resolve(filename))) {
-      Path path = rootLocation.resolve(filename);
-      Resource resource = null;
-      try {
-        resource = new UrlResource(path.toUri());
-      } catch (MalformedURLException e) {
-        throw new FailedFileLoadingException(filename);
+    getAvatarMetadata(filename);
+    Resource cached = getCachedAvatar(filename);
+    return cached != null ? cached : readAvatarAsResource(filename);
+  }
+
+  @Override
+  public Resource getCachedAvatar(String filename) {
+    ByteBuffer cached = avatarCache.get(filename);
+    return cached == null ? null : new ByteBufferResource(filename, cached);
+  }
+
+  @Override
+  public Resource readAvatarAsResource(String filename) {
+    long stamp = avatarCache.stamp();
+    Path path = rootLocation.resolve(filename);
+    try {
+      long size = getAvatarMetadata(filename).getSize();
+      if (!avatarCache.accepts(size)) {
+        return new UrlResource(path.toUri());
       }
-      return resource;
-    } else {
+      ByteBuffer content = readContent(path, size);
+      if (content == null) {
+        avatarCache.invalidate(filename);
+        return new UrlResource(path.toUri());
+      }
+      return new ByteBufferResource(filename, avatarCache.put(filename, content, stamp));
+    } catch (IOException e) {
+      throw new FailedFileLoadingException(filename);
+    }
+  }
+
+  @Override
+  public AvatarMetadata getAvatarMetadata(String filename) {
+    AvatarMetadata metadata = avatarCache.getMetadata(filename);
+    if (metadata != null) {
+      return metadata;
+    }
+    long stamp = avatarCache.stamp();
+    try {
+      metadata = readMetadata(filename, rootLocation.resolve(filename));
+    } catch (IOException e) {
+      avatarCache.invalidate(filename);
       throw new FailedFileLoadingException(filename);
     }
+    avatarCache.putMetadata(metadata, stamp);
+    return metadata;
   }
 
   @Override
@@ -76,6 +118,8 @@ public class AvatarServiceImpl implements AvatarService {
       Files.delete(file);
     } catch (IOException e) {
       throw new FailedFileDeletingException(filename);
+    } finally {
+      avatarCache.invalidate(filename);
     }
   }
 
@@ -86,6 +130,7 @@ public class AvatarServiceImpl implements AvatarService {
         file.delete();
       }
     }
+    avatarCache.invalidateAll();
   }
 
   @Override
@@ -101,6 +146,27 @@ public class AvatarServiceImpl implements AvatarService {
     }
   }
 
+  private ByteBuffer readContent(Path path, long size) throws IOException {
+    ByteBuffer content = ByteBuffer.allocateDirect((int) size);
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      while (content.hasRemaining()) {
+        if (channel.read(content) < 0) {
+          return null;
+        }
+      }
+      if (channel.size() != size) {
+        return null;
+      }
+    }
+    content.flip();
+    return content;
+  }
+
+  private AvatarMetadata readMetadata(String filename, Path path) throws IOException {
+    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+    return new AvatarMetadata(filename, attributes.size(), attributes.lastModifiedTime().toMillis());
+  }
+
   private void initAvatarsDirectory() {
     if (!Files.exists(rootLocation)) {
       try {
@@ -1,34 +1,56 @@
 package com.birozsombor4.springrestapitemplate.controllers;
 
+import com.birozsombor4.springrestapitemplate.avatar.AvatarConfig;
+import com.birozsombor4.springrestapitemplate.avatar.AvatarMetadata;
+import com.birozsombor4.springrestapitemplate.avatar.AvatarSendfile;
 import com.birozsombor4.springrestapitemplate.avatar.AvatarService;
-import com.birozsombor4.springrestapitemplate.email.EmailService;
+import com.birozsombor4.springrestapitemplate.email.EmailDispatcher;
 import com.birozsombor4.springrestapitemplate.exceptions.InvalidRegisterOrLoginParameterException;
 import com.birozsombor4.springrestapitemplate.exceptions.NotAllowedActionException;
+import com.birozsombor4.springrestapitemplate.exceptions.UnrevocableJwtTokenException;
+import com.birozsombor4.springrestapitemplate.exceptions.UserAlreadyVerifiedException;
 import com.birozsombor4.springrestapitemplate.models.daos.User;
-import com.birozsombor4.springrestapitemplate.models.daos.VerificationToken;
 import com.birozsombor4.springrestapitemplate.models.dtos.AuthenticationResponseDTO;
 import com.birozsombor4.springrestapitemplate.models.dtos.MessageDTO;
+import com.birozsombor4.springrestapitemplate.models.dtos.RefreshTokenRequestDTO;
 import com.birozsombor4.springrestapitemplate.models.dtos.UserDTO;
+import com.birozsombor4.springrestapitemplate.respositories.VerificationStatus;
+import com.birozsombor4.springrestapitemplate.security.LoginThrottle;
+import com.birozsombor4.springrestapitemplate.security.TokenEpochRegistry;
+import com.birozsombor4.springrestapitemplate.security.TokenRevocationStore;
 import com.birozsombor4.springrestapitemplate.security.UserDetailsImpl;
+import com.birozsombor4.springrestapitemplate.security.VerificationLink;
+import com.birozsombor4.springrestapitemplate.security.VerificationLinkSigner;
+import com.birozsombor4.springrestapitemplate.services.RefreshTokenService;
 import com.birozsombor4.springrestapitemplate.services.RegistrationService;
 import com.birozsombor4.springrestapitemplate.services.UserService;
+import com.birozsombor4.springrestapitemplate.services.VerificationResendCoalescer;
 import com.birozsombor4.springrestapitemplate.utils.JwtUtil;
+import com.birozsombor4.springrestapitemplate.utils.ParsedJwt;
 import java.io.IOException;
 import java.net.MalformedURLException;
+import java.util.List;
+import javax.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 @RestController
@@ -37,69 +59,115 @@ public class UserController {
   private UserService userService;
   private JwtUtil jwtUtil;
   private AuthenticationManager authenticationManager;
-  private UserDetailsService userDetailsService;
-  private EmailService emailService;
+  private EmailDispatcher emailDispatcher;
   private AvatarService avatarService;
+  private AvatarConfig avatarConfig;
+  private AvatarSendfile avatarSendfile;
   private RegistrationService registrationService;
-
+  private TokenRevocationStore tokenRevocationStore;
+  private TokenEpochRegistry tokenEpochRegistry;
+  private RefreshTokenService refreshTokenService;
+  private LoginThrottle loginThrottle;
+  private VerificationResendCoalescer verificationResendCoalescer;
+  private VerificationLinkSigner verificationLinkSigner;
 
   @Autowired
   public UserController(UserService userService,
                         JwtUtil jwtUtil,
                         AuthenticationManager authenticationManager,
-                        UserDetailsService userDetailsService,
-                        EmailService emailService,
+                        EmailDispatcher emailDispatcher,
                         AvatarService avatarService,
-                        RegistrationService registrationService) {
+                        AvatarConfig avatarConfig,
+                        AvatarSendfile avatarSendfile,
+                        RegistrationService registrationService,
+                        TokenRevocationStore tokenRevocationStore,
+                        TokenEpochRegistry tokenEpochRegistry,
+                        RefreshTokenService refreshTokenService,
+                        LoginThrottle loginThrottle,
+                        VerificationResendCoalescer verificationResendCoalescer,
+                        VerificationLinkSigner verificationLinkSigner) {
     this.userService = userService;
     this.jwtUtil = jwtUtil;
     this.authenticationManager = authenticationManager;
-    this.userDetailsService = userDetailsService;
-    this.emailService = emailService;
+    this.emailDispatcher = emailDispatcher;
     this.avatarService = avatarService;
+    this.avatarConfig = avatarConfig;
+    this.avatarSendfile = avatarSendfile;
     this.registrationService = registrationService;
+    this.tokenRevocationStore = tokenRevocationStore;
+    this.tokenEpochRegistry = tokenEpochRegistry;
+    this.refreshTokenService = refreshTokenService;
+    this.loginThrottle = loginThrottle;
+    this.verificationResendCoalescer = verificationResendCoalescer;
+    this.verificationLinkSigner = verificationLinkSigner;
   }
 
   @PostMapping("/register")
   public ResponseEntity<?> registerUser(@RequestBody UserDTO userDTO) throws MalformedURLException {
-    if (!registrationService.checkRequiredParametersForRegister(userDTO)) {
-      throw new InvalidRegisterOrLoginParameterException(registrationService.getErrorMessageForRegister(userDTO));
+    String registerErrorMessage = registrationService.getErrorMessageForRegister(userDTO);
+    if (!registerErrorMessage.isEmpty()) {
+      throw new InvalidRegisterOrLoginParameterException(registerErrorMessage);
     }
+    emailDispatcher.checkAvailable();
     User user = userService.convertUserDTOToUser(userDTO);
     userService.attachAvatarToUser(user, "default.png");
     registrationService.createVerificationTokenForUser(user);
-    emailService.sendVerificationEmail(user);
     UserDTO responseUserDTO = userService.convertUserToUserDTO(registrationService.registerUser(user));
     return ResponseEntity.ok(responseUserDTO);
   }
 
   @PostMapping("/login")
-  public ResponseEntity<?> loginUser(@RequestBody UserDTO userDTO) throws BadCredentialsException {
+  public ResponseEntity<?> loginUser(@RequestBody UserDTO userDTO, HttpServletRequest request)
+      throws BadCredentialsException {
     if (!registrationService.checkRequiredParametersForLogin(userDTO)) {
       throw new InvalidRegisterOrLoginParameterException(registrationService.getErrorMessageForLogin(userDTO));
     }
-    authenticationManager.authenticate(
+    loginThrottle.checkAllowed(userDTO.getUsername(), request.getRemoteAddr());
+    Authentication authentication = authenticationManager.authenticate(
         new UsernamePasswordAuthenticationToken(userDTO.getUsername(), userDTO.getPassword())
     );
-    UserDetailsImpl userDetails = (UserDetailsImpl) userDetailsService.loadUserByUsername(userDTO.getUsername());
+    UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
     String jwt = jwtUtil.generateToken(userDetails);
-    return ResponseEntity.ok(new AuthenticationResponseDTO(jwt));
+    String refreshToken = refreshTokenService.createRefreshToken(userDetails.getUser());
+    return ResponseEntity.ok(new AuthenticationResponseDTO(jwt, refreshToken));
+  }
+
+  @PostMapping("/token/refresh")
+  public ResponseEntity<?> refreshToken(@RequestBody RefreshTokenRequestDTO refreshTokenRequestDTO) {
+    return ResponseEntity.ok(refreshTokenService.refreshAccessToken(refreshTokenRequestDTO.getRefreshToken()));
+  }
+
+  @PostMapping("/logout")
+  public ResponseEntity<?> logoutUser(HttpServletRequest request,
+                                      @RequestParam(defaultValue = "false") boolean all) {
+    ParsedJwt parsedJwt = (ParsedJwt) request.getAttribute(ParsedJwt.REQUEST_ATTRIBUTE);
+    if (all) {
+      tokenEpochRegistry.revokeAllTokens(parsedJwt.getUserId());
+      return ResponseEntity.ok(new MessageDTO("ok", "All tokens have been revoked for: " + parsedJwt.getUsername()));
+    }
+    if (!tokenRevocationStore.revoke(parsedJwt)) {
+      throw new UnrevocableJwtTokenException();
+    }
+    return ResponseEntity.ok(new MessageDTO("ok", "Token has been revoked for: " + parsedJwt.getUsername()));
   }
 
   @GetMapping("/verify")
   public ResponseEntity<?> verifyUser(@RequestParam String token) {
-    VerificationToken verificationToken = registrationService.getVerificationToken(token);
-    if (!registrationService.checkVerificationTokenExpired(verificationToken)) {
-      User user = verificationToken.getUser();
-      registrationService.createVerificationTokenForUser(user);
-      user.updateVerificationTokenId();
-      userService.updateUser(user);
-      emailService.sendVerificationEmail(user);
-      String message = "Email verification link has expired. We'll send another for your email: " + user.getEmail();
-      return ResponseEntity.ok(new MessageDTO("ok", message));
-    }
-    registrationService.verifyUser(verificationToken.getUser());
-    return ResponseEntity.ok(new MessageDTO("ok", verificationToken.getUser().getUsername() + " has verified."));
+    VerificationLink verificationLink = verificationLinkSigner.parse(token);
+    if (verificationLink != null) {
+      token = verificationLink.getToken();
+      if (verificationLink.getUsername() != null && !verificationLink.isExpired()) {
+        if (registrationService.verifyUser(verificationLink.getUserId(), token)) {
+          return ResponseEntity.ok(new MessageDTO("ok", verificationLink.getUsername() + " has verified."));
+        }
+        return handleUnverifiableToken(token);
+      }
+    }
+    String username = registrationService.verifyUser(token);
+    if (username != null) {
+      return ResponseEntity.ok(new MessageDTO("ok", username + " has verified."));
+    }
+    return handleUnverifiableToken(token);
   }
 
   @PostMapping("/avatar/{userId}")
@@ -117,12 +185,107 @@ public class UserController {
   }
 
   @GetMapping("/avatar/{userId}")
-  public ResponseEntity<?> getAvatarByUserIdAsResource(@PathVariable Integer userId) throws MalformedURLException {
+  public ResponseEntity<?> getAvatarByUserIdAsResource(@PathVariable Integer userId, WebRequest webRequest,
+                                                       HttpServletRequest request) throws IOException {
     User user = userService.getUserById(userId);
-    Resource file = avatarService.loadAvatarAsResource(user.getAvatar());
+    AvatarMetadata metadata = avatarService.getAvatarMetadata(user.getAvatar());
     HttpHeaders headers = new HttpHeaders();
-    headers.add(HttpHeaders.CONTENT_DISPOSITION, "filename=" + file.getFilename());
-    headers.add(HttpHeaders.CONTENT_TYPE, avatarService.getAvatarContentType(file.getFilename()));
+    headers.setCacheControl(avatarConfig.getCacheControl());
+    if (webRequest.checkNotModified(metadata.getETag(), metadata.getLastModified())) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+    }
+    String filename = metadata.getFilename();
+    headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+    headers.add(HttpHeaders.CONTENT_DISPOSITION, "filename=" + filename);
+    headers.add(HttpHeaders.CONTENT_TYPE, avatarService.getAvatarContentType(filename));
+    HttpRange range = getRequestedRange(request, metadata);
+    long size = metadata.getSize();
+    long start = range == null ? 0 : range.getRangeStart(size);
+    if (start >= size && range != null) {
+      headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+      return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+    }
+    long length = range == null ? size : range.getRangeEnd(size) - start + 1;
+    HttpStatus status = range == null ? HttpStatus.OK : HttpStatus.PARTIAL_CONTENT;
+    Resource file = avatarService.getCachedAvatar(filename);
+    if (file == null) {
+      // The container would still send the file for a HEAD request and corrupt a kept-alive connection.
+      boolean head = HttpMethod.HEAD.matches(request.getMethod());
+      if (!head && avatarSendfile.trySend(request, filename, start, length)) {
+        if (range != null) {
+          headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (start + length - 1) + "/" + size);
+        }
+        headers.setContentLength(length);
+        return ResponseEntity.status(status).headers(headers).build();
+      }
+      file = avatarService.readAvatarAsResource(filename);
+    }
+    if (range != null) {
+      return ResponseEntity.status(status).headers(headers).body(new ResourceRegion(file, start, length));
+    }
+    headers.setContentLength(size);
+    if (request.getHeader(HttpHeaders.RANGE) != null) {
+      // Spring MVC would split up any other Resource again from the Range header ignored above.
+      return ResponseEntity.ok().headers(headers).body(new InputStreamResource(file.getInputStream()));
+    }
     return ResponseEntity.ok().headers(headers).body(file);
   }
-}
\ No newline at end of file
+
+  private HttpRange getRequestedRange(HttpServletRequest request, AvatarMetadata metadata) {
+    String range = request.getHeader(HttpHeaders.RANGE);
+    if (range == null || !isIfRangeCurrent(request, metadata)) {
+      return null;
+    }
+    try {
+      List<HttpRange> ranges = HttpRange.parseRanges(range);
+      return ranges.size() == 1 ? ranges.get(0) : null;
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private boolean isIfRangeCurrent(HttpServletRequest request, AvatarMetadata metadata) {
+    String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+    if (ifRange == null || ifRange.equals(metadata.getETag())) {
+      return true;
+    }
+    if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+      return false;
+    }
+    try {
+      return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == metadata.getLastModified() / 1000;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  private ResponseEntity<?> handleUnverifiableToken(String token) {
+    String renewedEmail = verificationResendCoalescer.findRenewedEmail(token);
+    if (renewedEmail != null) {
+      return ResponseEntity.ok(new MessageDTO("ok", getVerificationResentMessage(renewedEmail)));
+    }
+    VerificationStatus verificationStatus = registrationService.getVerificationStatus(token);
+    if (verificationStatus.isExpired()) {
+      return resendVerificationEmail(token, verificationStatus.getUserId());
+    }
+    throw new UserAlreadyVerifiedException(verificationStatus.getUsername());
+  }
+
+  private ResponseEntity<?> resendVerificationEmail(String expiredToken, Integer userId) {
+    User user = userService.getUserById(userId);
+    emailDispatcher.checkAvailable();
+    if (verificationResendCoalescer.tryAcquire(expiredToken, user)) {
+      try {
+        registrationService.renewVerificationToken(user);
+      } catch (RuntimeException e) {
+        verificationResendCoalescer.release(expiredToken, user);
+        throw e;
+      }
+    }
+    return ResponseEntity.ok(new MessageDTO("ok", getVerificationResentMessage(user.getEmail())));
+  }
+
+  private String getVerificationResentMessage(String email) {
+    return "Email verification link has expired. We'll send another for your email: " + email;
+  }
+}
@@ -0,0 +1,37 @@
+package com.birozsombor4.springrestapitemplate.controllers;
+
+import com.birozsombor4.springrestapitemplate.models.dtos.VerificationResendJobDTO;
+import com.birozsombor4.springrestapitemplate.services.VerificationResendJobRunner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "verificationresend")
+public class VerificationResendEndpoint {
+
+  private VerificationResendJobRunner verificationResendJobRunner;
+
+  @Autowired
+  public VerificationResendEndpoint(VerificationResendJobRunner verificationResendJobRunner) {
+    this.verificationResendJobRunner = verificationResendJobRunner;
+  }
+
+  @ReadOperation
+  public VerificationResendJobDTO progress() {
+    return verificationResendJobRunner.getLatestJob().orElse(null);
+  }
+
+  @WriteOperation
+  public VerificationResendJobDTO start() {
+    return verificationResendJobRunner.start();
+  }
+
+  @DeleteOperation
+  public VerificationResendJobDTO cancel() {
+    return verificationResendJobRunner.cancel().orElse(null);
+  }
+}
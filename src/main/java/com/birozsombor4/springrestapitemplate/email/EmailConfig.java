@@ -1,9 +1,12 @@
 package com.birozsombor4.springrestapitemplate.email;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 @Component
+@EnableConfigurationProperties(MailProperties.class)
 public class EmailConfig {
 
   @Value("${spring.mail.host}")
@@ -14,6 +17,12 @@ public class EmailConfig {
   private String username;
   @Value("${spring.mail.password}")
   private String password;
+  @Value("${email.smtp.pool.max-connections}")
+  private int poolMaxConnections;
+  @Value("${email.smtp.pool.max-messages-per-connection}")
+  private int poolMaxMessagesPerConnection;
+  @Value("${email.smtp.pool.max-connection-age-seconds}")
+  private long poolMaxConnectionAgeSeconds;
 
   public EmailConfig() {
   }
@@ -49,4 +58,28 @@ public class EmailConfig {
   public void setPassword(String password) {
     this.password = password;
   }
+
+  public int getPoolMaxConnections() {
+    return poolMaxConnections;
+  }
+
+  public void setPoolMaxConnections(int poolMaxConnections) {
+    this.poolMaxConnections = poolMaxConnections;
+  }
+
+  public int getPoolMaxMessagesPerConnection() {
+    return poolMaxMessagesPerConnection;
+  }
+
+  public void setPoolMaxMessagesPerConnection(int poolMaxMessagesPerConnection) {
+    this.poolMaxMessagesPerConnection = poolMaxMessagesPerConnection;
+  }
+
+  public long getPoolMaxConnectionAgeSeconds() {
+    return poolMaxConnectionAgeSeconds;
+  }
+
+  public void setPoolMaxConnectionAgeSeconds(long poolMaxConnectionAgeSeconds) {
+    this.poolMaxConnectionAgeSeconds = poolMaxConnectionAgeSeconds;
+  }
 }
@@ -0,0 +1,127 @@
+package com.birozsombor4.springrestapitemplate.email;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EmailDispatchConfig {
+
+  @Value("${email.dispatch.pool-size}")
+  private int poolSize;
+  @Value("${email.dispatch.queue-capacity}")
+  private int queueCapacity;
+  @Value("${email.dispatch.max-attempts}")
+  private int maxAttempts;
+  @Value("${email.dispatch.initial-backoff-millis}")
+  private long initialBackoffMillis;
+  @Value("${email.dispatch.max-backoff-millis}")
+  private long maxBackoffMillis;
+  @Value("${email.dispatch.expected-send-millis}")
+  private long expectedSendMillis;
+  @Value("${email.dispatch.circuit-breaker.failure-threshold}")
+  private int circuitBreakerFailureThreshold;
+  @Value("${email.dispatch.circuit-breaker.open-millis}")
+  private long circuitBreakerOpenMillis;
+  @Value("${email.outbox.batch-size}")
+  private int batchSize;
+  @Value("${email.outbox.claim-timeout-millis}")
+  private long claimTimeoutMillis;
+
+  public EmailDispatchConfig() {
+  }
+
+  public EmailDispatchConfig(int poolSize, int queueCapacity, int maxAttempts, long initialBackoffMillis,
+                             long maxBackoffMillis, long expectedSendMillis, int circuitBreakerFailureThreshold,
+                             long circuitBreakerOpenMillis, int batchSize, long claimTimeoutMillis) {
+    this.poolSize = poolSize;
+    this.queueCapacity = queueCapacity;
+    this.maxAttempts = maxAttempts;
+    this.initialBackoffMillis = initialBackoffMillis;
+    this.maxBackoffMillis = maxBackoffMillis;
+    this.expectedSendMillis = expectedSendMillis;
+    this.circuitBreakerFailureThreshold = circuitBreakerFailureThreshold;
+    this.circuitBreakerOpenMillis = circuitBreakerOpenMillis;
+    this.batchSize = batchSize;
+    this.claimTimeoutMillis = claimTimeoutMillis;
+  }
+
+  public int getPoolSize() {
+    return poolSize;
+  }
+
+  public void setPoolSize(int poolSize) {
+    this.poolSize = poolSize;
+  }
+
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  public void setQueueCapacity(int queueCapacity) {
+    this.queueCapacity = queueCapacity;
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  public void setMaxAttempts(int maxAttempts) {
+    this.maxAttempts = maxAttempts;
+  }
+
+  public long getInitialBackoffMillis() {
+    return initialBackoffMillis;
+  }
+
+  public void setInitialBackoffMillis(long initialBackoffMillis) {
+    this.initialBackoffMillis = initialBackoffMillis;
+  }
+
+  public long getMaxBackoffMillis() {
+    return maxBackoffMillis;
+  }
+
+  public void setMaxBackoffMillis(long maxBackoffMillis) {
+    this.maxBackoffMillis = maxBackoffMillis;
+  }
+
+  public long getExpectedSendMillis() {
+    return expectedSendMillis;
+  }
+
+  public void setExpectedSendMillis(long expectedSendMillis) {
+    this.expectedSendMillis = expectedSendMillis;
+  }
+
+  public int getCircuitBreakerFailureThreshold() {
+    return circuitBreakerFailureThreshold;
+  }
+
+  public void setCircuitBreakerFailureThreshold(int circuitBreakerFailureThreshold) {
+    this.circuitBreakerFailureThreshold = circuitBreakerFailureThreshold;
+  }
+
+  public long getCircuitBreakerOpenMillis() {
+    return circuitBreakerOpenMillis;
+  }
+
+  public void setCircuitBreakerOpenMillis(long circuitBreakerOpenMillis) {
+    this.circuitBreakerOpenMillis = circuitBreakerOpenMillis;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public long getClaimTimeoutMillis() {
+    return claimTimeoutMillis;
+  }
+
+  public void setClaimTimeoutMillis(long claimTimeoutMillis) {
+    this.claimTimeoutMillis = claimTimeoutMillis;
+  }
+}
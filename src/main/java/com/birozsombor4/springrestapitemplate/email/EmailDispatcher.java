@@ -0,0 +1,229 @@
+package com.birozsombor4.springrestapitemplate.email;
+
+import com.birozsombor4.springrestapitemplate.exceptions.EmailDispatchUnavailableException;
+import com.birozsombor4.springrestapitemplate.exceptions.RecipientRejectedException;
+import com.birozsombor4.springrestapitemplate.models.daos.EmailOutboxMessage;
+import com.birozsombor4.springrestapitemplate.respositories.EmailOutboxRepository;
+import com.birozsombor4.springrestapitemplate.utils.CircuitBreaker;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EmailDispatcher implements MeterBinder {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(EmailDispatcher.class);
+
+  private final EmailService emailService;
+  private final EmailOutboxRepository emailOutboxRepository;
+  private final ThreadPoolExecutor executor;
+  private final ThreadPoolExecutor relayExecutor;
+  private final CircuitBreaker circuitBreaker;
+  private final int maxAttempts;
+  private final long initialBackoffMillis;
+  private final long maxBackoffMillis;
+  private final int batchSize;
+  private final long claimTimeoutMillis;
+  private final int poolSize;
+  private final AtomicLong averageSendMillis;
+  private final AtomicLong failures = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+  private volatile Timer sendTimer;
+
+  @Autowired
+  public EmailDispatcher(EmailService emailService, EmailOutboxRepository emailOutboxRepository,
+                         EmailDispatchConfig config) {
+    this(emailService, emailOutboxRepository, config, new CircuitBreaker(config.getCircuitBreakerFailureThreshold(),
+        config.getCircuitBreakerOpenMillis()));
+  }
+
+  public EmailDispatcher(EmailService emailService, EmailOutboxRepository emailOutboxRepository,
+                         EmailDispatchConfig config, CircuitBreaker circuitBreaker) {
+    this.emailService = emailService;
+    this.emailOutboxRepository = emailOutboxRepository;
+    this.circuitBreaker = circuitBreaker;
+    this.maxAttempts = config.getMaxAttempts();
+    this.initialBackoffMillis = config.getInitialBackoffMillis();
+    this.maxBackoffMillis = config.getMaxBackoffMillis();
+    this.batchSize = config.getBatchSize();
+    this.claimTimeoutMillis = config.getClaimTimeoutMillis();
+    this.poolSize = config.getPoolSize();
+    this.averageSendMillis = new AtomicLong(Math.max(1, config.getExpectedSendMillis()));
+    this.executor = new ThreadPoolExecutor(config.getPoolSize(), config.getPoolSize(), 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(config.getQueueCapacity()), dispatchThreadFactory("email-dispatch-"),
+        new ThreadPoolExecutor.AbortPolicy());
+    this.relayExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+        dispatchThreadFactory("email-relay-"), new ThreadPoolExecutor.DiscardPolicy());
+  }
+
+  private static ThreadFactory dispatchThreadFactory(String namePrefix) {
+    AtomicInteger threadCounter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, namePrefix + threadCounter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  public void checkAvailable() {
+    long remainingOpenMillis = circuitBreaker.getRemainingOpenMillis();
+    if (remainingOpenMillis > 0) {
+      throw new EmailDispatchUnavailableException(TimeUnit.MILLISECONDS.toSeconds(remainingOpenMillis) + 1);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${email.outbox.poll-interval-millis}")
+  public void requestRelay() {
+    relayExecutor.execute(this::relaySafely);
+  }
+
+  public int relay() {
+    int capacity = getClaimCapacity();
+    if (circuitBreaker.isOpen() || capacity <= 0) {
+      return 0;
+    }
+    LocalDateTime now = emailOutboxRepository.currentTimestamp();
+    List<Long> ids = emailOutboxRepository.findClaimableIds(now, PageRequest.of(0, capacity));
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    String claimToken = UUID.randomUUID().toString();
+    if (emailOutboxRepository.claim(ids, claimToken, leaseUntil(now), now) == 0) {
+      return 0;
+    }
+    List<EmailOutboxMessage> messages = emailOutboxRepository.findAllByClaimToken(claimToken);
+    messages.forEach(message -> submit(message, claimToken));
+    return messages.size();
+  }
+
+  public int getClaimCapacity() {
+    long sendableWithinLease = poolSize * claimTimeoutMillis / averageSendMillis.get();
+    long inFlight = executor.getQueue().size() + executor.getActiveCount();
+    return (int) Math.min(Math.min(batchSize, executor.getQueue().remainingCapacity()),
+        sendableWithinLease - inFlight);
+  }
+
+  public int getQueueDepth() {
+    return executor.getQueue().size();
+  }
+
+  public long getFailures() {
+    return failures.get();
+  }
+
+  public long getDropped() {
+    return dropped.get();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    relayExecutor.shutdownNow();
+    executor.shutdown();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("email.dispatch.queue.depth", this, EmailDispatcher::getQueueDepth).register(registry);
+    Gauge.builder("email.dispatch.circuit.open", circuitBreaker, breaker -> breaker.isOpen() ? 1 : 0)
+        .register(registry);
+    FunctionCounter.builder("email.dispatch.failures", failures, AtomicLong::get).register(registry);
+    FunctionCounter.builder("email.dispatch.dropped", dropped, AtomicLong::get).register(registry);
+    sendTimer = Timer.builder("email.dispatch.latency").register(registry);
+  }
+
+  private void relaySafely() {
+    try {
+      if (relay() == batchSize) {
+        requestRelay();
+      }
+    } catch (RuntimeException e) {
+      LOGGER.error("Email outbox relay failed", e);
+    }
+  }
+
+  private void submit(EmailOutboxMessage message, String claimToken) {
+    try {
+      executor.execute(() -> send(message, claimToken));
+    } catch (RejectedExecutionException e) {
+      emailOutboxRepository.releaseClaimed(message.getId(), claimToken, message.getAttempts(),
+          message.getNextAttemptAt(), null);
+    }
+  }
+
+  private void send(EmailOutboxMessage message, String claimToken) {
+    LocalDateTime now = emailOutboxRepository.currentTimestamp();
+    if (emailOutboxRepository.renewClaim(message.getId(), claimToken, leaseUntil(now), now) == 0) {
+      LOGGER.warn("Skipping verification email to {}, its claim is no longer held", message.getRecipient());
+      return;
+    }
+    long startedAt = System.nanoTime();
+    try {
+      emailService.sendVerificationEmail(message.getUsername(), message.getRecipient(),
+          message.getVerificationToken());
+      circuitBreaker.recordSuccess();
+      emailOutboxRepository.deleteClaimed(message.getId(), claimToken);
+    } catch (MailPreparationException | MailParseException | RecipientRejectedException e) {
+      failures.incrementAndGet();
+      giveUp(message, claimToken, message.getAttempts() + 1, e);
+    } catch (RuntimeException e) {
+      failures.incrementAndGet();
+      circuitBreaker.recordFailure();
+      int attempts = message.getAttempts() + 1;
+      if (attempts < maxAttempts) {
+        LocalDateTime nextAttemptAt = emailOutboxRepository.currentTimestamp()
+            .plusNanos(TimeUnit.MILLISECONDS.toNanos(getBackoffMillis(attempts)));
+        emailOutboxRepository.releaseClaimed(message.getId(), claimToken, attempts, nextAttemptAt, null);
+      } else {
+        giveUp(message, claimToken, attempts, e);
+      }
+    } finally {
+      long elapsedNanos = System.nanoTime() - startedAt;
+      recordSendMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+      if (sendTimer != null) {
+        sendTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+      }
+    }
+  }
+
+  private void recordSendMillis(long sendMillis) {
+    averageSendMillis.updateAndGet(average -> Math.max(1, average + (sendMillis - average) / 8));
+  }
+
+  private LocalDateTime leaseUntil(LocalDateTime now) {
+    return now.plusNanos(TimeUnit.MILLISECONDS.toNanos(claimTimeoutMillis));
+  }
+
+  private void giveUp(EmailOutboxMessage message, String claimToken, int attempts, RuntimeException e) {
+    dropped.incrementAndGet();
+    LocalDateTime now = emailOutboxRepository.currentTimestamp();
+    emailOutboxRepository.releaseClaimed(message.getId(), claimToken, attempts, now, now);
+    LOGGER.error("Verification email to {} failed after {} attempts", message.getRecipient(), attempts, e);
+  }
+
+  private long getBackoffMillis(int attempt) {
+    long backoffMillis = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 30));
+    return backoffMillis / 2 + ThreadLocalRandom.current().nextLong(backoffMillis / 2 + 1);
+  }
+}
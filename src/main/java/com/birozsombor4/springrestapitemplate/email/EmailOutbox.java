@@ -0,0 +1,60 @@
+package com.birozsombor4.springrestapitemplate.email;
+
+import com.birozsombor4.springrestapitemplate.models.daos.EmailOutboxMessage;
+import com.birozsombor4.springrestapitemplate.models.daos.User;
+import com.birozsombor4.springrestapitemplate.security.VerificationLinkSigner;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class EmailOutbox {
+
+  private static final String INSERT_MESSAGE_SQL = "INSERT INTO email_outbox "
+      + "(recipient, username, verification_token, created_at, next_attempt_at, attempts) "
+      + "VALUES (?, ?, ?, LOCALTIMESTAMP, LOCALTIMESTAMP, 0)";
+
+  private EmailDispatcher emailDispatcher;
+  private JdbcTemplate jdbcTemplate;
+  private VerificationLinkSigner verificationLinkSigner;
+
+  @Autowired
+  public EmailOutbox(EmailDispatcher emailDispatcher, JdbcTemplate jdbcTemplate,
+                     VerificationLinkSigner verificationLinkSigner) {
+    this.emailDispatcher = emailDispatcher;
+    this.jdbcTemplate = jdbcTemplate;
+    this.verificationLinkSigner = verificationLinkSigner;
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void enqueueVerificationEmail(User user) {
+    jdbcTemplate.update(INSERT_MESSAGE_SQL, user.getEmail(), user.getUsername(),
+        verificationLinkSigner.encode(user.getId(), user.getUsername(), user.getVerificationToken()));
+    requestRelayAfterCommit();
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void enqueueVerificationEmails(List<EmailOutboxMessage> messages) {
+    List<Object[]> arguments = new ArrayList<>(messages.size());
+    for (EmailOutboxMessage message : messages) {
+      arguments.add(new Object[] {message.getRecipient(), message.getUsername(), message.getVerificationToken()});
+    }
+    jdbcTemplate.batchUpdate(INSERT_MESSAGE_SQL, arguments);
+    requestRelayAfterCommit();
+  }
+
+  private void requestRelayAfterCommit() {
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        emailDispatcher.requestRelay();
+      }
+    });
+  }
+}
@@ -4,4 +4,6 @@ import com.birozsombor4.springrestapitemplate.models.daos.User;
 
 public interface EmailService {
   void sendVerificationEmail(User user);
+
+  void sendVerificationEmail(String username, String email, String verificationToken);
 }
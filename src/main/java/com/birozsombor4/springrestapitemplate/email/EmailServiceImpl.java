@@ -1,54 +1,45 @@
 package com.birozsombor4.springrestapitemplate.email;
 
 import com.birozsombor4.springrestapitemplate.models.daos.User;
+import java.util.Date;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.MailPreparationException;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.mail.javamail.MimeMessagePreparator;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
 @Service
 public class EmailServiceImpl implements EmailService {
-  private EmailConfig emailConfig;
-  private TemplateEngine templateEngine;
-  private JavaMailSender mailSender;
+  private VerificationEmailRenderer verificationEmailRenderer;
+  private SmtpConnectionPool smtpConnectionPool;
 
   @Autowired
-  public EmailServiceImpl(EmailConfig emailConfig, TemplateEngine templateEngine) {
-    this.emailConfig = emailConfig;
-    this.templateEngine = templateEngine;
-    this.mailSender = initMailSender();
+  public EmailServiceImpl(VerificationEmailRenderer verificationEmailRenderer, SmtpConnectionPool smtpConnectionPool) {
+    this.verificationEmailRenderer = verificationEmailRenderer;
+    this.smtpConnectionPool = smtpConnectionPool;
   }
 
   @Override
   public void sendVerificationEmail(User user) {
-    MimeMessagePreparator mimeMessagePreparator = mimeMessage -> {
+    sendVerificationEmail(user.getUsername(), user.getEmail(), user.getVerificationToken().getToken());
+  }
+
+  @Override
+  public void sendVerificationEmail(String username, String email, String verificationToken) {
+    MimeMessage mimeMessage = new MimeMessage(smtpConnectionPool.getSession());
+    try {
       MimeMessageHelper messageHelper = new MimeMessageHelper(mimeMessage);
       messageHelper.setFrom("admin@admin.com");
-      messageHelper.setTo(user.getEmail());
+      messageHelper.setTo(email);
       messageHelper.setSubject("App Verification");
-      String content = buildVerificationTemplate(user);
+      String content = verificationEmailRenderer.render(username, verificationToken);
       messageHelper.setText(content, true);
-    };
-    mailSender.send(mimeMessagePreparator);
-  }
-
-  private String buildVerificationTemplate(User user) {
-    Context context = new Context();
-    context.setVariable("username", user.getUsername());
-    context.setVariable("verificationToken", user.getVerificationToken().getToken());
-    return templateEngine.process("verification-email", context);
-  }
-
-  private JavaMailSender initMailSender() {
-    JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl();
-    javaMailSender.setHost(emailConfig.getHost());
-    javaMailSender.setPort(emailConfig.getPort());
-    javaMailSender.setUsername(emailConfig.getUsername());
-    javaMailSender.setPassword(emailConfig.getPassword());
-    return javaMailSender;
+      messageHelper.setSentDate(new Date());
+      mimeMessage.saveChanges();
+    } catch (MessagingException e) {
+      throw new MailPreparationException(e);
+    }
+    smtpConnectionPool.send(mimeMessage);
   }
 }
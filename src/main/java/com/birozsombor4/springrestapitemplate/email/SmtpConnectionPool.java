@@ -0,0 +1,193 @@
+package com.birozsombor4.springrestapitemplate.email;
+
+import com.birozsombor4.springrestapitemplate.exceptions.RecipientRejectedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Properties;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import javax.annotation.PreDestroy;
+import javax.mail.AuthenticationFailedException;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+@Component
+public class SmtpConnectionPool implements MeterBinder {
+
+  private static final String PROTOCOL = "smtp";
+  private static final long VALIDATE_AFTER_IDLE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final Session session;
+  private final String host;
+  private final int port;
+  private final String username;
+  private final String password;
+  private final int maxMessagesPerConnection;
+  private final long maxConnectionAgeNanos;
+  private final LongSupplier nanoClock;
+  private final Semaphore permits;
+  private final BlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+  private final AtomicLong openedConnections = new AtomicLong();
+  private final AtomicLong sentMessages = new AtomicLong();
+
+  @Autowired
+  public SmtpConnectionPool(EmailConfig emailConfig, MailProperties mailProperties) {
+    this(emailConfig, mailProperties, System::nanoTime);
+  }
+
+  public SmtpConnectionPool(EmailConfig emailConfig, MailProperties mailProperties, LongSupplier nanoClock) {
+    Properties sessionProperties = new Properties();
+    sessionProperties.putAll(mailProperties.getProperties());
+    this.session = Session.getInstance(sessionProperties);
+    this.host = emailConfig.getHost();
+    this.port = emailConfig.getPort();
+    this.username = StringUtils.hasLength(emailConfig.getUsername()) ? emailConfig.getUsername() : null;
+    this.password = StringUtils.hasLength(emailConfig.getPassword()) ? emailConfig.getPassword() : null;
+    this.maxMessagesPerConnection = emailConfig.getPoolMaxMessagesPerConnection();
+    this.maxConnectionAgeNanos = TimeUnit.SECONDS.toNanos(emailConfig.getPoolMaxConnectionAgeSeconds());
+    this.nanoClock = nanoClock;
+    this.permits = new Semaphore(emailConfig.getPoolMaxConnections(), true);
+  }
+
+  public Session getSession() {
+    return session;
+  }
+
+  public void send(MimeMessage message) {
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MailSendException("Interrupted while waiting for an SMTP connection", e);
+    }
+    try {
+      PooledConnection connection = idleConnections.pollFirst();
+      while (connection != null && isExpired(connection)) {
+        connection.close();
+        connection = idleConnections.pollFirst();
+      }
+      if (connection != null && trySend(connection, message)) {
+        return;
+      }
+      connection = open();
+      if (!trySend(connection, message)) {
+        throw new MailSendException("Failed to send message to " + host + ":" + port, connection.lastFailure);
+      }
+    } finally {
+      permits.release();
+    }
+  }
+
+  public int getIdleConnections() {
+    return idleConnections.size();
+  }
+
+  public long getOpenedConnections() {
+    return openedConnections.get();
+  }
+
+  @PreDestroy
+  public void close() {
+    PooledConnection connection;
+    while ((connection = idleConnections.pollFirst()) != null) {
+      connection.close();
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("email.smtp.connections.idle", this, SmtpConnectionPool::getIdleConnections).register(registry);
+    FunctionCounter.builder("email.smtp.connections.opened", openedConnections, AtomicLong::get).register(registry);
+    FunctionCounter.builder("email.smtp.messages.sent", sentMessages, AtomicLong::get).register(registry);
+  }
+
+  private boolean trySend(PooledConnection connection, MimeMessage message) {
+    try {
+      if (connection.messagesSent > 0 && nanoClock.getAsLong() - connection.lastUsedAt > VALIDATE_AFTER_IDLE_NANOS
+          && !connection.transport.isConnected()) {
+        connection.close();
+        return false;
+      }
+      connection.transport.sendMessage(message, message.getAllRecipients());
+    } catch (SendFailedException e) {
+      if (connection.transport.isConnected()) {
+        release(connection);
+      } else {
+        connection.close();
+      }
+      throw new RecipientRejectedException("Recipients rejected by " + host + ":" + port, e);
+    } catch (MessagingException e) {
+      connection.lastFailure = e;
+      connection.close();
+      return false;
+    }
+    sentMessages.incrementAndGet();
+    release(connection);
+    return true;
+  }
+
+  private void release(PooledConnection connection) {
+    connection.messagesSent++;
+    connection.lastUsedAt = nanoClock.getAsLong();
+    if (connection.messagesSent >= maxMessagesPerConnection || isExpired(connection)) {
+      connection.close();
+    } else {
+      idleConnections.offerFirst(connection);
+    }
+  }
+
+  private PooledConnection open() {
+    try {
+      Transport transport = session.getTransport(PROTOCOL);
+      transport.connect(host, port, username, password);
+      openedConnections.incrementAndGet();
+      return new PooledConnection(transport, nanoClock.getAsLong());
+    } catch (AuthenticationFailedException e) {
+      throw new MailAuthenticationException(e);
+    } catch (MessagingException e) {
+      throw new MailSendException("Failed to connect to " + host + ":" + port, e);
+    }
+  }
+
+  private boolean isExpired(PooledConnection connection) {
+    return nanoClock.getAsLong() - connection.openedAt >= maxConnectionAgeNanos;
+  }
+
+  private static class PooledConnection {
+
+    private final Transport transport;
+    private final long openedAt;
+    private long lastUsedAt;
+    private int messagesSent;
+    private MessagingException lastFailure;
+
+    private PooledConnection(Transport transport, long openedAt) {
+      this.transport = transport;
+      this.openedAt = openedAt;
+      this.lastUsedAt = openedAt;
+    }
+
+    private void close() {
+      try {
+        transport.close();
+      } catch (MessagingException ignored) {
+        // the connection is discarded either way
+      }
+    }
+  }
+}
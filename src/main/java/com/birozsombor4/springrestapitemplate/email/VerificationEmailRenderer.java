@@ -0,0 +1,53 @@
+package com.birozsombor4.springrestapitemplate.email;
+
+import com.birozsombor4.springrestapitemplate.utils.CompiledTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+@Component
+public class VerificationEmailRenderer {
+
+  public static final String TEMPLATE_NAME = "verification-email";
+  private static final Logger LOGGER = LoggerFactory.getLogger(VerificationEmailRenderer.class);
+
+  private final TemplateEngine templateEngine;
+  private final String templateName;
+  private final CompiledTemplate compiledTemplate;
+
+  @Autowired
+  public VerificationEmailRenderer(TemplateEngine templateEngine) {
+    this(templateEngine, TEMPLATE_NAME);
+  }
+
+  public VerificationEmailRenderer(TemplateEngine templateEngine, String templateName) {
+    this.templateEngine = templateEngine;
+    this.templateName = templateName;
+    this.compiledTemplate = CompiledTemplate.compile(values -> process(values[0], values[1]),
+        "username", "verificationToken").orElse(null);
+    if (compiledTemplate == null) {
+      LOGGER.info("Template {} depends on its variables, rendering it with Thymeleaf", templateName);
+    }
+  }
+
+  public String render(String username, String verificationToken) {
+    if (compiledTemplate != null) {
+      return compiledTemplate.render(username, verificationToken);
+    }
+    return process(username, verificationToken);
+  }
+
+  public boolean isCompiled() {
+    return compiledTemplate != null;
+  }
+
+  private String process(String username, String verificationToken) {
+    Context context = new Context();
+    context.setVariable("username", username);
+    context.setVariable("verificationToken", verificationToken);
+    return templateEngine.process(templateName, context);
+  }
+}
@@ -0,0 +1,18 @@
+package com.birozsombor4.springrestapitemplate.exceptions;
+
+public class EmailDispatchUnavailableException extends RuntimeException {
+
+  private long retryAfterSeconds;
+
+  public EmailDispatchUnavailableException(long retryAfterSeconds) {
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+
+  public void setRetryAfterSeconds(long retryAfterSeconds) {
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+}
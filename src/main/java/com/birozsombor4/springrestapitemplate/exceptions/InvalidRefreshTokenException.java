@@ -0,0 +1,4 @@
+package com.birozsombor4.springrestapitemplate.exceptions;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+}
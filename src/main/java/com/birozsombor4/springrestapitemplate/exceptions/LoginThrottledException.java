@@ -0,0 +1,18 @@
+package com.birozsombor4.springrestapitemplate.exceptions;
+
+public class LoginThrottledException extends RuntimeException {
+
+  private long retryAfterSeconds;
+
+  public LoginThrottledException(long retryAfterSeconds) {
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+
+  public void setRetryAfterSeconds(long retryAfterSeconds) {
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+}
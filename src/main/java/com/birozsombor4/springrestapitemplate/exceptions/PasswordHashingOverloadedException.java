@@ -0,0 +1,18 @@
+package com.birozsombor4.springrestapitemplate.exceptions;
+
+public class PasswordHashingOverloadedException extends RuntimeException {
+
+  private long retryAfterSeconds;
+
+  public PasswordHashingOverloadedException(long retryAfterSeconds) {
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+
+  public void setRetryAfterSeconds(long retryAfterSeconds) {
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+}
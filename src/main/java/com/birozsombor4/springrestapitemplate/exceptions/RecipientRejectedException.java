@@ -0,0 +1,10 @@
+package com.birozsombor4.springrestapitemplate.exceptions;
+
+import org.springframework.mail.MailSendException;
+
+public class RecipientRejectedException extends MailSendException {
+
+  public RecipientRejectedException(String msg, Throwable cause) {
+    super(msg, cause);
+  }
+}
@@ -0,0 +1,4 @@
+package com.birozsombor4.springrestapitemplate.exceptions;
+
+public class UnrevocableJwtTokenException extends RuntimeException {
+}
\ No newline at end of file
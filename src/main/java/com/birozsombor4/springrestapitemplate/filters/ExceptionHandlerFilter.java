@@ -4,6 +4,7 @@ import com.birozsombor4.springrestapitemplate.exceptions.InvalidAuthorizationHea
 import com.birozsombor4.springrestapitemplate.exceptions.InvalidJwtFormatException;
 import com.birozsombor4.springrestapitemplate.exceptions.InvalidJwtTokenException;
 import com.birozsombor4.springrestapitemplate.exceptions.MissingUsernameException;
+import com.birozsombor4.springrestapitemplate.exceptions.RevokedJwtTokenException;
 import com.birozsombor4.springrestapitemplate.models.dtos.ErrorDTO;
 import com.birozsombor4.springrestapitemplate.utils.JsonUtil;
 import java.io.IOException;
@@ -35,6 +36,8 @@ public class ExceptionHandlerFilter extends OncePerRequestFilter {
       setResponseToUnauthorizedAndWriteMessage(response, "Username is missing from JWT.");
     } catch (InvalidJwtTokenException e) {
       setResponseToUnauthorizedAndWriteMessage(response, "Expired JWT.");
+    } catch (RevokedJwtTokenException e) {
+      setResponseToUnauthorizedAndWriteMessage(response, "Revoked JWT.");
     }
   }
 
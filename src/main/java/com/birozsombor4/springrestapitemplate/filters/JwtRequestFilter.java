@@ -4,8 +4,19 @@ import com.birozsombor4.springrestapitemplate.exceptions.InvalidAuthorizationHea
 import com.birozsombor4.springrestapitemplate.exceptions.InvalidJwtFormatException;
 import com.birozsombor4.springrestapitemplate.exceptions.InvalidJwtTokenException;
 import com.birozsombor4.springrestapitemplate.exceptions.MissingUsernameException;
+import com.birozsombor4.springrestapitemplate.exceptions.RevokedJwtTokenException;
+import com.birozsombor4.springrestapitemplate.security.JwtConfig;
+import com.birozsombor4.springrestapitemplate.security.JwtPrincipal;
+import com.birozsombor4.springrestapitemplate.security.TokenEpochRegistry;
+import com.birozsombor4.springrestapitemplate.security.TokenRevocationStore;
+import com.birozsombor4.springrestapitemplate.security.UserDetailsImpl;
+import com.birozsombor4.springrestapitemplate.security.VerifiedTokenCache;
 import com.birozsombor4.springrestapitemplate.utils.JwtUtil;
+import com.birozsombor4.springrestapitemplate.utils.ParsedJwt;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -23,13 +34,29 @@ import org.springframework.web.filter.OncePerRequestFilter;
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
 
+  private static final Set<String> PUBLIC_PATHS =
+      new HashSet<>(Arrays.asList("/register", "/login", "/verify", "/token/refresh"));
+
   private UserDetailsService userDetailsService;
   private JwtUtil jwtUtil;
+  private VerifiedTokenCache verifiedTokenCache;
+  private TokenEpochRegistry tokenEpochRegistry;
+  private TokenRevocationStore tokenRevocationStore;
+  private JwtConfig jwtConfig;
 
   @Autowired
-  public JwtRequestFilter(UserDetailsService userDetailsService, JwtUtil jwtUtil) {
+  public JwtRequestFilter(UserDetailsService userDetailsService,
+                          JwtUtil jwtUtil,
+                          VerifiedTokenCache verifiedTokenCache,
+                          TokenEpochRegistry tokenEpochRegistry,
+                          TokenRevocationStore tokenRevocationStore,
+                          JwtConfig jwtConfig) {
     this.userDetailsService = userDetailsService;
     this.jwtUtil = jwtUtil;
+    this.verifiedTokenCache = verifiedTokenCache;
+    this.tokenEpochRegistry = tokenEpochRegistry;
+    this.tokenRevocationStore = tokenRevocationStore;
+    this.jwtConfig = jwtConfig;
   }
 
   @Override
@@ -37,20 +64,26 @@ public class JwtRequestFilter extends OncePerRequestFilter {
                                   HttpServletResponse response,
                                   FilterChain filterChain) throws ServletException, IOException,
       InvalidJwtTokenException {
-    String path = request.getRequestURI();
-    if (path.equals("/register") || path.equals("/login") || path.equals("/verify")) {
+    if (PUBLIC_PATHS.contains(request.getRequestURI())) {
       filterChain.doFilter(request, response);
       return;
     }
 
     String authorizationHeader = request.getHeader("Authorization");
-    String username = null;
-    String jwt = null;
+    ParsedJwt parsedJwt = null;
 
     if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+      String jwt = authorizationHeader.substring(7);
+      VerifiedTokenCache.Entry cachedEntry = verifiedTokenCache.get(jwt);
+      if (cachedEntry != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        checkTokenNotRevoked(cachedEntry.getParsedJwt(), null);
+        request.setAttribute(ParsedJwt.REQUEST_ATTRIBUTE, cachedEntry.getParsedJwt());
+        setAuthenticationForUser(cachedEntry.getUserDetails(), request);
+        filterChain.doFilter(request, response);
+        return;
+      }
       try {
-        jwt = authorizationHeader.substring(7);
-        username = jwtUtil.extractUsername(jwt);
+        parsedJwt = jwtUtil.parseToken(jwt);
       } catch (Exception e) {
         throw new InvalidJwtFormatException();
       }
@@ -58,10 +91,14 @@ public class JwtRequestFilter extends OncePerRequestFilter {
       throw new InvalidAuthorizationHeaderException();
     }
 
+    String username = parsedJwt.getUsername();
     UserDetails userDetails = null;
     if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-      userDetails = getUserDetailsByUsername(username);
-      if (jwtUtil.validateToken(jwt, userDetails)) {
+      userDetails = getUserDetails(parsedJwt);
+      if (jwtUtil.validateToken(parsedJwt, userDetails)) {
+        checkTokenNotRevoked(parsedJwt, userDetails);
+        verifiedTokenCache.put(parsedJwt, userDetails);
+        request.setAttribute(ParsedJwt.REQUEST_ATTRIBUTE, parsedJwt);
         setAuthenticationForUser(userDetails, request);
       } else {
         throw new InvalidJwtTokenException();
@@ -79,6 +116,34 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
   }
 
+  private UserDetails getUserDetails(ParsedJwt parsedJwt) {
+    if (jwtConfig.isStatelessPrincipalEnabled() && parsedJwt.getUserId() != null) {
+      return new JwtPrincipal(parsedJwt.getUserId(), parsedJwt.getUsername(),
+          Boolean.TRUE.equals(parsedJwt.getVerified()));
+    }
+    return getUserDetailsByUsername(parsedJwt.getUsername());
+  }
+
+  private void checkTokenNotRevoked(ParsedJwt parsedJwt, UserDetails userDetails) {
+    if (tokenRevocationStore.isRevoked(parsedJwt)) {
+      throw new RevokedJwtTokenException();
+    }
+    Integer currentEpoch;
+    if (userDetails instanceof UserDetailsImpl) {
+      currentEpoch = ((UserDetailsImpl) userDetails).getTokenEpoch();
+    } else if (parsedJwt.getUserId() == null) {
+      return;
+    } else {
+      currentEpoch = tokenEpochRegistry.getCurrentEpoch(parsedJwt.getUserId());
+      if (currentEpoch == null) {
+        throw new UsernameNotFoundException("Username is not found: " + parsedJwt.getUsername());
+      }
+    }
+    if (!jwtUtil.isTokenEpochCurrent(parsedJwt, currentEpoch)) {
+      throw new RevokedJwtTokenException();
+    }
+  }
+
   private UserDetails getUserDetailsByUsername(String username) {
     UserDetails userDetails = null;
     try {
@@ -1,17 +1,23 @@
 package com.birozsombor4.springrestapitemplate.handlers;
 
+import com.birozsombor4.springrestapitemplate.exceptions.EmailDispatchUnavailableException;
 import com.birozsombor4.springrestapitemplate.exceptions.FailedDirectoryCreatingException;
 import com.birozsombor4.springrestapitemplate.exceptions.FailedFileDeletingException;
 import com.birozsombor4.springrestapitemplate.exceptions.FailedFileLoadingException;
 import com.birozsombor4.springrestapitemplate.exceptions.FailedFileSavingException;
+import com.birozsombor4.springrestapitemplate.exceptions.InvalidRefreshTokenException;
 import com.birozsombor4.springrestapitemplate.exceptions.InvalidRegisterOrLoginParameterException;
+import com.birozsombor4.springrestapitemplate.exceptions.LoginThrottledException;
 import com.birozsombor4.springrestapitemplate.exceptions.NotAllowedActionException;
+import com.birozsombor4.springrestapitemplate.exceptions.PasswordHashingOverloadedException;
+import com.birozsombor4.springrestapitemplate.exceptions.UnrevocableJwtTokenException;
 import com.birozsombor4.springrestapitemplate.exceptions.UnsupportedContentTypeException;
 import com.birozsombor4.springrestapitemplate.exceptions.UnsupportedFileNameException;
 import com.birozsombor4.springrestapitemplate.exceptions.UserAlreadyVerifiedException;
 import com.birozsombor4.springrestapitemplate.exceptions.UserNotFoundException;
 import com.birozsombor4.springrestapitemplate.exceptions.VerificationTokenDoesNotExistException;
 import com.birozsombor4.springrestapitemplate.models.dtos.ErrorDTO;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -35,6 +41,39 @@ public class GlobalExceptionHandler {
         .body(new ErrorDTO("error", "Username or password is incorrect."));
   }
 
+  @ExceptionHandler
+  public ResponseEntity handleInvalidRefreshTokenException(InvalidRefreshTokenException e) {
+    return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+        .body(new ErrorDTO("error", "Invalid or expired refresh token."));
+  }
+
+  @ExceptionHandler
+  public ResponseEntity handleUnrevocableJwtTokenException(UnrevocableJwtTokenException e) {
+    return ResponseEntity.badRequest()
+        .body(new ErrorDTO("error", "This token cannot be revoked on its own, use all=true to revoke every token."));
+  }
+
+  @ExceptionHandler
+  public ResponseEntity handlePasswordHashingOverloadedException(PasswordHashingOverloadedException e) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+        .body(new ErrorDTO("error", "Server is busy, please try again later."));
+  }
+
+  @ExceptionHandler
+  public ResponseEntity handleEmailDispatchUnavailableException(EmailDispatchUnavailableException e) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+        .body(new ErrorDTO("error", "Email service is temporarily unavailable, please try again later."));
+  }
+
+  @ExceptionHandler
+  public ResponseEntity handleLoginThrottledException(LoginThrottledException e) {
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+        .body(new ErrorDTO("error", "Too many login attempts, please try again later."));
+  }
+
   @ExceptionHandler
   public ResponseEntity handleUserDoesNotExist(UsernameNotFoundException e) {
     return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -0,0 +1,127 @@
+package com.birozsombor4.springrestapitemplate.models.daos;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+@Entity
+@Table(name = "email_outbox", indexes = {
+    @Index(name = "idx_email_outbox_next_attempt_at", columnList = "nextAttemptAt"),
+    @Index(name = "idx_email_outbox_claim_token", columnList = "claimToken")
+})
+public class EmailOutboxMessage {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+  @Column(nullable = false)
+  private String recipient;
+  @Column(nullable = false)
+  private String username;
+  @Column(nullable = false)
+  private String verificationToken;
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+  @Column(nullable = false)
+  private LocalDateTime nextAttemptAt;
+  @Column(nullable = false)
+  private int attempts;
+  @Column(length = 36)
+  private String claimToken;
+  private LocalDateTime claimedUntil;
+  private LocalDateTime failedAt;
+
+  public EmailOutboxMessage() {
+  }
+
+  public EmailOutboxMessage(String recipient, String username, String verificationToken) {
+    this.recipient = recipient;
+    this.username = username;
+    this.verificationToken = verificationToken;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public String getRecipient() {
+    return recipient;
+  }
+
+  public void setRecipient(String recipient) {
+    this.recipient = recipient;
+  }
+
+  public String getUsername() {
+    return username;
+  }
+
+  public void setUsername(String username) {
+    this.username = username;
+  }
+
+  public String getVerificationToken() {
+    return verificationToken;
+  }
+
+  public void setVerificationToken(String verificationToken) {
+    this.verificationToken = verificationToken;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public LocalDateTime getNextAttemptAt() {
+    return nextAttemptAt;
+  }
+
+  public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+    this.nextAttemptAt = nextAttemptAt;
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public void setAttempts(int attempts) {
+    this.attempts = attempts;
+  }
+
+  public String getClaimToken() {
+    return claimToken;
+  }
+
+  public void setClaimToken(String claimToken) {
+    this.claimToken = claimToken;
+  }
+
+  public LocalDateTime getClaimedUntil() {
+    return claimedUntil;
+  }
+
+  public void setClaimedUntil(LocalDateTime claimedUntil) {
+    this.claimedUntil = claimedUntil;
+  }
+
+  public LocalDateTime getFailedAt() {
+    return failedAt;
+  }
+
+  public void setFailedAt(LocalDateTime failedAt) {
+    this.failedAt = failedAt;
+  }
+}
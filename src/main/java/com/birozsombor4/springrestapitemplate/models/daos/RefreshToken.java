@@ -0,0 +1,106 @@
+package com.birozsombor4.springrestapitemplate.models.daos;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+    @Index(name = "idx_refresh_tokens_token_hash", columnList = "tokenHash", unique = true),
+    @Index(name = "idx_refresh_tokens_family_id", columnList = "familyId"),
+    @Index(name = "idx_refresh_tokens_expires_at", columnList = "expiresAt")
+})
+public class RefreshToken {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Integer id;
+  @Column(nullable = false, length = 64)
+  private String tokenHash;
+  @Column(nullable = false, length = 36)
+  private String familyId;
+  @Column(nullable = false)
+  private LocalDateTime expiresAt;
+  private LocalDateTime usedAt;
+  @Column(nullable = false)
+  private int tokenEpoch;
+
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
+  @JoinColumn(nullable = false)
+  private User user;
+
+  public RefreshToken() {
+  }
+
+  public RefreshToken(String tokenHash, String familyId, LocalDateTime expiresAt, User user) {
+    this.tokenHash = tokenHash;
+    this.familyId = familyId;
+    this.expiresAt = expiresAt;
+    this.user = user;
+    this.tokenEpoch = user.getTokenEpoch();
+  }
+
+  public Integer getId() {
+    return id;
+  }
+
+  public void setId(Integer id) {
+    this.id = id;
+  }
+
+  public String getTokenHash() {
+    return tokenHash;
+  }
+
+  public void setTokenHash(String tokenHash) {
+    this.tokenHash = tokenHash;
+  }
+
+  public String getFamilyId() {
+    return familyId;
+  }
+
+  public void setFamilyId(String familyId) {
+    this.familyId = familyId;
+  }
+
+  public LocalDateTime getExpiresAt() {
+    return expiresAt;
+  }
+
+  public void setExpiresAt(LocalDateTime expiresAt) {
+    this.expiresAt = expiresAt;
+  }
+
+  public LocalDateTime getUsedAt() {
+    return usedAt;
+  }
+
+  public void setUsedAt(LocalDateTime usedAt) {
+    this.usedAt = usedAt;
+  }
+
+  public int getTokenEpoch() {
+    return tokenEpoch;
+  }
+
+  public void setTokenEpoch(int tokenEpoch) {
+    this.tokenEpoch = tokenEpoch;
+  }
+
+  public User getUser() {
+    return user;
+  }
+
+  public void setUser(User user) {
+    this.user = user;
+  }
+}
@@ -0,0 +1,57 @@
+package com.birozsombor4.springrestapitemplate.models.daos;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+    @Index(name = "idx_revoked_tokens_expires_at", columnList = "expiresAt"),
+    @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revokedAt")
+})
+public class RevokedToken {
+
+  @Id
+  @Column(length = 64)
+  private String tokenId;
+  @Column(nullable = false)
+  private LocalDateTime expiresAt;
+  @Column(nullable = false)
+  private LocalDateTime revokedAt;
+
+  public RevokedToken() {
+  }
+
+  public RevokedToken(String tokenId, LocalDateTime expiresAt, LocalDateTime revokedAt) {
+    this.tokenId = tokenId;
+    this.expiresAt = expiresAt;
+    this.revokedAt = revokedAt;
+  }
+
+  public String getTokenId() {
+    return tokenId;
+  }
+
+  public void setTokenId(String tokenId) {
+    this.tokenId = tokenId;
+  }
+
+  public LocalDateTime getExpiresAt() {
+    return expiresAt;
+  }
+
+  public void setExpiresAt(LocalDateTime expiresAt) {
+    this.expiresAt = expiresAt;
+  }
+
+  public LocalDateTime getRevokedAt() {
+    return revokedAt;
+  }
+
+  public void setRevokedAt(LocalDateTime revokedAt) {
+    this.revokedAt = revokedAt;
+  }
+}
@@ -0,0 +1,52 @@
+package com.birozsombor4.springrestapitemplate.models.daos;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+@Entity
+@Table(name = "scheduler_leases")
+public class SchedulerLease {
+
+  @Id
+  @Column(length = 64)
+  private String name;
+  @Column(length = 36)
+  private String owner;
+  private LocalDateTime leaseUntil;
+
+  public SchedulerLease() {
+  }
+
+  public SchedulerLease(String name, String owner, LocalDateTime leaseUntil) {
+    this.name = name;
+    this.owner = owner;
+    this.leaseUntil = leaseUntil;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getOwner() {
+    return owner;
+  }
+
+  public void setOwner(String owner) {
+    this.owner = owner;
+  }
+
+  public LocalDateTime getLeaseUntil() {
+    return leaseUntil;
+  }
+
+  public void setLeaseUntil(LocalDateTime leaseUntil) {
+    this.leaseUntil = leaseUntil;
+  }
+}
@@ -1,6 +1,7 @@
 package com.birozsombor4.springrestapitemplate.models.daos;
 
 import javax.persistence.CascadeType;
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
@@ -8,11 +9,18 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.OneToOne;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+    @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"),
+    @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email")
+})
 public class User {
 
+  public static final String USERNAME_CONSTRAINT = "uk_users_username";
+  public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Integer id;
@@ -21,6 +29,8 @@ public class User {
   private String email;
   private boolean verified;
   private String avatar;
+  @Column(nullable = false, columnDefinition = "INTEGER DEFAULT 0")
+  private int tokenEpoch;
 
   @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, mappedBy = "user")
   private VerificationToken verificationToken;
@@ -103,4 +113,12 @@ public class User {
   public void setAvatar(String avatar) {
     this.avatar = avatar;
   }
+
+  public int getTokenEpoch() {
+    return tokenEpoch;
+  }
+
+  public void setTokenEpoch(int tokenEpoch) {
+    this.tokenEpoch = tokenEpoch;
+  }
 }
\ No newline at end of file
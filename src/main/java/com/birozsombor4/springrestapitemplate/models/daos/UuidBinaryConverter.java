@@ -0,0 +1,34 @@
+package com.birozsombor4.springrestapitemplate.models.daos;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+public class UuidBinaryConverter {
+
+  public static byte[] toBytes(String uuid) {
+    if (uuid == null) {
+      return null;
+    }
+    UUID parsedUuid = UUID.fromString(uuid);
+    return ByteBuffer.allocate(16)
+        .putLong(parsedUuid.getMostSignificantBits())
+        .putLong(parsedUuid.getLeastSignificantBits())
+        .array();
+  }
+
+  public static String fromBytes(byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    return new UUID(buffer.getLong(), buffer.getLong()).toString();
+  }
+
+  public static boolean isValid(String uuid) {
+    try {
+      return uuid != null && UUID.fromString(uuid).toString().equalsIgnoreCase(uuid);
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+}
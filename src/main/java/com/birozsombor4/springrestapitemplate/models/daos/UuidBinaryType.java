@@ -0,0 +1,68 @@
+package com.birozsombor4.springrestapitemplate.models.daos;
+
+import org.hibernate.type.AbstractSingleColumnStandardBasicType;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.AbstractTypeDescriptor;
+import org.hibernate.type.descriptor.sql.VarbinaryTypeDescriptor;
+
+public class UuidBinaryType extends AbstractSingleColumnStandardBasicType<String> {
+
+  public static final String NAME = "com.birozsombor4.springrestapitemplate.models.daos.UuidBinaryType";
+
+  public UuidBinaryType() {
+    super(VarbinaryTypeDescriptor.INSTANCE, UuidStringTypeDescriptor.INSTANCE);
+  }
+
+  @Override
+  public String getName() {
+    return "uuid-varbinary";
+  }
+
+  private static class UuidStringTypeDescriptor extends AbstractTypeDescriptor<String> {
+
+    private static final UuidStringTypeDescriptor INSTANCE = new UuidStringTypeDescriptor();
+
+    private UuidStringTypeDescriptor() {
+      super(String.class);
+    }
+
+    @Override
+    public String toString(String value) {
+      return value;
+    }
+
+    @Override
+    public String fromString(String string) {
+      return string;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <X> X unwrap(String value, Class<X> type, WrapperOptions options) {
+      if (value == null) {
+        return null;
+      }
+      if (byte[].class.isAssignableFrom(type)) {
+        return (X) UuidBinaryConverter.toBytes(value);
+      }
+      if (String.class.isAssignableFrom(type)) {
+        return (X) value;
+      }
+      throw unknownUnwrap(type);
+    }
+
+    @Override
+    public <X> String wrap(X value, WrapperOptions options) {
+      if (value == null) {
+        return null;
+      }
+      if (value instanceof byte[]) {
+        return UuidBinaryConverter.fromBytes((byte[]) value);
+      }
+      if (value instanceof String) {
+        return (String) value;
+      }
+      throw unknownWrap(value.getClass());
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package com.birozsombor4.springrestapitemplate.models.daos;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+@Entity
+@Table(name = "verification_resend_jobs", indexes = {
+    @Index(name = "idx_verification_resend_jobs_status", columnList = "status")
+}, uniqueConstraints = @UniqueConstraint(name = VerificationResendJob.RUNNING_CONSTRAINT, columnNames = "running"))
+public class VerificationResendJob {
+
+  public static final String RUNNING = "RUNNING";
+  public static final String COMPLETED = "COMPLETED";
+  public static final String CANCELLED = "CANCELLED";
+  public static final String RUNNING_CONSTRAINT = "uk_verification_resend_jobs_running";
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+  @Column(nullable = false, length = 16)
+  private String status;
+  @Column(nullable = false)
+  private int lastUserId;
+  @Column(nullable = false)
+  private long processed;
+  @Column(nullable = false)
+  private LocalDateTime startedAt;
+  @Column(nullable = false)
+  private LocalDateTime updatedAt;
+  @Column(length = 36)
+  private String leaseOwner;
+  private LocalDateTime leaseUntil;
+  private Boolean running;
+
+  public VerificationResendJob() {
+  }
+
+  public VerificationResendJob(LocalDateTime startedAt) {
+    this.status = RUNNING;
+    this.running = true;
+    this.startedAt = startedAt;
+    this.updatedAt = startedAt;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public int getLastUserId() {
+    return lastUserId;
+  }
+
+  public void setLastUserId(int lastUserId) {
+    this.lastUserId = lastUserId;
+  }
+
+  public long getProcessed() {
+    return processed;
+  }
+
+  public void setProcessed(long processed) {
+    this.processed = processed;
+  }
+
+  public LocalDateTime getStartedAt() {
+    return startedAt;
+  }
+
+  public void setStartedAt(LocalDateTime startedAt) {
+    this.startedAt = startedAt;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
+  public String getLeaseOwner() {
+    return leaseOwner;
+  }
+
+  public void setLeaseOwner(String leaseOwner) {
+    this.leaseOwner = leaseOwner;
+  }
+
+  public LocalDateTime getLeaseUntil() {
+    return leaseUntil;
+  }
+
+  public void setLeaseUntil(LocalDateTime leaseUntil) {
+    this.leaseUntil = leaseUntil;
+  }
+
+  public Boolean getRunning() {
+    return running;
+  }
+
+  public void setRunning(Boolean running) {
+    this.running = running;
+  }
+}
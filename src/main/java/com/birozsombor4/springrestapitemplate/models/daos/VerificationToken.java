@@ -2,25 +2,34 @@ package com.birozsombor4.springrestapitemplate.models.daos;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.OneToOne;
 import javax.persistence.Table;
 import javax.persistence.Transient;
+import javax.persistence.UniqueConstraint;
+import org.hibernate.annotations.Type;
 
 @Entity
-@Table(name = "verification_tokens")
+@Table(name = "verification_tokens",
+    uniqueConstraints = @UniqueConstraint(name = VerificationToken.TOKEN_CONSTRAINT, columnNames = "token"),
+    indexes = @Index(name = "idx_verification_tokens_expiry_date", columnList = "expiryDate"))
 public class VerificationToken {
+  public static final String TOKEN_CONSTRAINT = "uk_verification_tokens_token";
   @Transient
   private static final int EXPIRATION = 24;
 
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Integer id;
+  @Type(type = UuidBinaryType.NAME)
+  @Column(length = 16, nullable = false)
   private String token;
   private LocalDateTime expiryDate;
 
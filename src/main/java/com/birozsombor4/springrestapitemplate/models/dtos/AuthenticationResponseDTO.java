@@ -3,11 +3,17 @@ package com.birozsombor4.springrestapitemplate.models.dtos;
 public class AuthenticationResponseDTO {
 
   private String token;
+  private String refreshToken;
 
   public AuthenticationResponseDTO(String token) {
     this.token = token;
   }
 
+  public AuthenticationResponseDTO(String token, String refreshToken) {
+    this.token = token;
+    this.refreshToken = refreshToken;
+  }
+
   public String getToken() {
     return token;
   }
@@ -15,4 +21,12 @@ public class AuthenticationResponseDTO {
   public void setToken(String token) {
     this.token = token;
   }
-}
\ No newline at end of file
+
+  public String getRefreshToken() {
+    return refreshToken;
+  }
+
+  public void setRefreshToken(String refreshToken) {
+    this.refreshToken = refreshToken;
+  }
+}
@@ -0,0 +1,81 @@
+package com.birozsombor4.springrestapitemplate.models.dtos;
+
+import java.time.LocalDateTime;
+
+public class VerificationResendJobDTO {
+
+  private Long id;
+  private String status;
+  private long processed;
+  private long remaining;
+  private int lastUserId;
+  private LocalDateTime startedAt;
+  private LocalDateTime updatedAt;
+
+  public VerificationResendJobDTO(Long id, String status, long processed, long remaining, int lastUserId,
+                                  LocalDateTime startedAt, LocalDateTime updatedAt) {
+    this.id = id;
+    this.status = status;
+    this.processed = processed;
+    this.remaining = remaining;
+    this.lastUserId = lastUserId;
+    this.startedAt = startedAt;
+    this.updatedAt = updatedAt;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public long getProcessed() {
+    return processed;
+  }
+
+  public void setProcessed(long processed) {
+    this.processed = processed;
+  }
+
+  public long getRemaining() {
+    return remaining;
+  }
+
+  public void setRemaining(long remaining) {
+    this.remaining = remaining;
+  }
+
+  public int getLastUserId() {
+    return lastUserId;
+  }
+
+  public void setLastUserId(int lastUserId) {
+    this.lastUserId = lastUserId;
+  }
+
+  public LocalDateTime getStartedAt() {
+    return startedAt;
+  }
+
+  public void setStartedAt(LocalDateTime startedAt) {
+    this.startedAt = startedAt;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+}
@@ -0,0 +1,52 @@
+package com.birozsombor4.springrestapitemplate.respositories;
+
+import com.birozsombor4.springrestapitemplate.models.daos.EmailOutboxMessage;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface EmailOutboxRepository extends CrudRepository<EmailOutboxMessage, Long> {
+  @Query(value = "SELECT LOCALTIMESTAMP", nativeQuery = true)
+  LocalDateTime currentTimestamp();
+
+  @Query("SELECT m.id FROM EmailOutboxMessage m WHERE m.failedAt IS NULL AND m.nextAttemptAt <= :now "
+      + "AND (m.claimedUntil IS NULL OR m.claimedUntil < :now) ORDER BY m.nextAttemptAt")
+  List<Long> findClaimableIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+  @Transactional
+  @Modifying
+  @Query("UPDATE EmailOutboxMessage m SET m.claimToken = :claimToken, m.claimedUntil = :claimedUntil "
+      + "WHERE m.id IN :ids AND m.failedAt IS NULL AND (m.claimedUntil IS NULL OR m.claimedUntil < :now)")
+  int claim(@Param("ids") Collection<Long> ids, @Param("claimToken") String claimToken,
+            @Param("claimedUntil") LocalDateTime claimedUntil, @Param("now") LocalDateTime now);
+
+  List<EmailOutboxMessage> findAllByClaimToken(String claimToken);
+
+  @Transactional
+  @Modifying
+  @Query("UPDATE EmailOutboxMessage m SET m.claimedUntil = :claimedUntil "
+      + "WHERE m.id = :id AND m.claimToken = :claimToken AND m.claimedUntil >= :now")
+  int renewClaim(@Param("id") Long id, @Param("claimToken") String claimToken,
+                 @Param("claimedUntil") LocalDateTime claimedUntil, @Param("now") LocalDateTime now);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM EmailOutboxMessage m WHERE m.id = :id AND m.claimToken = :claimToken")
+  int deleteClaimed(@Param("id") Long id, @Param("claimToken") String claimToken);
+
+  @Transactional
+  @Modifying
+  @Query("UPDATE EmailOutboxMessage m SET m.attempts = :attempts, m.nextAttemptAt = :nextAttemptAt, "
+      + "m.failedAt = :failedAt, m.claimToken = NULL, m.claimedUntil = NULL "
+      + "WHERE m.id = :id AND m.claimToken = :claimToken")
+  int releaseClaimed(@Param("id") Long id, @Param("claimToken") String claimToken, @Param("attempts") int attempts,
+                     @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("failedAt") LocalDateTime failedAt);
+}
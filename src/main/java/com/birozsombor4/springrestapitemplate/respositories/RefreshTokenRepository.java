@@ -0,0 +1,36 @@
+package com.birozsombor4.springrestapitemplate.respositories;
+
+import com.birozsombor4.springrestapitemplate.models.daos.RefreshToken;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface RefreshTokenRepository extends CrudRepository<RefreshToken, Integer> {
+  @Query("SELECT r FROM RefreshToken r JOIN FETCH r.user WHERE r.tokenHash = :tokenHash")
+  Optional<RefreshToken> findByTokenHashWithUser(@Param("tokenHash") String tokenHash);
+
+  @Modifying
+  @Query("UPDATE RefreshToken r SET r.usedAt = :now WHERE r.id = :id AND r.usedAt IS NULL")
+  int markUsed(@Param("id") Integer id, @Param("now") LocalDateTime now);
+
+  @Modifying
+  @Query("UPDATE RefreshToken r SET r.usedAt = :now WHERE r.familyId = :familyId AND r.usedAt IS NULL")
+  int markFamilyUsed(@Param("familyId") String familyId, @Param("now") LocalDateTime now);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM RefreshToken r WHERE r.expiresAt < :now")
+  int deleteExpired(@Param("now") LocalDateTime now);
+
+  @Modifying
+  @Query("DELETE FROM RefreshToken r WHERE r.user.id IN "
+      + "(SELECT u.id FROM User u WHERE u.id IN :userIds AND u.verified = false)")
+  int deleteAllOfUnverifiedUsers(@Param("userIds") Collection<Integer> userIds);
+}
@@ -0,0 +1,26 @@
+package com.birozsombor4.springrestapitemplate.respositories;
+
+import com.birozsombor4.springrestapitemplate.models.daos.RevokedToken;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface RevokedTokenRepository extends CrudRepository<RevokedToken, String> {
+  @Query(value = "SELECT LOCALTIMESTAMP", nativeQuery = true)
+  LocalDateTime currentTimestamp();
+
+  List<RevokedToken> findAllByExpiresAtAfter(LocalDateTime now);
+
+  List<RevokedToken> findAllByRevokedAtAfterAndExpiresAtAfter(LocalDateTime since, LocalDateTime now);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM RevokedToken t WHERE t.expiresAt < :now")
+  int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,35 @@
+package com.birozsombor4.springrestapitemplate.respositories;
+
+import com.birozsombor4.springrestapitemplate.models.daos.SchedulerLease;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface SchedulerLeaseRepository extends CrudRepository<SchedulerLease, String> {
+  @Query(value = "SELECT LOCALTIMESTAMP", nativeQuery = true)
+  LocalDateTime currentTimestamp();
+
+  @Transactional
+  @Modifying
+  @Query(value = "UPDATE scheduler_leases SET owner = :owner, "
+      + "lease_until = TIMESTAMPADD(SECOND, :leaseSeconds, LOCALTIMESTAMP) "
+      + "WHERE name = :name AND (lease_until IS NULL OR lease_until < LOCALTIMESTAMP OR owner = :owner)",
+      nativeQuery = true)
+  int acquire(@Param("name") String name, @Param("owner") String owner, @Param("leaseSeconds") long leaseSeconds);
+
+  @Transactional
+  @Modifying
+  @Query(value = "INSERT INTO scheduler_leases (name, owner, lease_until) "
+      + "VALUES (:name, :owner, TIMESTAMPADD(SECOND, :leaseSeconds, LOCALTIMESTAMP))", nativeQuery = true)
+  int insert(@Param("name") String name, @Param("owner") String owner, @Param("leaseSeconds") long leaseSeconds);
+
+  @Transactional
+  @Modifying
+  @Query("UPDATE SchedulerLease l SET l.owner = NULL, l.leaseUntil = NULL WHERE l.name = :name AND l.owner = :owner")
+  int release(@Param("name") String name, @Param("owner") String owner);
+}
@@ -0,0 +1,9 @@
+package com.birozsombor4.springrestapitemplate.respositories;
+
+public interface UnverifiedUser {
+  Integer getId();
+
+  String getUsername();
+
+  String getEmail();
+}
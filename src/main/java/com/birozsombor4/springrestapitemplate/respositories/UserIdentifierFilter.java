@@ -0,0 +1,98 @@
+package com.birozsombor4.springrestapitemplate.respositories;
+
+import com.birozsombor4.springrestapitemplate.services.RegistrationConfig;
+import com.birozsombor4.springrestapitemplate.utils.BloomFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+public class UserIdentifierFilter implements MeterBinder {
+
+  private UserRepository userRepository;
+  private final boolean enabled;
+  private final BloomFilter bloomFilter;
+  private final AtomicLong skippedLookups = new AtomicLong();
+  private final AtomicLong queriedLookups = new AtomicLong();
+  private final AtomicLong falsePositives = new AtomicLong();
+  private volatile boolean ready;
+
+  @Autowired
+  public UserIdentifierFilter(UserRepository userRepository, RegistrationConfig registrationConfig) {
+    this.userRepository = userRepository;
+    this.enabled = registrationConfig.isBloomFilterEnabled();
+    this.bloomFilter = enabled ? new BloomFilter(registrationConfig.getBloomFilterExpectedUsers() * 2,
+        registrationConfig.getBloomFilterFalsePositiveRate()) : null;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void warmUp() {
+    if (!enabled) {
+      return;
+    }
+    try (Stream<UserIdentifiers> identifiers = userRepository.streamAllIdentifiers()) {
+      identifiers.forEach(userIdentifiers -> put(userIdentifiers.getUsername(), userIdentifiers.getEmail()));
+    }
+    ready = true;
+  }
+
+  public List<UserIdentifiers> findIdentifiersByUsernameOrEmail(String username, String email) {
+    if (ready && !mightContain("username:", username) && !mightContain("email:", email)) {
+      skippedLookups.incrementAndGet();
+      return Collections.emptyList();
+    }
+    List<UserIdentifiers> identifiers = userRepository.findIdentifiersByUsernameOrEmail(username, email);
+    if (ready) {
+      queriedLookups.incrementAndGet();
+      if (identifiers.isEmpty()) {
+        falsePositives.incrementAndGet();
+      }
+    }
+    return identifiers;
+  }
+
+  public void put(String username, String email) {
+    if (!enabled) {
+      return;
+    }
+    if (username != null) {
+      bloomFilter.put("username:" + username.toLowerCase(Locale.ROOT));
+    }
+    if (email != null) {
+      bloomFilter.put("email:" + email.toLowerCase(Locale.ROOT));
+    }
+  }
+
+  public double getFalsePositiveRate() {
+    long negatives = skippedLookups.get() + falsePositives.get();
+    return negatives == 0 ? 0 : (double) falsePositives.get() / negatives;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("registration.bloom.lookups", skippedLookups, AtomicLong::get)
+        .tag("result", "skipped").register(registry);
+    FunctionCounter.builder("registration.bloom.lookups", queriedLookups, AtomicLong::get)
+        .tag("result", "queried").register(registry);
+    FunctionCounter.builder("registration.bloom.false-positives", falsePositives, AtomicLong::get)
+        .register(registry);
+    Gauge.builder("registration.bloom.false-positive-rate", this, UserIdentifierFilter::getFalsePositiveRate)
+        .register(registry);
+  }
+
+  private boolean mightContain(String prefix, String value) {
+    return value != null && bloomFilter.mightContain(prefix + value.toLowerCase(Locale.ROOT));
+  }
+}
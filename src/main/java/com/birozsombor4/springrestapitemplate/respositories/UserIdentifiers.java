@@ -0,0 +1,8 @@
+package com.birozsombor4.springrestapitemplate.respositories;
+
+public interface UserIdentifiers {
+
+  String getUsername();
+
+  String getEmail();
+}
@@ -0,0 +1,107 @@
+package com.birozsombor4.springrestapitemplate.respositories;
+
+import com.birozsombor4.springrestapitemplate.models.daos.User;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+@Component
+public class UserIdentityMap {
+
+  private static final String REQUEST_ATTRIBUTE = UserIdentityMap.class.getName();
+
+  private UserRepository userRepository;
+
+  @Autowired
+  public UserIdentityMap(UserRepository userRepository) {
+    this.userRepository = userRepository;
+  }
+
+  public Optional<User> findByUsername(String username) {
+    return lookup("username:" + username, () -> userRepository.findByUsername(username));
+  }
+
+  public Optional<User> findByEmail(String email) {
+    return lookup("email:" + email, () -> userRepository.findByEmail(email));
+  }
+
+  public Optional<User> findById(Integer id) {
+    return lookup("id:" + id, () -> userRepository.findById(id));
+  }
+
+  public User save(User user) {
+    User savedUser = userRepository.save(user);
+    Map<String, Optional<User>> users = currentRequestUsers();
+    if (users != null) {
+      remember(users, savedUser);
+    }
+    return savedUser;
+  }
+
+  public boolean verifyByIdAndToken(Integer id, String verificationToken) {
+    if (userRepository.verifyByIdAndToken(id, verificationToken) == 0) {
+      return false;
+    }
+    evict(id);
+    return true;
+  }
+
+  public boolean verifyByToken(String verificationToken) {
+    if (userRepository.verifyByToken(verificationToken) == 0) {
+      return false;
+    }
+    Map<String, Optional<User>> users = currentRequestUsers();
+    if (users != null) {
+      users.values().removeIf(user -> user.isPresent() && !user.get().isVerified());
+    }
+    return true;
+  }
+
+  public void evict(Integer id) {
+    Map<String, Optional<User>> users = currentRequestUsers();
+    if (users != null) {
+      users.values().removeIf(user -> user.isPresent() && id.equals(user.get().getId()));
+    }
+  }
+
+  private Optional<User> lookup(String key, Supplier<Optional<User>> loader) {
+    Map<String, Optional<User>> users = currentRequestUsers();
+    if (users == null) {
+      return loader.get();
+    }
+    Optional<User> user = users.get(key);
+    if (user == null) {
+      user = loader.get();
+      users.put(key, user);
+      user.ifPresent(loadedUser -> remember(users, loadedUser));
+    }
+    return user;
+  }
+
+  private void remember(Map<String, Optional<User>> users, User user) {
+    Optional<User> entry = Optional.of(user);
+    users.put("id:" + user.getId(), entry);
+    users.put("username:" + user.getUsername(), entry);
+    users.put("email:" + user.getEmail(), entry);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Optional<User>> currentRequestUsers() {
+    RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+    if (requestAttributes == null) {
+      return null;
+    }
+    Map<String, Optional<User>> users = (Map<String, Optional<User>>) requestAttributes
+        .getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    if (users == null) {
+      users = new HashMap<>();
+      requestAttributes.setAttribute(REQUEST_ATTRIBUTE, users, RequestAttributes.SCOPE_REQUEST);
+    }
+    return users;
+  }
+}
@@ -1,8 +1,17 @@
 package com.birozsombor4.springrestapitemplate.respositories;
 
 import com.birozsombor4.springrestapitemplate.models.daos.User;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -10,4 +19,49 @@ public interface UserRepository extends CrudRepository<User, Integer> {
   Optional<User> findByUsername(String username);
 
   Optional<User> findByEmail(String email);
-}
\ No newline at end of file
+
+  @Query("SELECT u.username AS username, u.email AS email FROM User u "
+      + "WHERE u.username = :username OR u.email = :email")
+  List<UserIdentifiers> findIdentifiersByUsernameOrEmail(@Param("username") String username,
+                                                         @Param("email") String email);
+
+  @QueryHints({
+      @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"),
+      @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+  })
+  @Query("SELECT u.username AS username, u.email AS email FROM User u")
+  Stream<UserIdentifiers> streamAllIdentifiers();
+
+  @Query("SELECT u.id AS id, u.username AS username, u.email AS email FROM User u "
+      + "WHERE u.verified = false AND u.id > :afterId ORDER BY u.id")
+  List<UnverifiedUser> findUnverifiedAfter(@Param("afterId") int afterId, Pageable pageable);
+
+  @Query("SELECT COUNT(u) FROM User u WHERE u.verified = false AND u.id > :afterId")
+  long countUnverifiedAfter(@Param("afterId") int afterId);
+
+  @Query("SELECT u.tokenEpoch FROM User u WHERE u.id = :id")
+  Optional<Integer> findTokenEpochById(@Param("id") Integer id);
+
+  @Modifying
+  @Query("UPDATE User u SET u.tokenEpoch = u.tokenEpoch + 1 WHERE u.id = :id")
+  int incrementTokenEpoch(@Param("id") Integer id);
+
+  @Modifying
+  @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+  int updatePassword(@Param("id") Integer id, @Param("password") String password);
+
+  @Modifying
+  @Query("UPDATE User u SET u.verified = true WHERE u.id = :id AND u.verified = false AND EXISTS "
+      + "(SELECT t.id FROM VerificationToken t WHERE t.user.id = :id AND t.token = :token "
+      + "AND t.expiryDate > CURRENT_TIMESTAMP)")
+  int verifyByIdAndToken(@Param("id") Integer id, @Param("token") String token);
+
+  @Modifying
+  @Query("UPDATE User u SET u.verified = true WHERE u.verified = false AND u.id IN "
+      + "(SELECT t.user.id FROM VerificationToken t WHERE t.token = :token AND t.expiryDate > CURRENT_TIMESTAMP)")
+  int verifyByToken(@Param("token") String token);
+
+  @Modifying
+  @Query("DELETE FROM User u WHERE u.id IN :ids AND u.verified = false")
+  int deleteAllUnverifiedByIds(@Param("ids") Collection<Integer> ids);
+}
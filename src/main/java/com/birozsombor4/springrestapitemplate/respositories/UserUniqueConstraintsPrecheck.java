@@ -0,0 +1,61 @@
+package com.birozsombor4.springrestapitemplate.respositories;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserUniqueConstraintsPrecheck implements Callback {
+
+  public static final MigrationVersion UNIQUE_CONSTRAINTS_VERSION = MigrationVersion.fromVersion("0.0.5");
+  private static final int MAX_REPORTED_DUPLICATES = 20;
+
+  @Override
+  public boolean supports(Event event, Context context) {
+    return event == Event.BEFORE_EACH_MIGRATE && context.getMigrationInfo() != null
+        && UNIQUE_CONSTRAINTS_VERSION.equals(context.getMigrationInfo().getVersion());
+  }
+
+  @Override
+  public boolean canHandleInTransaction(Event event, Context context) {
+    return true;
+  }
+
+  @Override
+  public void handle(Event event, Context context) {
+    try {
+      List<String> duplicates = findDuplicates(context.getConnection(), "username");
+      duplicates.addAll(findDuplicates(context.getConnection(), "email"));
+      if (!duplicates.isEmpty()) {
+        throw new FlywayException("Cannot add unique constraints to users, duplicate values found: "
+            + String.join(", ", duplicates) + ". Merge or delete the duplicate accounts before migrating to version "
+            + UNIQUE_CONSTRAINTS_VERSION + " (see README: Upgrading to unique usernames and emails).");
+      }
+    } catch (SQLException e) {
+      throw new FlywayException("Unable to check users for duplicate usernames and emails", e);
+    }
+  }
+
+  private List<String> findDuplicates(Connection connection, String column) throws SQLException {
+    List<String> duplicates = new ArrayList<>();
+    try (Statement statement = connection.createStatement()) {
+      statement.setMaxRows(MAX_REPORTED_DUPLICATES);
+      try (ResultSet rows = statement.executeQuery("SELECT " + column + ", COUNT(*) FROM users GROUP BY " + column
+          + " HAVING COUNT(*) > 1 ORDER BY " + column)) {
+        while (rows.next()) {
+          duplicates.add(column + " '" + rows.getString(1) + "' (" + rows.getInt(2) + " rows)");
+        }
+      }
+    }
+    return duplicates;
+  }
+}
@@ -0,0 +1,46 @@
+package com.birozsombor4.springrestapitemplate.respositories;
+
+import com.birozsombor4.springrestapitemplate.models.daos.VerificationResendJob;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface VerificationResendJobRepository extends CrudRepository<VerificationResendJob, Long> {
+  Optional<VerificationResendJob> findFirstByOrderByIdDesc();
+
+  Optional<VerificationResendJob> findFirstByStatusOrderByIdAsc(String status);
+
+  @Query(value = "SELECT LOCALTIMESTAMP", nativeQuery = true)
+  LocalDateTime currentTimestamp();
+
+  @Transactional
+  @Modifying
+  @Query(value = "UPDATE verification_resend_jobs SET lease_owner = :owner, "
+      + "lease_until = TIMESTAMPADD(SECOND, :leaseSeconds, LOCALTIMESTAMP) WHERE id = :id AND status = :status "
+      + "AND (lease_until IS NULL OR lease_until < LOCALTIMESTAMP OR lease_owner = :owner)", nativeQuery = true)
+  int claim(@Param("id") Long id, @Param("owner") String owner, @Param("leaseSeconds") long leaseSeconds,
+            @Param("status") String status);
+
+  @Transactional
+  @Modifying
+  @Query(value = "UPDATE verification_resend_jobs SET last_user_id = :lastUserId, processed = processed + :count, "
+      + "updated_at = LOCALTIMESTAMP, lease_until = TIMESTAMPADD(SECOND, :leaseSeconds, LOCALTIMESTAMP) "
+      + "WHERE id = :id AND lease_owner = :owner AND status = :status", nativeQuery = true)
+  int checkpoint(@Param("id") Long id, @Param("owner") String owner, @Param("lastUserId") int lastUserId,
+                 @Param("count") long count, @Param("leaseSeconds") long leaseSeconds,
+                 @Param("status") String status);
+
+  @Transactional
+  @Modifying
+  @Query(value = "UPDATE verification_resend_jobs SET status = :status, updated_at = LOCALTIMESTAMP, "
+      + "running = NULL, lease_owner = NULL, lease_until = NULL WHERE id = :id AND status = :currentStatus",
+      nativeQuery = true)
+  int updateStatus(@Param("id") Long id, @Param("currentStatus") String currentStatus,
+                   @Param("status") String status);
+}
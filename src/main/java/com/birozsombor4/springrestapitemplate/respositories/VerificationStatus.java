@@ -0,0 +1,11 @@
+package com.birozsombor4.springrestapitemplate.respositories;
+
+public interface VerificationStatus {
+  Integer getUserId();
+
+  String getUsername();
+
+  boolean isVerified();
+
+  boolean isExpired();
+}
@@ -0,0 +1,34 @@
+package com.birozsombor4.springrestapitemplate.respositories;
+
+import com.birozsombor4.springrestapitemplate.models.daos.UuidBinaryConverter;
+import com.birozsombor4.springrestapitemplate.models.daos.VerificationToken;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class VerificationTokenBatchWriter {
+
+  private static final String UPDATE_TOKEN_SQL =
+      "UPDATE verification_tokens SET token = ?, expiry_date = ? WHERE user_id = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  public VerificationTokenBatchWriter(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public int[] replaceTokens(List<Integer> userIds, List<VerificationToken> verificationTokens) {
+    List<Object[]> arguments = new ArrayList<>(userIds.size());
+    for (int i = 0; i < userIds.size(); i++) {
+      VerificationToken verificationToken = verificationTokens.get(i);
+      arguments.add(new Object[] {UuidBinaryConverter.toBytes(verificationToken.getToken()),
+          Timestamp.valueOf(verificationToken.getExpiryDate()), userIds.get(i)});
+    }
+    return jdbcTemplate.batchUpdate(UPDATE_TOKEN_SQL, arguments);
+  }
+}
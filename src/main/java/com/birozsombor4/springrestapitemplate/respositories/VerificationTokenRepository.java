@@ -1,11 +1,42 @@
 package com.birozsombor4.springrestapitemplate.respositories;
 
 import com.birozsombor4.springrestapitemplate.models.daos.VerificationToken;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface VerificationTokenRepository extends CrudRepository<VerificationToken, Integer> {
   Optional<VerificationToken> findByToken(String token);
+
+  @Query("SELECT u.id AS userId, u.username AS username, u.verified AS verified, "
+      + "CASE WHEN t.expiryDate > CURRENT_TIMESTAMP THEN false ELSE true END AS expired "
+      + "FROM VerificationToken t JOIN t.user u WHERE t.token = :token")
+  Optional<VerificationStatus> findStatusByToken(@Param("token") String token);
+
+  @Query("SELECT u.username FROM VerificationToken t JOIN t.user u WHERE t.token = :token")
+  Optional<String> findUsernameByToken(@Param("token") String token);
+
+  @Query("SELECT t.id FROM VerificationToken t WHERE t.expiryDate < :now AND t.user.verified = true")
+  List<Integer> findExpiredIdsOfVerifiedUsers(@Param("now") LocalDateTime now, Pageable pageable);
+
+  @Query("SELECT t.user.id FROM VerificationToken t WHERE t.expiryDate < :expiredBefore AND t.user.verified = false")
+  List<Integer> findUserIdsOfStaleUnverifiedUsers(@Param("expiredBefore") LocalDateTime expiredBefore,
+                                                  Pageable pageable);
+
+  @Modifying
+  @Query("DELETE FROM VerificationToken t WHERE t.id IN :ids")
+  int deleteAllByIds(@Param("ids") Collection<Integer> ids);
+
+  @Modifying
+  @Query("DELETE FROM VerificationToken t WHERE t.user.id IN "
+      + "(SELECT u.id FROM User u WHERE u.id IN :userIds AND u.verified = false)")
+  int deleteAllOfUnverifiedUsers(@Param("userIds") Collection<Integer> userIds);
 }
@@ -0,0 +1,31 @@
+package com.birozsombor4.springrestapitemplate.security;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AdminConfig {
+
+  @Value("${security.admin-usernames}")
+  private List<String> usernames;
+
+  public AdminConfig() {
+  }
+
+  public AdminConfig(List<String> usernames) {
+    this.usernames = usernames;
+  }
+
+  public boolean isAdmin(String username) {
+    return username != null && usernames.contains(username);
+  }
+
+  public List<String> getUsernames() {
+    return usernames;
+  }
+
+  public void setUsernames(List<String> usernames) {
+    this.usernames = usernames;
+  }
+}
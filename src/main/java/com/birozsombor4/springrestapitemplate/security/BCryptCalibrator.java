@@ -0,0 +1,58 @@
+package com.birozsombor4.springrestapitemplate.security;
+
+import java.util.function.IntToLongFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+public class BCryptCalibrator {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BCryptCalibrator.class);
+  private static final String SAMPLE_PASSWORD = "calibrationPassword";
+  private static final int SAMPLES = 3;
+
+  private final IntToLongFunction hashTimer;
+
+  public BCryptCalibrator() {
+    this(BCryptCalibrator::measureEncodeMillis);
+  }
+
+  public BCryptCalibrator(IntToLongFunction hashTimer) {
+    this.hashTimer = hashTimer;
+  }
+
+  public int resolveStrength(PasswordHashingConfig config) {
+    if (config.getBcryptStrength() > 0) {
+      return config.getBcryptStrength();
+    }
+    int strength = calibrate(config.getBcryptTargetMillis(), config.getBcryptMinStrength(),
+        config.getBcryptMaxStrength());
+    LOGGER.info("BCrypt strength calibrated to {} for a target of {} ms", strength, config.getBcryptTargetMillis());
+    return strength;
+  }
+
+  public int calibrate(long targetMillis, int minStrength, int maxStrength) {
+    hashTimer.applyAsLong(minStrength);
+    int strength = minStrength;
+    long millis = hashTimer.applyAsLong(strength);
+    while (strength < maxStrength && millis * 2 <= targetMillis) {
+      strength++;
+      millis = hashTimer.applyAsLong(strength);
+    }
+    return strength;
+  }
+
+  private static long measureEncodeMillis(int strength) {
+    BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+    long fastest = Long.MAX_VALUE;
+    for (int i = 0; i < SAMPLES; i++) {
+      long startedAt = System.nanoTime();
+      encoder.encode(SAMPLE_PASSWORD);
+      fastest = Math.min(fastest, (System.nanoTime() - startedAt) / 1_000_000);
+      if (fastest > 100) {
+        break;
+      }
+    }
+    return fastest;
+  }
+}
@@ -0,0 +1,128 @@
+package com.birozsombor4.springrestapitemplate.security;
+
+import com.birozsombor4.springrestapitemplate.exceptions.PasswordHashingOverloadedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+public class BoundedPasswordEncoder implements PasswordEncoder, MeterBinder {
+
+  private final PasswordEncoder delegate;
+  private final ThreadPoolExecutor executor;
+  private final long timeoutMillis;
+  private final long retryAfterSeconds;
+  private final AtomicLong rejections = new AtomicLong();
+  private volatile Timer encodeTimer;
+  private volatile Timer matchesTimer;
+  private volatile Timer queueWaitTimer;
+
+  public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordHashingConfig config) {
+    this.delegate = delegate;
+    this.timeoutMillis = config.getTimeoutMillis();
+    this.retryAfterSeconds = config.getRetryAfterSeconds();
+    this.executor = new ThreadPoolExecutor(config.getPoolSize(), config.getPoolSize(), 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(config.getQueueCapacity()), hashingThreadFactory(),
+        new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  private static ThreadFactory hashingThreadFactory() {
+    AtomicInteger threadCounter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "password-hashing-" + threadCounter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return submit(() -> delegate.encode(rawPassword), encodeTimer);
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return submit(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  public int getQueueDepth() {
+    return executor.getQueue().size();
+  }
+
+  public long getRejections() {
+    return rejections.get();
+  }
+
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("password.hashing.queue.depth", this, BoundedPasswordEncoder::getQueueDepth).register(registry);
+    Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount).register(registry);
+    FunctionCounter.builder("password.hashing.rejected", rejections, AtomicLong::get).register(registry);
+    encodeTimer = Timer.builder("password.hashing.latency").tag("operation", "encode").register(registry);
+    matchesTimer = Timer.builder("password.hashing.latency").tag("operation", "matches").register(registry);
+    queueWaitTimer = Timer.builder("password.hashing.queue.wait").register(registry);
+  }
+
+  private <T> T submit(Callable<T> task, Timer latencyTimer) {
+    long submittedAt = System.nanoTime();
+    Future<T> future;
+    try {
+      future = executor.submit(() -> {
+        long startedAt = System.nanoTime();
+        record(queueWaitTimer, startedAt - submittedAt);
+        try {
+          return task.call();
+        } finally {
+          record(latencyTimer, System.nanoTime() - startedAt);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      rejections.incrementAndGet();
+      throw new PasswordHashingOverloadedException(retryAfterSeconds);
+    }
+    try {
+      return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      rejections.incrementAndGet();
+      throw new PasswordHashingOverloadedException(retryAfterSeconds);
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new PasswordHashingOverloadedException(retryAfterSeconds);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private void record(Timer timer, long nanos) {
+    if (timer != null) {
+      timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package com.birozsombor4.springrestapitemplate.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class JwtConfig {
+
+  @Value("${jwt.cache.enabled}")
+  private boolean cacheEnabled;
+  @Value("${jwt.cache.max-size}")
+  private int cacheMaxSize;
+  @Value("${jwt.cache.max-ttl-seconds}")
+  private long cacheMaxTtlSeconds;
+  @Value("${jwt.stateless-principal.enabled}")
+  private boolean statelessPrincipalEnabled;
+  @Value("${jwt.stateless-principal.epoch-refresh-seconds}")
+  private long epochRefreshSeconds;
+  @Value("${jwt.stateless-principal.epoch-cache-max-size}")
+  private int epochCacheMaxSize;
+  @Value("${jwt.access-token.validity-seconds}")
+  private long accessTokenValiditySeconds;
+  @Value("${jwt.refresh-token.validity-days}")
+  private long refreshTokenValidityDays;
+  @Value("${jwt.revocation.expected-per-bucket}")
+  private long revocationExpectedPerBucket;
+  @Value("${jwt.revocation.false-positive-rate}")
+  private double revocationFalsePositiveRate;
+
+  public JwtConfig() {
+  }
+
+  public JwtConfig(boolean cacheEnabled, int cacheMaxSize, long cacheMaxTtlSeconds) {
+    this.cacheEnabled = cacheEnabled;
+    this.cacheMaxSize = cacheMaxSize;
+    this.cacheMaxTtlSeconds = cacheMaxTtlSeconds;
+  }
+
+  public boolean isCacheEnabled() {
+    return cacheEnabled;
+  }
+
+  public void setCacheEnabled(boolean cacheEnabled) {
+    this.cacheEnabled = cacheEnabled;
+  }
+
+  public int getCacheMaxSize() {
+    return cacheMaxSize;
+  }
+
+  public void setCacheMaxSize(int cacheMaxSize) {
+    this.cacheMaxSize = cacheMaxSize;
+  }
+
+  public long getCacheMaxTtlSeconds() {
+    return cacheMaxTtlSeconds;
+  }
+
+  public void setCacheMaxTtlSeconds(long cacheMaxTtlSeconds) {
+    this.cacheMaxTtlSeconds = cacheMaxTtlSeconds;
+  }
+
+  public boolean isStatelessPrincipalEnabled() {
+    return statelessPrincipalEnabled;
+  }
+
+  public void setStatelessPrincipalEnabled(boolean statelessPrincipalEnabled) {
+    this.statelessPrincipalEnabled = statelessPrincipalEnabled;
+  }
+
+  public long getEpochRefreshSeconds() {
+    return epochRefreshSeconds;
+  }
+
+  public void setEpochRefreshSeconds(long epochRefreshSeconds) {
+    this.epochRefreshSeconds = epochRefreshSeconds;
+  }
+
+  public int getEpochCacheMaxSize() {
+    return epochCacheMaxSize;
+  }
+
+  public void setEpochCacheMaxSize(int epochCacheMaxSize) {
+    this.epochCacheMaxSize = epochCacheMaxSize;
+  }
+
+  public long getRevocationExpectedPerBucket() {
+    return revocationExpectedPerBucket;
+  }
+
+  public void setRevocationExpectedPerBucket(long revocationExpectedPerBucket) {
+    this.revocationExpectedPerBucket = revocationExpectedPerBucket;
+  }
+
+  public double getRevocationFalsePositiveRate() {
+    return revocationFalsePositiveRate;
+  }
+
+  public void setRevocationFalsePositiveRate(double revocationFalsePositiveRate) {
+    this.revocationFalsePositiveRate = revocationFalsePositiveRate;
+  }
+
+  public long getAccessTokenValiditySeconds() {
+    return accessTokenValiditySeconds;
+  }
+
+  public void setAccessTokenValiditySeconds(long accessTokenValiditySeconds) {
+    this.accessTokenValiditySeconds = accessTokenValiditySeconds;
+  }
+
+  public long getRefreshTokenValidityDays() {
+    return refreshTokenValidityDays;
+  }
+
+  public void setRefreshTokenValidityDays(long refreshTokenValidityDays) {
+    this.refreshTokenValidityDays = refreshTokenValidityDays;
+  }
+}
@@ -0,0 +1,82 @@
+package com.birozsombor4.springrestapitemplate.security;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+public final class JwtPrincipal implements UserDetails {
+
+  private final Integer id;
+  private final String username;
+  private final boolean verified;
+  private final Integer tokenEpoch;
+  private final List<GrantedAuthority> authorities;
+
+  public JwtPrincipal(Integer id, String username, boolean verified) {
+    this(id, username, verified, null, Collections.emptyList());
+  }
+
+  public JwtPrincipal(Integer id, String username, boolean verified, Integer tokenEpoch,
+                      Collection<? extends GrantedAuthority> authorities) {
+    this.id = id;
+    this.username = username;
+    this.verified = verified;
+    this.tokenEpoch = tokenEpoch;
+    this.authorities = Collections.unmodifiableList(new ArrayList<>(authorities));
+  }
+
+  public static JwtPrincipal snapshotOf(UserDetailsImpl userDetails) {
+    return new JwtPrincipal(userDetails.getId(), userDetails.getUsername(), userDetails.isVerified(),
+        userDetails.getTokenEpoch(), userDetails.getAuthorities());
+  }
+
+  public Integer getId() {
+    return id;
+  }
+
+  public boolean isVerified() {
+    return verified;
+  }
+
+  public Integer getTokenEpoch() {
+    return tokenEpoch;
+  }
+
+  @Override
+  public Collection<? extends GrantedAuthority> getAuthorities() {
+    return authorities;
+  }
+
+  @Override
+  public String getPassword() {
+    return null;
+  }
+
+  @Override
+  public String getUsername() {
+    return username;
+  }
+
+  @Override
+  public boolean isAccountNonExpired() {
+    return true;
+  }
+
+  @Override
+  public boolean isAccountNonLocked() {
+    return true;
+  }
+
+  @Override
+  public boolean isCredentialsNonExpired() {
+    return true;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+}
@@ -0,0 +1,86 @@
+package com.birozsombor4.springrestapitemplate.security;
+
+import com.birozsombor4.springrestapitemplate.exceptions.LoginThrottledException;
+import com.birozsombor4.springrestapitemplate.utils.KeyedRateLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LoginThrottle implements MeterBinder {
+
+  private final boolean enabled;
+  private final boolean ipEnabled;
+  private final KeyedRateLimiter usernameLimiter;
+  private final KeyedRateLimiter ipLimiter;
+  private final AtomicLong usernameRejections = new AtomicLong();
+  private final AtomicLong ipRejections = new AtomicLong();
+
+  @Autowired
+  public LoginThrottle(LoginThrottleConfig config) {
+    this(config, new KeyedRateLimiter(config.getUsernameCapacity(), config.getUsernameRefillPerMinute(),
+        config.getMaxKeys()), new KeyedRateLimiter(config.getIpCapacity(), config.getIpRefillPerMinute(),
+        config.getMaxKeys()));
+  }
+
+  public LoginThrottle(LoginThrottleConfig config, KeyedRateLimiter usernameLimiter, KeyedRateLimiter ipLimiter) {
+    this.enabled = config.isEnabled();
+    this.ipEnabled = config.isIpEnabled();
+    this.usernameLimiter = usernameLimiter;
+    this.ipLimiter = ipLimiter;
+  }
+
+  public void checkAllowed(String username, String clientIp) {
+    if (!enabled) {
+      return;
+    }
+    if (ipEnabled) {
+      long waitNanos = ipLimiter.tryAcquire(clientIp);
+      if (waitNanos > 0) {
+        ipRejections.incrementAndGet();
+        throw new LoginThrottledException(toRetryAfterSeconds(waitNanos));
+      }
+    }
+    long waitNanos = usernameLimiter.tryAcquire(toUsernameKey(username));
+    if (waitNanos > 0) {
+      usernameRejections.incrementAndGet();
+      throw new LoginThrottledException(toRetryAfterSeconds(waitNanos));
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${login.throttle.eviction-interval-millis}")
+  public void evictIdleKeys() {
+    usernameLimiter.evictIdle();
+    ipLimiter.evictIdle();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("login.throttle.rejected", usernameRejections, AtomicLong::get)
+        .tag("key", "username").register(registry);
+    FunctionCounter.builder("login.throttle.rejected", ipRejections, AtomicLong::get)
+        .tag("key", "ip").register(registry);
+    FunctionCounter.builder("login.throttle.overflow", usernameLimiter, KeyedRateLimiter::overflows)
+        .tag("key", "username").register(registry);
+    FunctionCounter.builder("login.throttle.overflow", ipLimiter, KeyedRateLimiter::overflows)
+        .tag("key", "ip").register(registry);
+    Gauge.builder("login.throttle.keys", usernameLimiter, KeyedRateLimiter::size).tag("key", "username")
+        .register(registry);
+    Gauge.builder("login.throttle.keys", ipLimiter, KeyedRateLimiter::size).tag("key", "ip").register(registry);
+  }
+
+  private String toUsernameKey(String username) {
+    return username == null ? "" : username.toLowerCase(Locale.ROOT);
+  }
+
+  private long toRetryAfterSeconds(long waitNanos) {
+    return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+  }
+}
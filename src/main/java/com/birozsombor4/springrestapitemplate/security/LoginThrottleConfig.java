@@ -0,0 +1,93 @@
+package com.birozsombor4.springrestapitemplate.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LoginThrottleConfig {
+
+  @Value("${login.throttle.enabled}")
+  private boolean enabled;
+  @Value("${login.throttle.username.capacity}")
+  private int usernameCapacity;
+  @Value("${login.throttle.username.refill-per-minute}")
+  private int usernameRefillPerMinute;
+  @Value("${login.throttle.ip.enabled}")
+  private boolean ipEnabled;
+  @Value("${login.throttle.ip.capacity}")
+  private int ipCapacity;
+  @Value("${login.throttle.ip.refill-per-minute}")
+  private int ipRefillPerMinute;
+  @Value("${login.throttle.max-keys}")
+  private int maxKeys;
+
+  public LoginThrottleConfig() {
+  }
+
+  public LoginThrottleConfig(boolean enabled, int usernameCapacity, int usernameRefillPerMinute, boolean ipEnabled,
+                             int ipCapacity, int ipRefillPerMinute, int maxKeys) {
+    this.enabled = enabled;
+    this.usernameCapacity = usernameCapacity;
+    this.usernameRefillPerMinute = usernameRefillPerMinute;
+    this.ipEnabled = ipEnabled;
+    this.ipCapacity = ipCapacity;
+    this.ipRefillPerMinute = ipRefillPerMinute;
+    this.maxKeys = maxKeys;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public int getUsernameCapacity() {
+    return usernameCapacity;
+  }
+
+  public void setUsernameCapacity(int usernameCapacity) {
+    this.usernameCapacity = usernameCapacity;
+  }
+
+  public int getUsernameRefillPerMinute() {
+    return usernameRefillPerMinute;
+  }
+
+  public void setUsernameRefillPerMinute(int usernameRefillPerMinute) {
+    this.usernameRefillPerMinute = usernameRefillPerMinute;
+  }
+
+  public boolean isIpEnabled() {
+    return ipEnabled;
+  }
+
+  public void setIpEnabled(boolean ipEnabled) {
+    this.ipEnabled = ipEnabled;
+  }
+
+  public int getIpCapacity() {
+    return ipCapacity;
+  }
+
+  public void setIpCapacity(int ipCapacity) {
+    this.ipCapacity = ipCapacity;
+  }
+
+  public int getIpRefillPerMinute() {
+    return ipRefillPerMinute;
+  }
+
+  public void setIpRefillPerMinute(int ipRefillPerMinute) {
+    this.ipRefillPerMinute = ipRefillPerMinute;
+  }
+
+  public int getMaxKeys() {
+    return maxKeys;
+  }
+
+  public void setMaxKeys(int maxKeys) {
+    this.maxKeys = maxKeys;
+  }
+}
@@ -0,0 +1,99 @@
+package com.birozsombor4.springrestapitemplate.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PasswordHashingConfig {
+
+  @Value("${password.hashing.pool-size}")
+  private int poolSize;
+  @Value("${password.hashing.queue-capacity}")
+  private int queueCapacity;
+  @Value("${password.hashing.timeout-millis}")
+  private long timeoutMillis;
+  @Value("${password.hashing.retry-after-seconds}")
+  private long retryAfterSeconds;
+  @Value("${password.hashing.bcrypt.strength}")
+  private int bcryptStrength;
+  @Value("${password.hashing.bcrypt.target-millis}")
+  private long bcryptTargetMillis;
+  @Value("${password.hashing.bcrypt.min-strength}")
+  private int bcryptMinStrength;
+  @Value("${password.hashing.bcrypt.max-strength}")
+  private int bcryptMaxStrength;
+
+  public PasswordHashingConfig() {
+  }
+
+  public PasswordHashingConfig(int poolSize, int queueCapacity, long timeoutMillis, long retryAfterSeconds) {
+    this.poolSize = poolSize;
+    this.queueCapacity = queueCapacity;
+    this.timeoutMillis = timeoutMillis;
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  public int getPoolSize() {
+    return poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+  }
+
+  public void setPoolSize(int poolSize) {
+    this.poolSize = poolSize;
+  }
+
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  public void setQueueCapacity(int queueCapacity) {
+    this.queueCapacity = queueCapacity;
+  }
+
+  public long getTimeoutMillis() {
+    return timeoutMillis;
+  }
+
+  public void setTimeoutMillis(long timeoutMillis) {
+    this.timeoutMillis = timeoutMillis;
+  }
+
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+
+  public void setRetryAfterSeconds(long retryAfterSeconds) {
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  public int getBcryptStrength() {
+    return bcryptStrength;
+  }
+
+  public void setBcryptStrength(int bcryptStrength) {
+    this.bcryptStrength = bcryptStrength;
+  }
+
+  public long getBcryptTargetMillis() {
+    return bcryptTargetMillis;
+  }
+
+  public void setBcryptTargetMillis(long bcryptTargetMillis) {
+    this.bcryptTargetMillis = bcryptTargetMillis;
+  }
+
+  public int getBcryptMinStrength() {
+    return bcryptMinStrength;
+  }
+
+  public void setBcryptMinStrength(int bcryptMinStrength) {
+    this.bcryptMinStrength = bcryptMinStrength;
+  }
+
+  public int getBcryptMaxStrength() {
+    return bcryptMaxStrength;
+  }
+
+  public void setBcryptMaxStrength(int bcryptMaxStrength) {
+    this.bcryptMaxStrength = bcryptMaxStrength;
+  }
+}
@@ -1,8 +1,10 @@
 package com.birozsombor4.springrestapitemplate.security;
 
+import com.birozsombor4.springrestapitemplate.controllers.VerificationResendEndpoint;
 import com.birozsombor4.springrestapitemplate.filters.ExceptionHandlerFilter;
 import com.birozsombor4.springrestapitemplate.filters.JwtRequestFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
@@ -12,7 +14,6 @@ import org.springframework.security.config.annotation.web.configuration.WebSecur
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @EnableWebSecurity
@@ -40,10 +41,14 @@ public class SecurityConfigurer extends WebSecurityConfigurerAdapter {
   protected void configure(HttpSecurity http) throws Exception {
     http.csrf().disable()
         .authorizeRequests()
-        .antMatchers("/login", "/register", "/verify").permitAll()
+        .antMatchers("/login", "/register", "/verify", "/token/refresh").permitAll()
+        .requestMatchers(EndpointRequest.to(VerificationResendEndpoint.class))
+        .access("@adminConfig.isAdmin(authentication.name)")
         .anyRequest().authenticated()
         .and()
-        .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS);
+        .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+        .and()
+        .logout().disable();
     http.addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
     http.addFilterBefore(exceptionHandlerFilter, JwtRequestFilter.class);
   }
@@ -55,7 +60,8 @@ public class SecurityConfigurer extends WebSecurityConfigurerAdapter {
   }
 
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public BoundedPasswordEncoder passwordEncoder(PasswordHashingConfig passwordHashingConfig) {
+    int strength = new BCryptCalibrator().resolveStrength(passwordHashingConfig);
+    return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), passwordHashingConfig);
   }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.birozsombor4.springrestapitemplate.security;
+
+import com.birozsombor4.springrestapitemplate.respositories.UserIdentityMap;
+import com.birozsombor4.springrestapitemplate.respositories.UserRepository;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+public class TokenEpochRegistry {
+
+  private final UserRepository userRepository;
+  private final UserIdentityMap userIdentityMap;
+  private final long refreshMillis;
+  private final int maxSize;
+  private final LinkedHashMap<Integer, CachedEpoch> epochs = new LinkedHashMap<Integer, CachedEpoch>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Integer, CachedEpoch> eldest) {
+      return size() > maxSize;
+    }
+  };
+
+  @Autowired
+  public TokenEpochRegistry(UserRepository userRepository, UserIdentityMap userIdentityMap, JwtConfig jwtConfig) {
+    this.userRepository = userRepository;
+    this.userIdentityMap = userIdentityMap;
+    this.refreshMillis = TimeUnit.SECONDS.toMillis(jwtConfig.getEpochRefreshSeconds());
+    this.maxSize = jwtConfig.getEpochCacheMaxSize();
+  }
+
+  public Integer getCurrentEpoch(Integer userId) {
+    long now = System.currentTimeMillis();
+    CachedEpoch cachedEpoch;
+    synchronized (epochs) {
+      cachedEpoch = epochs.get(userId);
+    }
+    if (cachedEpoch == null || cachedEpoch.loadedAt + refreshMillis < now) {
+      cachedEpoch = new CachedEpoch(userRepository.findTokenEpochById(userId).orElse(null), now);
+      if (maxSize > 0) {
+        synchronized (epochs) {
+          epochs.put(userId, cachedEpoch);
+        }
+      }
+    }
+    return cachedEpoch.epoch;
+  }
+
+  public int size() {
+    synchronized (epochs) {
+      return epochs.size();
+    }
+  }
+
+  @Transactional
+  public void revokeAllTokens(Integer userId) {
+    userRepository.incrementTokenEpoch(userId);
+    synchronized (epochs) {
+      epochs.remove(userId);
+    }
+    userIdentityMap.evict(userId);
+  }
+
+  private static class CachedEpoch {
+
+    private final Integer epoch;
+    private final long loadedAt;
+
+    private CachedEpoch(Integer epoch, long loadedAt) {
+      this.epoch = epoch;
+      this.loadedAt = loadedAt;
+    }
+  }
+}
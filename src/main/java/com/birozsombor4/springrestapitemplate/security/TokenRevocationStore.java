@@ -0,0 +1,123 @@
+package com.birozsombor4.springrestapitemplate.security;
+
+import com.birozsombor4.springrestapitemplate.models.daos.RevokedToken;
+import com.birozsombor4.springrestapitemplate.respositories.RevokedTokenRepository;
+import com.birozsombor4.springrestapitemplate.utils.BloomFilter;
+import com.birozsombor4.springrestapitemplate.utils.ParsedJwt;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TokenRevocationStore implements MeterBinder {
+
+  private static final long BUCKET_MILLIS = TimeUnit.HOURS.toMillis(1);
+  private static final long COMMIT_LAG_SECONDS = 60;
+
+  private final RevokedTokenRepository revokedTokenRepository;
+  private final long expectedPerBucket;
+  private final double falsePositiveRate;
+  private final Map<Long, BloomFilter> buckets = new ConcurrentHashMap<>();
+  private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+  private final AtomicLong bloomFalsePositives = new AtomicLong();
+  private volatile LocalDateTime lastSynchronized;
+
+  @Autowired
+  public TokenRevocationStore(RevokedTokenRepository revokedTokenRepository, JwtConfig jwtConfig) {
+    this.revokedTokenRepository = revokedTokenRepository;
+    this.expectedPerBucket = jwtConfig.getRevocationExpectedPerBucket();
+    this.falsePositiveRate = jwtConfig.getRevocationFalsePositiveRate();
+  }
+
+  @PostConstruct
+  public void loadRevokedTokens() {
+    LocalDateTime now = revokedTokenRepository.currentTimestamp();
+    revokedTokenRepository.findAllByExpiresAtAfter(now).forEach(this::remember);
+    lastSynchronized = now;
+  }
+
+  public boolean isRevoked(ParsedJwt parsedJwt) {
+    String tokenId = parsedJwt.getTokenId();
+    if (tokenId == null || revokedTokens.isEmpty()) {
+      return false;
+    }
+    BloomFilter filter = buckets.get(parsedJwt.getExpiration().getTime() / BUCKET_MILLIS);
+    if (filter == null || !filter.mightContain(tokenId)) {
+      return false;
+    }
+    if (revokedTokens.containsKey(tokenId)) {
+      return true;
+    }
+    bloomFalsePositives.incrementAndGet();
+    return false;
+  }
+
+  public boolean revoke(ParsedJwt parsedJwt) {
+    if (parsedJwt.getTokenId() == null || parsedJwt.isExpired()) {
+      return false;
+    }
+    RevokedToken revokedToken = new RevokedToken(parsedJwt.getTokenId(),
+        toLocalDateTime(parsedJwt.getExpiration().getTime()), revokedTokenRepository.currentTimestamp());
+    revokedTokenRepository.save(revokedToken);
+    remember(revokedToken);
+    return true;
+  }
+
+  @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-millis}")
+  public void synchronize() {
+    LocalDateTime now = revokedTokenRepository.currentTimestamp();
+    LocalDateTime since = lastSynchronized.minusSeconds(COMMIT_LAG_SECONDS);
+    revokedTokenRepository.findAllByRevokedAtAfterAndExpiresAtAfter(since, now).forEach(this::remember);
+    lastSynchronized = now;
+    purgeExpired(toEpochMillis(now));
+    revokedTokenRepository.deleteExpired(now);
+  }
+
+  public int size() {
+    return revokedTokens.size();
+  }
+
+  public long getBloomFalsePositives() {
+    return bloomFalsePositives.get();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("jwt.revocation.size", this, TokenRevocationStore::size).register(registry);
+    FunctionCounter.builder("jwt.revocation.bloom.false-positives", bloomFalsePositives, AtomicLong::get)
+        .register(registry);
+  }
+
+  private synchronized void remember(RevokedToken revokedToken) {
+    long expiresAt = toEpochMillis(revokedToken.getExpiresAt());
+    buckets.computeIfAbsent(expiresAt / BUCKET_MILLIS, period -> new BloomFilter(expectedPerBucket, falsePositiveRate))
+        .put(revokedToken.getTokenId());
+    revokedTokens.put(revokedToken.getTokenId(), expiresAt);
+  }
+
+  private synchronized void purgeExpired(long now) {
+    long currentPeriod = now / BUCKET_MILLIS;
+    buckets.keySet().removeIf(period -> period < currentPeriod);
+    revokedTokens.values().removeIf(expiresAt -> expiresAt < now);
+  }
+
+  private long toEpochMillis(LocalDateTime dateTime) {
+    return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+
+  private LocalDateTime toLocalDateTime(long epochMillis) {
+    return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+  }
+}
@@ -14,10 +14,22 @@ public class UserDetailsImpl implements UserDetails {
     this.user = user;
   }
 
+  public User getUser() {
+    return user;
+  }
+
   public Integer getId() {
     return user.getId();
   }
 
+  public boolean isVerified() {
+    return user.isVerified();
+  }
+
+  public int getTokenEpoch() {
+    return user.getTokenEpoch();
+  }
+
   @Override
   public Collection<? extends GrantedAuthority> getAuthorities() {
     return new ArrayList<>();
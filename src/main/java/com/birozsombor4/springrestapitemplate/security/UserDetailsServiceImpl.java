@@ -1,31 +1,46 @@
 package com.birozsombor4.springrestapitemplate.security;
 
 import com.birozsombor4.springrestapitemplate.models.daos.User;
+import com.birozsombor4.springrestapitemplate.respositories.UserIdentityMap;
 import com.birozsombor4.springrestapitemplate.respositories.UserRepository;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Primary;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @Primary
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
   private UserRepository userRepository;
+  private UserIdentityMap userIdentityMap;
 
   @Autowired
-  public UserDetailsServiceImpl(UserRepository userRepository) {
+  public UserDetailsServiceImpl(UserRepository userRepository,
+                                UserIdentityMap userIdentityMap) {
     this.userRepository = userRepository;
+    this.userIdentityMap = userIdentityMap;
   }
 
   @Override
   public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-    Optional<User> optionalUser = userRepository.findByUsername(username);
+    Optional<User> optionalUser = userIdentityMap.findByUsername(username);
     User user = optionalUser.orElseThrow(
         () -> new UsernameNotFoundException("User not found with given username: " + username));
     return new UserDetailsImpl(user);
   }
-}
\ No newline at end of file
+
+  @Override
+  @Transactional
+  public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+    User user = ((UserDetailsImpl) userDetails).getUser();
+    userRepository.updatePassword(user.getId(), newPassword);
+    user.setPassword(newPassword);
+    return userDetails;
+  }
+}
@@ -0,0 +1,38 @@
+package com.birozsombor4.springrestapitemplate.security;
+
+import java.time.Instant;
+
+public class VerificationLink {
+
+  private final int userId;
+  private final String username;
+  private final long expiresAtSeconds;
+  private final String token;
+
+  public VerificationLink(int userId, String username, long expiresAtSeconds, String token) {
+    this.userId = userId;
+    this.username = username;
+    this.expiresAtSeconds = expiresAtSeconds;
+    this.token = token;
+  }
+
+  public int getUserId() {
+    return userId;
+  }
+
+  public String getUsername() {
+    return username;
+  }
+
+  public long getExpiresAtSeconds() {
+    return expiresAtSeconds;
+  }
+
+  public String getToken() {
+    return token;
+  }
+
+  public boolean isExpired() {
+    return Instant.now().getEpochSecond() >= expiresAtSeconds;
+  }
+}
@@ -0,0 +1,125 @@
+package com.birozsombor4.springrestapitemplate.security;
+
+import com.birozsombor4.springrestapitemplate.exceptions.VerificationTokenDoesNotExistException;
+import com.birozsombor4.springrestapitemplate.models.daos.UuidBinaryConverter;
+import com.birozsombor4.springrestapitemplate.models.daos.VerificationToken;
+import com.birozsombor4.springrestapitemplate.services.RegistrationConfig;
+import io.jsonwebtoken.impl.TextCodec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class VerificationLinkSigner {
+
+  private static final String MAC_ALGORITHM = "HmacSHA256";
+  private static final byte[] KEY_PURPOSE = "verification-link".getBytes(StandardCharsets.UTF_8);
+  private static final byte LEGACY_VERSION = 1;
+  private static final byte VERSION = 2;
+  private static final int HEADER_LENGTH = 1 + Integer.BYTES + Long.BYTES + 16;
+  private static final int SIGNATURE_LENGTH = 16;
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private final boolean enabled;
+  private final ThreadLocal<Mac> macs;
+
+  @Autowired
+  public VerificationLinkSigner(RegistrationConfig registrationConfig) {
+    this(registrationConfig.isSignedVerificationLinksEnabled(), registrationConfig.getSignedVerificationLinksSecret());
+  }
+
+  public VerificationLinkSigner(boolean enabled, String secret) {
+    boolean hasSecret = secret != null && !secret.isEmpty();
+    if (enabled && !hasSecret) {
+      throw new IllegalStateException("Signed verification links require registration.signed-verification-links"
+          + ".secret to be set.");
+    }
+    this.enabled = enabled;
+    if (hasSecret) {
+      byte[] linkKey = createMac(TextCodec.BASE64.decode(secret)).doFinal(KEY_PURPOSE);
+      this.macs = ThreadLocal.withInitial(() -> createMac(linkKey));
+    } else {
+      this.macs = null;
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public String encode(Integer userId, String username, VerificationToken verificationToken) {
+    if (!enabled) {
+      return verificationToken.getToken();
+    }
+    long expiresAtSeconds = verificationToken.getExpiryDate().atZone(ZoneId.systemDefault()).toEpochSecond();
+    byte[] usernameBytes = username.getBytes(StandardCharsets.UTF_8);
+    byte[] payload = ByteBuffer.allocate(HEADER_LENGTH + usernameBytes.length)
+        .put(VERSION)
+        .putInt(userId)
+        .putLong(expiresAtSeconds)
+        .put(UuidBinaryConverter.toBytes(verificationToken.getToken()))
+        .put(usernameBytes)
+        .array();
+    return ENCODER.encodeToString(payload) + '.' + ENCODER.encodeToString(sign(payload));
+  }
+
+  public VerificationLink parse(String token) {
+    int separator = token.indexOf('.');
+    if (separator < 0) {
+      return null;
+    }
+    if (macs == null) {
+      throw new VerificationTokenDoesNotExistException();
+    }
+    byte[] payload;
+    byte[] signature;
+    try {
+      payload = DECODER.decode(token.substring(0, separator));
+      signature = DECODER.decode(token.substring(separator + 1));
+    } catch (IllegalArgumentException e) {
+      throw new VerificationTokenDoesNotExistException();
+    }
+    if (!isSupportedPayload(payload) || !MessageDigest.isEqual(sign(payload), signature)) {
+      throw new VerificationTokenDoesNotExistException();
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(payload, 1, HEADER_LENGTH - 1);
+    int userId = buffer.getInt();
+    long expiresAtSeconds = buffer.getLong();
+    byte[] nonce = new byte[16];
+    buffer.get(nonce);
+    String username = payload[0] == VERSION
+        ? new String(payload, HEADER_LENGTH, payload.length - HEADER_LENGTH, StandardCharsets.UTF_8) : null;
+    return new VerificationLink(userId, username, expiresAtSeconds, UuidBinaryConverter.fromBytes(nonce));
+  }
+
+  private boolean isSupportedPayload(byte[] payload) {
+    if (payload.length == HEADER_LENGTH && payload[0] == LEGACY_VERSION) {
+      return true;
+    }
+    return payload.length > HEADER_LENGTH && payload[0] == VERSION;
+  }
+
+  private byte[] sign(byte[] payload) {
+    return Arrays.copyOf(macs.get().doFinal(payload), SIGNATURE_LENGTH);
+  }
+
+  private static Mac createMac(byte[] key) {
+    try {
+      Mac mac = Mac.getInstance(MAC_ALGORITHM);
+      mac.init(new SecretKeySpec(key, MAC_ALGORITHM));
+      return mac;
+    } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
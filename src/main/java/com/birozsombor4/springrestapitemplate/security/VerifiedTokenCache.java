@@ -0,0 +1,164 @@
+package com.birozsombor4.springrestapitemplate.security;
+
+import com.birozsombor4.springrestapitemplate.utils.ParsedJwt;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+  private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  });
+
+  private final boolean enabled;
+  private final long maxTtlMillis;
+  private final Map<ByteBuffer, Entry> entries;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private final AtomicLong expirations = new AtomicLong();
+
+  @Autowired
+  public VerifiedTokenCache(JwtConfig jwtConfig) {
+    this.enabled = jwtConfig.isCacheEnabled();
+    this.maxTtlMillis = TimeUnit.SECONDS.toMillis(jwtConfig.getCacheMaxTtlSeconds());
+    int maxSize = jwtConfig.getCacheMaxSize();
+    this.entries = new LinkedHashMap<ByteBuffer, VerifiedTokenCache.Entry>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<ByteBuffer, VerifiedTokenCache.Entry> eldest) {
+        if (size() > maxSize) {
+          evictions.incrementAndGet();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  public Entry get(String token) {
+    if (!enabled) {
+      return null;
+    }
+    ByteBuffer key = digest(token);
+    long now = System.currentTimeMillis();
+    synchronized (entries) {
+      Entry entry = entries.get(key);
+      if (entry != null && entry.expiresAt > now) {
+        hits.incrementAndGet();
+        return entry;
+      }
+      if (entry != null) {
+        entries.remove(key);
+        expirations.incrementAndGet();
+      }
+    }
+    misses.incrementAndGet();
+    return null;
+  }
+
+  public void put(ParsedJwt parsedJwt, UserDetails userDetails) {
+    if (!enabled) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    long expiresAt = Math.min(parsedJwt.getExpiration().getTime(), now + maxTtlMillis);
+    if (expiresAt <= now) {
+      return;
+    }
+    ByteBuffer key = digest(parsedJwt.getToken());
+    synchronized (entries) {
+      entries.put(key, new Entry(parsedJwt, snapshotOf(userDetails), expiresAt));
+    }
+  }
+
+  public void invalidate(String token) {
+    if (!enabled) {
+      return;
+    }
+    ByteBuffer key = digest(token);
+    synchronized (entries) {
+      entries.remove(key);
+    }
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  public long getEvictions() {
+    return evictions.get();
+  }
+
+  public long getExpirations() {
+    return expirations.get();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("jwt.cache.hits", hits, AtomicLong::get).register(registry);
+    FunctionCounter.builder("jwt.cache.misses", misses, AtomicLong::get).register(registry);
+    FunctionCounter.builder("jwt.cache.evictions", evictions, AtomicLong::get).register(registry);
+    FunctionCounter.builder("jwt.cache.expirations", expirations, AtomicLong::get).register(registry);
+    Gauge.builder("jwt.cache.size", this, VerifiedTokenCache::size).register(registry);
+  }
+
+  private UserDetails snapshotOf(UserDetails userDetails) {
+    if (userDetails instanceof UserDetailsImpl) {
+      return JwtPrincipal.snapshotOf((UserDetailsImpl) userDetails);
+    }
+    return userDetails;
+  }
+
+  private ByteBuffer digest(String token) {
+    return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  public static class Entry {
+
+    private final ParsedJwt parsedJwt;
+    private final UserDetails userDetails;
+    private final long expiresAt;
+
+    private Entry(ParsedJwt parsedJwt, UserDetails userDetails, long expiresAt) {
+      this.parsedJwt = parsedJwt;
+      this.userDetails = userDetails;
+      this.expiresAt = expiresAt;
+    }
+
+    public ParsedJwt getParsedJwt() {
+      return parsedJwt;
+    }
+
+    public UserDetails getUserDetails() {
+      return userDetails;
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package com.birozsombor4.springrestapitemplate.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AccountCleanupConfig {
+
+  @Value("${cleanup.enabled}")
+  private boolean enabled;
+  @Value("${cleanup.batch-size}")
+  private int batchSize;
+  @Value("${cleanup.pause-millis}")
+  private long pauseMillis;
+  @Value("${cleanup.stale-unverified-days}")
+  private int staleUnverifiedDays;
+  @Value("${cleanup.lease-millis}")
+  private long leaseMillis;
+
+  public AccountCleanupConfig() {
+  }
+
+  public AccountCleanupConfig(boolean enabled, int batchSize, long pauseMillis, int staleUnverifiedDays,
+                              long leaseMillis) {
+    this.enabled = enabled;
+    this.batchSize = batchSize;
+    this.pauseMillis = pauseMillis;
+    this.staleUnverifiedDays = staleUnverifiedDays;
+    this.leaseMillis = leaseMillis;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public long getPauseMillis() {
+    return pauseMillis;
+  }
+
+  public void setPauseMillis(long pauseMillis) {
+    this.pauseMillis = pauseMillis;
+  }
+
+  public int getStaleUnverifiedDays() {
+    return staleUnverifiedDays;
+  }
+
+  public void setStaleUnverifiedDays(int staleUnverifiedDays) {
+    this.staleUnverifiedDays = staleUnverifiedDays;
+  }
+
+  public long getLeaseMillis() {
+    return leaseMillis;
+  }
+
+  public void setLeaseMillis(long leaseMillis) {
+    this.leaseMillis = leaseMillis;
+  }
+}
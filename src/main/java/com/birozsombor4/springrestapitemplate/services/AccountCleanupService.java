@@ -0,0 +1,153 @@
+package com.birozsombor4.springrestapitemplate.services;
+
+import com.birozsombor4.springrestapitemplate.respositories.RefreshTokenRepository;
+import com.birozsombor4.springrestapitemplate.respositories.SchedulerLeaseRepository;
+import com.birozsombor4.springrestapitemplate.respositories.UserRepository;
+import com.birozsombor4.springrestapitemplate.respositories.VerificationTokenRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+public class AccountCleanupService implements MeterBinder {
+
+  public static final String LEASE_NAME = "account-cleanup";
+
+  private final VerificationTokenRepository verificationTokenRepository;
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final UserRepository userRepository;
+  private final SchedulerLeaseRepository schedulerLeaseRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final AccountCleanupConfig config;
+  private final String nodeId = UUID.randomUUID().toString();
+  private final AtomicLong deletedTokens = new AtomicLong();
+  private final AtomicLong deletedUsers = new AtomicLong();
+
+  @Autowired
+  public AccountCleanupService(VerificationTokenRepository verificationTokenRepository,
+                               RefreshTokenRepository refreshTokenRepository,
+                               UserRepository userRepository,
+                               SchedulerLeaseRepository schedulerLeaseRepository,
+                               PlatformTransactionManager transactionManager,
+                               AccountCleanupConfig config) {
+    this.verificationTokenRepository = verificationTokenRepository;
+    this.refreshTokenRepository = refreshTokenRepository;
+    this.userRepository = userRepository;
+    this.schedulerLeaseRepository = schedulerLeaseRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.config = config;
+  }
+
+  @Scheduled(fixedDelayString = "${cleanup.interval-millis}")
+  public void scheduledCleanup() {
+    if (config.isEnabled()) {
+      runCleanup();
+    }
+  }
+
+  public boolean runCleanup() {
+    if (!renewLease()) {
+      return false;
+    }
+    try {
+      if (purgeExpiredTokens() && config.getStaleUnverifiedDays() > 0) {
+        purgeStaleUnverifiedUsers();
+      }
+    } finally {
+      schedulerLeaseRepository.release(LEASE_NAME, nodeId);
+    }
+    return true;
+  }
+
+  public long getDeletedTokens() {
+    return deletedTokens.get();
+  }
+
+  public long getDeletedUsers() {
+    return deletedUsers.get();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("cleanup.deleted", deletedTokens, AtomicLong::get).tag("type", "verification-tokens")
+        .register(registry);
+    FunctionCounter.builder("cleanup.deleted", deletedUsers, AtomicLong::get).tag("type", "unverified-users")
+        .register(registry);
+  }
+
+  private boolean purgeExpiredTokens() {
+    return purgeInBatches(pageable -> {
+      List<Integer> ids = verificationTokenRepository.findExpiredIdsOfVerifiedUsers(
+          schedulerLeaseRepository.currentTimestamp(), pageable);
+      if (!ids.isEmpty()) {
+        deletedTokens.addAndGet(verificationTokenRepository.deleteAllByIds(ids));
+      }
+      return ids.size();
+    });
+  }
+
+  private boolean purgeStaleUnverifiedUsers() {
+    LocalDateTime expiredBefore = schedulerLeaseRepository.currentTimestamp()
+        .minusDays(config.getStaleUnverifiedDays());
+    return purgeInBatches(pageable -> {
+      List<Integer> userIds = verificationTokenRepository.findUserIdsOfStaleUnverifiedUsers(expiredBefore, pageable);
+      if (!userIds.isEmpty()) {
+        deletedTokens.addAndGet(verificationTokenRepository.deleteAllOfUnverifiedUsers(userIds));
+        refreshTokenRepository.deleteAllOfUnverifiedUsers(userIds);
+        deletedUsers.addAndGet(userRepository.deleteAllUnverifiedByIds(userIds));
+      }
+      return userIds.size();
+    });
+  }
+
+  private boolean purgeInBatches(Function<PageRequest, Integer> batch) {
+    PageRequest pageable = PageRequest.of(0, config.getBatchSize());
+    while (true) {
+      Integer selected = transactionTemplate.execute(status -> batch.apply(pageable));
+      if (selected == null || selected < config.getBatchSize()) {
+        return true;
+      }
+      if (!pause() || !renewLease()) {
+        return false;
+      }
+    }
+  }
+
+  private boolean pause() {
+    try {
+      TimeUnit.MILLISECONDS.sleep(config.getPauseMillis());
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private boolean renewLease() {
+    long leaseSeconds = Math.max(1, (config.getLeaseMillis() + 999) / 1000);
+    if (schedulerLeaseRepository.acquire(LEASE_NAME, nodeId, leaseSeconds) > 0) {
+      return true;
+    }
+    if (schedulerLeaseRepository.existsById(LEASE_NAME)) {
+      return false;
+    }
+    try {
+      return schedulerLeaseRepository.insert(LEASE_NAME, nodeId, leaseSeconds) > 0;
+    } catch (DataIntegrityViolationException e) {
+      return false;
+    }
+  }
+}
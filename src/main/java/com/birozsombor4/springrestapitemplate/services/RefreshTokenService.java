@@ -0,0 +1,13 @@
+package com.birozsombor4.springrestapitemplate.services;
+
+import com.birozsombor4.springrestapitemplate.models.daos.User;
+import com.birozsombor4.springrestapitemplate.models.dtos.AuthenticationResponseDTO;
+
+public interface RefreshTokenService {
+
+  String createRefreshToken(User user);
+
+  AuthenticationResponseDTO refreshAccessToken(String refreshToken);
+
+  void purgeExpiredRefreshTokens();
+}
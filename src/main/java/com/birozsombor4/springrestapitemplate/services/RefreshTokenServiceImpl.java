@@ -0,0 +1,100 @@
+package com.birozsombor4.springrestapitemplate.services;
+
+import com.birozsombor4.springrestapitemplate.exceptions.InvalidRefreshTokenException;
+import com.birozsombor4.springrestapitemplate.models.daos.RefreshToken;
+import com.birozsombor4.springrestapitemplate.models.daos.User;
+import com.birozsombor4.springrestapitemplate.models.dtos.AuthenticationResponseDTO;
+import com.birozsombor4.springrestapitemplate.respositories.RefreshTokenRepository;
+import com.birozsombor4.springrestapitemplate.security.JwtConfig;
+import com.birozsombor4.springrestapitemplate.security.TokenEpochRegistry;
+import com.birozsombor4.springrestapitemplate.security.UserDetailsImpl;
+import com.birozsombor4.springrestapitemplate.utils.JwtUtil;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+  private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+  private static final int TOKEN_BYTES = 32;
+
+  private RefreshTokenRepository refreshTokenRepository;
+  private TokenEpochRegistry tokenEpochRegistry;
+  private JwtUtil jwtUtil;
+  private long validityDays;
+
+  @Autowired
+  public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository,
+                                 TokenEpochRegistry tokenEpochRegistry,
+                                 JwtUtil jwtUtil,
+                                 JwtConfig jwtConfig) {
+    this.refreshTokenRepository = refreshTokenRepository;
+    this.tokenEpochRegistry = tokenEpochRegistry;
+    this.jwtUtil = jwtUtil;
+    this.validityDays = jwtConfig.getRefreshTokenValidityDays();
+  }
+
+  @Override
+  public String createRefreshToken(User user) {
+    return issueRefreshToken(user, UUID.randomUUID().toString());
+  }
+
+  @Override
+  @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+  public AuthenticationResponseDTO refreshAccessToken(String refreshToken) {
+    if (refreshToken == null || refreshToken.isEmpty()) {
+      throw new InvalidRefreshTokenException();
+    }
+    RefreshToken storedToken = refreshTokenRepository.findByTokenHashWithUser(hash(refreshToken))
+        .orElseThrow(InvalidRefreshTokenException::new);
+    User user = storedToken.getUser();
+    LocalDateTime now = LocalDateTime.now();
+    if (storedToken.getExpiresAt().isBefore(now) || storedToken.getTokenEpoch() < user.getTokenEpoch()) {
+      throw new InvalidRefreshTokenException();
+    }
+    if (refreshTokenRepository.markUsed(storedToken.getId(), now) == 0) {
+      refreshTokenRepository.markFamilyUsed(storedToken.getFamilyId(), now);
+      tokenEpochRegistry.revokeAllTokens(user.getId());
+      throw new InvalidRefreshTokenException();
+    }
+    String accessToken = jwtUtil.generateToken(new UserDetailsImpl(user));
+    return new AuthenticationResponseDTO(accessToken, issueRefreshToken(user, storedToken.getFamilyId()));
+  }
+
+  @Override
+  @Scheduled(fixedDelayString = "${jwt.refresh-token.purge-interval-millis}")
+  public void purgeExpiredRefreshTokens() {
+    refreshTokenRepository.deleteExpired(LocalDateTime.now());
+  }
+
+  private String issueRefreshToken(User user, String familyId) {
+    byte[] randomBytes = new byte[TOKEN_BYTES];
+    SECURE_RANDOM.nextBytes(randomBytes);
+    String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
+    refreshTokenRepository.save(new RefreshToken(hash(refreshToken), familyId,
+        LocalDateTime.now().plusDays(validityDays), user));
+    return refreshToken;
+  }
+
+  private String hash(String refreshToken) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+      StringBuilder hex = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        hex.append(String.format("%02x", b));
+      }
+      return hex.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
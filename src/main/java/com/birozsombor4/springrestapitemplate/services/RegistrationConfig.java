@@ -0,0 +1,95 @@
+package com.birozsombor4.springrestapitemplate.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RegistrationConfig {
+
+  @Value("${registration.bloom-filter.enabled}")
+  private boolean bloomFilterEnabled;
+  @Value("${registration.bloom-filter.expected-users}")
+  private long bloomFilterExpectedUsers;
+  @Value("${registration.bloom-filter.false-positive-rate}")
+  private double bloomFilterFalsePositiveRate;
+  @Value("${registration.resend-coalescing.window-seconds}")
+  private long resendCoalescingWindowSeconds;
+  @Value("${registration.resend-coalescing.max-entries}")
+  private int resendCoalescingMaxEntries;
+  @Value("${registration.signed-verification-links.enabled}")
+  private boolean signedVerificationLinksEnabled;
+  @Value("${registration.signed-verification-links.secret}")
+  private String signedVerificationLinksSecret;
+
+  public RegistrationConfig() {
+  }
+
+  public RegistrationConfig(boolean bloomFilterEnabled, long bloomFilterExpectedUsers,
+                            double bloomFilterFalsePositiveRate, long resendCoalescingWindowSeconds,
+                            int resendCoalescingMaxEntries, boolean signedVerificationLinksEnabled,
+                            String signedVerificationLinksSecret) {
+    this.bloomFilterEnabled = bloomFilterEnabled;
+    this.bloomFilterExpectedUsers = bloomFilterExpectedUsers;
+    this.bloomFilterFalsePositiveRate = bloomFilterFalsePositiveRate;
+    this.resendCoalescingWindowSeconds = resendCoalescingWindowSeconds;
+    this.resendCoalescingMaxEntries = resendCoalescingMaxEntries;
+    this.signedVerificationLinksEnabled = signedVerificationLinksEnabled;
+    this.signedVerificationLinksSecret = signedVerificationLinksSecret;
+  }
+
+  public boolean isBloomFilterEnabled() {
+    return bloomFilterEnabled;
+  }
+
+  public void setBloomFilterEnabled(boolean bloomFilterEnabled) {
+    this.bloomFilterEnabled = bloomFilterEnabled;
+  }
+
+  public long getBloomFilterExpectedUsers() {
+    return bloomFilterExpectedUsers;
+  }
+
+  public void setBloomFilterExpectedUsers(long bloomFilterExpectedUsers) {
+    this.bloomFilterExpectedUsers = bloomFilterExpectedUsers;
+  }
+
+  public double getBloomFilterFalsePositiveRate() {
+    return bloomFilterFalsePositiveRate;
+  }
+
+  public void setBloomFilterFalsePositiveRate(double bloomFilterFalsePositiveRate) {
+    this.bloomFilterFalsePositiveRate = bloomFilterFalsePositiveRate;
+  }
+
+  public long getResendCoalescingWindowSeconds() {
+    return resendCoalescingWindowSeconds;
+  }
+
+  public void setResendCoalescingWindowSeconds(long resendCoalescingWindowSeconds) {
+    this.resendCoalescingWindowSeconds = resendCoalescingWindowSeconds;
+  }
+
+  public int getResendCoalescingMaxEntries() {
+    return resendCoalescingMaxEntries;
+  }
+
+  public void setResendCoalescingMaxEntries(int resendCoalescingMaxEntries) {
+    this.resendCoalescingMaxEntries = resendCoalescingMaxEntries;
+  }
+
+  public boolean isSignedVerificationLinksEnabled() {
+    return signedVerificationLinksEnabled;
+  }
+
+  public void setSignedVerificationLinksEnabled(boolean signedVerificationLinksEnabled) {
+    this.signedVerificationLinksEnabled = signedVerificationLinksEnabled;
+  }
+
+  public String getSignedVerificationLinksSecret() {
+    return signedVerificationLinksSecret;
+  }
+
+  public void setSignedVerificationLinksSecret(String signedVerificationLinksSecret) {
+    this.signedVerificationLinksSecret = signedVerificationLinksSecret;
+  }
+}
@@ -3,6 +3,7 @@ package com.birozsombor4.springrestapitemplate.services;
 import com.birozsombor4.springrestapitemplate.models.daos.User;
 import com.birozsombor4.springrestapitemplate.models.daos.VerificationToken;
 import com.birozsombor4.springrestapitemplate.models.dtos.UserDTO;
+import com.birozsombor4.springrestapitemplate.respositories.VerificationStatus;
 
 public interface RegistrationService {
 
@@ -18,9 +19,17 @@ public interface RegistrationService {
 
   void verifyUser(User user);
 
+  boolean verifyUser(Integer userId, String token);
+
+  String verifyUser(String token);
+
+  VerificationStatus getVerificationStatus(String token);
+
   VerificationToken getVerificationToken(String token);
 
   boolean checkVerificationTokenExpired(VerificationToken verificationToken);
 
   void createVerificationTokenForUser(User user);
+
+  void renewVerificationToken(User user);
 }
@@ -1,34 +1,53 @@
 package com.birozsombor4.springrestapitemplate.services;
 
+import com.birozsombor4.springrestapitemplate.email.EmailOutbox;
+import com.birozsombor4.springrestapitemplate.exceptions.InvalidRegisterOrLoginParameterException;
 import com.birozsombor4.springrestapitemplate.exceptions.UserAlreadyVerifiedException;
 import com.birozsombor4.springrestapitemplate.exceptions.VerificationTokenDoesNotExistException;
 import com.birozsombor4.springrestapitemplate.models.daos.User;
+import com.birozsombor4.springrestapitemplate.models.daos.UuidBinaryConverter;
 import com.birozsombor4.springrestapitemplate.models.daos.VerificationToken;
 import com.birozsombor4.springrestapitemplate.models.dtos.UserDTO;
-import com.birozsombor4.springrestapitemplate.respositories.UserRepository;
+import com.birozsombor4.springrestapitemplate.respositories.UserIdentifierFilter;
+import com.birozsombor4.springrestapitemplate.respositories.UserIdentifiers;
+import com.birozsombor4.springrestapitemplate.respositories.UserIdentityMap;
+import com.birozsombor4.springrestapitemplate.respositories.VerificationStatus;
 import com.birozsombor4.springrestapitemplate.respositories.VerificationTokenRepository;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class RegistrationServiceImpl implements RegistrationService {
 
-  private UserRepository userRepository;
+  private static final String USERNAME_TAKEN_MESSAGE = "User name is already taken. Please choose another one!";
+  private static final String EMAIL_TAKEN_MESSAGE = "E-mail is already taken. Please choose another one!";
+
+  private UserIdentifierFilter userIdentifierFilter;
+  private UserIdentityMap userIdentityMap;
   private VerificationTokenRepository verificationTokenRepository;
   private PasswordEncoder passwordEncoder;
+  private EmailOutbox emailOutbox;
 
   @Autowired
-  public RegistrationServiceImpl(UserRepository userRepository,
+  public RegistrationServiceImpl(UserIdentifierFilter userIdentifierFilter,
+                                 UserIdentityMap userIdentityMap,
                                  VerificationTokenRepository verificationTokenRepository,
-                                 PasswordEncoder passwordEncoder) {
-    this.userRepository = userRepository;
+                                 PasswordEncoder passwordEncoder,
+                                 EmailOutbox emailOutbox) {
+    this.userIdentifierFilter = userIdentifierFilter;
+    this.userIdentityMap = userIdentityMap;
     this.verificationTokenRepository = verificationTokenRepository;
     this.passwordEncoder = passwordEncoder;
+    this.emailOutbox = emailOutbox;
   }
 
   @Override
@@ -51,11 +70,7 @@ public class RegistrationServiceImpl implements RegistrationService {
 
   @Override
   public boolean checkRequiredParametersForRegister(UserDTO userDTO) {
-    return isPasswordValid(userDTO.getPassword())
-        && isUsernameValid(userDTO.getUsername())
-        && isUsernameUnique(userDTO.getUsername())
-        && isEmailValid(userDTO.getEmail())
-        && isEmailUnique(userDTO.getEmail());
+    return getErrorMessageForRegister(userDTO).isEmpty();
   }
 
   @Override
@@ -70,11 +85,13 @@ public class RegistrationServiceImpl implements RegistrationService {
     if (!isEmailValid(userDTO.getEmail())) {
       errors.add("Email is not correct!");
     }
-    if (!isUsernameUnique(userDTO.getUsername())) {
-      errors.add("User name is already taken. Please choose another one!");
+    List<UserIdentifiers> registeredIdentifiers =
+        userIdentifierFilter.findIdentifiersByUsernameOrEmail(userDTO.getUsername(), userDTO.getEmail());
+    if (isTaken(registeredIdentifiers, UserIdentifiers::getUsername, userDTO.getUsername())) {
+      errors.add(USERNAME_TAKEN_MESSAGE);
     }
-    if (!isEmailUnique(userDTO.getEmail())) {
-      errors.add("E-mail is already taken. Please choose another one!");
+    if (isTaken(registeredIdentifiers, UserIdentifiers::getEmail, userDTO.getEmail())) {
+      errors.add(EMAIL_TAKEN_MESSAGE);
     }
     return String.join("; ", errors);
   }
@@ -86,6 +103,15 @@ public class RegistrationServiceImpl implements RegistrationService {
     user.setVerificationToken(verificationToken);
   }
 
+  @Override
+  @Transactional
+  public void renewVerificationToken(User user) {
+    createVerificationTokenForUser(user);
+    user.updateVerificationTokenId();
+    userIdentityMap.save(user);
+    emailOutbox.enqueueVerificationEmail(user);
+  }
+
   @Override
   public boolean checkVerificationTokenExpired(VerificationToken verificationToken) {
     LocalDateTime now = LocalDateTime.now();
@@ -94,6 +120,9 @@ public class RegistrationServiceImpl implements RegistrationService {
 
   @Override
   public VerificationToken getVerificationToken(String token) {
+    if (!UuidBinaryConverter.isValid(token)) {
+      throw new VerificationTokenDoesNotExistException();
+    }
     Optional<VerificationToken> verificationTokenOptional = verificationTokenRepository.findByToken(token);
     return verificationTokenOptional.orElseThrow(VerificationTokenDoesNotExistException::new);
   }
@@ -104,13 +133,47 @@ public class RegistrationServiceImpl implements RegistrationService {
       throw new UserAlreadyVerifiedException(user.getUsername());
     }
     user.setVerified(true);
-    userRepository.save(user);
+    userIdentityMap.save(user);
+  }
+
+  @Override
+  @Transactional
+  public boolean verifyUser(Integer userId, String token) {
+    return userIdentityMap.verifyByIdAndToken(userId, token);
+  }
+
+  @Override
+  @Transactional
+  public String verifyUser(String token) {
+    if (!UuidBinaryConverter.isValid(token) || !userIdentityMap.verifyByToken(token)) {
+      return null;
+    }
+    return verificationTokenRepository.findUsernameByToken(token)
+        .orElseThrow(VerificationTokenDoesNotExistException::new);
+  }
+
+  @Override
+  public VerificationStatus getVerificationStatus(String token) {
+    if (!UuidBinaryConverter.isValid(token)) {
+      throw new VerificationTokenDoesNotExistException();
+    }
+    return verificationTokenRepository.findStatusByToken(token)
+        .orElseThrow(VerificationTokenDoesNotExistException::new);
   }
 
   @Override
+  @Transactional
   public User registerUser(User user) {
     user.setPassword(passwordEncoder.encode(user.getPassword()));
-    return userRepository.save(user);
+    User savedUser;
+    try {
+      savedUser = userIdentityMap.save(user);
+    } catch (DataIntegrityViolationException e) {
+      throw new InvalidRegisterOrLoginParameterException(getErrorMessageForConstraintViolation(e));
+    }
+    emailOutbox.enqueueVerificationEmail(savedUser);
+    userIdentifierFilter.put(savedUser.getUsername(), savedUser.getEmail());
+    return savedUser;
   }
 
   private boolean isEmailValid(String email) {
@@ -128,11 +191,23 @@ public class RegistrationServiceImpl implements RegistrationService {
     return password != null && !password.isEmpty();
   }
 
-  private boolean isEmailUnique(String email) {
-    return !userRepository.findByEmail(email).isPresent();
+  private boolean isTaken(List<UserIdentifiers> registeredIdentifiers, Function<UserIdentifiers, String> identifier,
+                          String value) {
+    return value != null && registeredIdentifiers.stream()
+        .anyMatch(identifiers -> value.equalsIgnoreCase(identifier.apply(identifiers)));
   }
 
-  private boolean isUsernameUnique(String username) {
-    return !userRepository.findByUsername(username).isPresent();
+  private String getErrorMessageForConstraintViolation(DataIntegrityViolationException e) {
+    String constraintName = e.getCause() instanceof ConstraintViolationException
+        ? ((ConstraintViolationException) e.getCause()).getConstraintName() : null;
+    String violation = String.valueOf(constraintName != null ? constraintName : e.getMostSpecificCause().getMessage())
+        .toLowerCase();
+    if (violation.contains(User.USERNAME_CONSTRAINT)) {
+      return USERNAME_TAKEN_MESSAGE;
+    }
+    if (violation.contains(User.EMAIL_CONSTRAINT)) {
+      return EMAIL_TAKEN_MESSAGE;
+    }
+    throw e;
   }
 }
@@ -5,7 +5,7 @@ import com.birozsombor4.springrestapitemplate.exceptions.FailedFileLoadingExcept
 import com.birozsombor4.springrestapitemplate.exceptions.UserNotFoundException;
 import com.birozsombor4.springrestapitemplate.models.daos.User;
 import com.birozsombor4.springrestapitemplate.models.dtos.UserDTO;
-import com.birozsombor4.springrestapitemplate.respositories.UserRepository;
+import com.birozsombor4.springrestapitemplate.respositories.UserIdentityMap;
 import java.net.MalformedURLException;
 import java.util.Optional;
 import org.modelmapper.ModelMapper;
@@ -17,13 +17,13 @@ import org.springframework.stereotype.Service;
 @Service
 public class UserServiceImpl implements UserService {
 
-  private UserRepository userRepository;
+  private UserIdentityMap userIdentityMap;
   private AvatarService avatarService;
 
   @Autowired
-  public UserServiceImpl(UserRepository userRepository,
+  public UserServiceImpl(UserIdentityMap userIdentityMap,
                          AvatarService avatarService) {
-    this.userRepository = userRepository;
+    this.userIdentityMap = userIdentityMap;
     this.avatarService = avatarService;
   }
 
@@ -45,18 +45,18 @@ public class UserServiceImpl implements UserService {
 
   @Override
   public User getUserByUsername(String username) {
-    Optional<User> optionalUser = userRepository.findByUsername(username);
+    Optional<User> optionalUser = userIdentityMap.findByUsername(username);
     return optionalUser.orElseThrow(() -> new UsernameNotFoundException(username));
   }
 
   @Override
   public void updateUser(User user) {
-    userRepository.save(user);
+    userIdentityMap.save(user);
   }
 
   @Override
   public User getUserById(Integer userId) {
-    Optional<User> optionalUser = userRepository.findById(userId);
+    Optional<User> optionalUser = userIdentityMap.findById(userId);
     return optionalUser.orElseThrow(() -> new UserNotFoundException(String.valueOf(userId)));
   }
 
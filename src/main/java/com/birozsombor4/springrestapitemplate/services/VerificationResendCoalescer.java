@@ -0,0 +1,114 @@
+package com.birozsombor4.springrestapitemplate.services;
+
+import com.birozsombor4.springrestapitemplate.models.daos.User;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class VerificationResendCoalescer implements MeterBinder {
+
+  private final long windowNanos;
+  private final int maxEntries;
+  private final LongSupplier nanoClock;
+  private final Map<String, Resend> resends = new ConcurrentHashMap<>();
+  private final AtomicLong avoidedSends = new AtomicLong();
+
+  @Autowired
+  public VerificationResendCoalescer(RegistrationConfig config) {
+    this(config, System::nanoTime);
+  }
+
+  public VerificationResendCoalescer(RegistrationConfig config, LongSupplier nanoClock) {
+    this.windowNanos = TimeUnit.SECONDS.toNanos(config.getResendCoalescingWindowSeconds());
+    this.maxEntries = config.getResendCoalescingMaxEntries();
+    this.nanoClock = nanoClock;
+  }
+
+  public String findRenewedEmail(String expiredToken) {
+    Resend resend = resends.get(tokenKey(expiredToken));
+    if (resend == null || isExpired(resend, nanoClock.getAsLong())) {
+      return null;
+    }
+    avoidedSends.incrementAndGet();
+    return resend.email;
+  }
+
+  public boolean tryAcquire(String expiredToken, User user) {
+    if (windowNanos <= 0) {
+      return true;
+    }
+    long now = nanoClock.getAsLong();
+    String userKey = userKey(user.getId());
+    if (!resends.containsKey(userKey) && resends.size() >= maxEntries && evictExpired() == 0) {
+      return true;
+    }
+    Resend resend = new Resend(user.getEmail(), now + windowNanos);
+    if (resends.merge(userKey, resend, (current, candidate) -> isExpired(current, now) ? candidate : current)
+        != resend) {
+      avoidedSends.incrementAndGet();
+      return false;
+    }
+    resends.put(tokenKey(expiredToken), resend);
+    return true;
+  }
+
+  public void release(String expiredToken, User user) {
+    resends.remove(tokenKey(expiredToken));
+    resends.remove(userKey(user.getId()));
+  }
+
+  @Scheduled(fixedDelayString = "${registration.resend-coalescing.eviction-interval-millis}")
+  public int evictExpired() {
+    long now = nanoClock.getAsLong();
+    int sizeBefore = resends.size();
+    resends.values().removeIf(resend -> isExpired(resend, now));
+    return sizeBefore - resends.size();
+  }
+
+  public int size() {
+    return resends.size();
+  }
+
+  public long getAvoidedSends() {
+    return avoidedSends.get();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("verification.resend.coalesced", avoidedSends, AtomicLong::get).register(registry);
+    Gauge.builder("verification.resend.entries", this, VerificationResendCoalescer::size).register(registry);
+  }
+
+  private boolean isExpired(Resend resend, long now) {
+    return resend.expiresAt - now <= 0;
+  }
+
+  private String tokenKey(String token) {
+    return "token:" + token;
+  }
+
+  private String userKey(Integer userId) {
+    return "user:" + userId;
+  }
+
+  private static class Resend {
+
+    private final String email;
+    private final long expiresAt;
+
+    private Resend(String email, long expiresAt) {
+      this.email = email;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
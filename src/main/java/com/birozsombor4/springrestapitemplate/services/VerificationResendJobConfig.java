@@ -0,0 +1,48 @@
+package com.birozsombor4.springrestapitemplate.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class VerificationResendJobConfig {
+
+  @Value("${registration.resend-job.batch-size}")
+  private int batchSize;
+  @Value("${registration.resend-job.rate-per-second}")
+  private int ratePerSecond;
+  @Value("${registration.resend-job.lease-millis}")
+  private long leaseMillis;
+
+  public VerificationResendJobConfig() {
+  }
+
+  public VerificationResendJobConfig(int batchSize, int ratePerSecond, long leaseMillis) {
+    this.batchSize = batchSize;
+    this.ratePerSecond = ratePerSecond;
+    this.leaseMillis = leaseMillis;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public int getRatePerSecond() {
+    return ratePerSecond;
+  }
+
+  public void setRatePerSecond(int ratePerSecond) {
+    this.ratePerSecond = ratePerSecond;
+  }
+
+  public long getLeaseMillis() {
+    return leaseMillis;
+  }
+
+  public void setLeaseMillis(long leaseMillis) {
+    this.leaseMillis = leaseMillis;
+  }
+}
@@ -0,0 +1,194 @@
+package com.birozsombor4.springrestapitemplate.services;
+
+import com.birozsombor4.springrestapitemplate.email.EmailOutbox;
+import com.birozsombor4.springrestapitemplate.models.daos.EmailOutboxMessage;
+import com.birozsombor4.springrestapitemplate.models.daos.VerificationResendJob;
+import com.birozsombor4.springrestapitemplate.models.daos.VerificationToken;
+import com.birozsombor4.springrestapitemplate.models.dtos.VerificationResendJobDTO;
+import com.birozsombor4.springrestapitemplate.respositories.UnverifiedUser;
+import com.birozsombor4.springrestapitemplate.respositories.UserRepository;
+import com.birozsombor4.springrestapitemplate.respositories.VerificationResendJobRepository;
+import com.birozsombor4.springrestapitemplate.respositories.VerificationTokenBatchWriter;
+import com.birozsombor4.springrestapitemplate.security.VerificationLinkSigner;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+public class VerificationResendJobRunner {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(VerificationResendJobRunner.class);
+
+  private final UserRepository userRepository;
+  private final VerificationResendJobRepository jobRepository;
+  private final VerificationTokenBatchWriter verificationTokenBatchWriter;
+  private final EmailOutbox emailOutbox;
+  private final VerificationLinkSigner verificationLinkSigner;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final long nanosPerEmail;
+  private final long leaseSeconds;
+  private final String nodeId = UUID.randomUUID().toString();
+  private final ThreadPoolExecutor executor;
+
+  @Autowired
+  public VerificationResendJobRunner(UserRepository userRepository,
+                                     VerificationResendJobRepository jobRepository,
+                                     VerificationTokenBatchWriter verificationTokenBatchWriter,
+                                     EmailOutbox emailOutbox,
+                                     VerificationLinkSigner verificationLinkSigner,
+                                     PlatformTransactionManager transactionManager,
+                                     VerificationResendJobConfig config) {
+    this.userRepository = userRepository;
+    this.jobRepository = jobRepository;
+    this.verificationTokenBatchWriter = verificationTokenBatchWriter;
+    this.emailOutbox = emailOutbox;
+    this.verificationLinkSigner = verificationLinkSigner;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = config.getBatchSize();
+    this.nanosPerEmail = TimeUnit.SECONDS.toNanos(1) / config.getRatePerSecond();
+    this.leaseSeconds = Math.max(1, (config.getLeaseMillis() + 999) / 1000);
+    this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+        VerificationResendJobRunner::newJobThread, new ThreadPoolExecutor.DiscardPolicy());
+  }
+
+  private static Thread newJobThread(Runnable runnable) {
+    Thread thread = new Thread(runnable, "verification-resend");
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  public VerificationResendJobDTO start() {
+    VerificationResendJob job = jobRepository.findFirstByStatusOrderByIdAsc(VerificationResendJob.RUNNING)
+        .orElseGet(this::createJob);
+    requestResume();
+    return toDTO(job);
+  }
+
+  private VerificationResendJob createJob() {
+    try {
+      return jobRepository.save(new VerificationResendJob(jobRepository.currentTimestamp()));
+    } catch (DataIntegrityViolationException e) {
+      return jobRepository.findFirstByStatusOrderByIdAsc(VerificationResendJob.RUNNING).orElseThrow(() -> e);
+    }
+  }
+
+  public Optional<VerificationResendJobDTO> getLatestJob() {
+    return jobRepository.findFirstByOrderByIdDesc().map(this::toDTO);
+  }
+
+  public Optional<VerificationResendJobDTO> cancel() {
+    Optional<VerificationResendJob> job = jobRepository.findFirstByStatusOrderByIdAsc(VerificationResendJob.RUNNING);
+    job.ifPresent(runningJob -> jobRepository.updateStatus(runningJob.getId(), VerificationResendJob.RUNNING,
+        VerificationResendJob.CANCELLED));
+    return job.flatMap(runningJob -> jobRepository.findById(runningJob.getId())).map(this::toDTO);
+  }
+
+  @Scheduled(fixedDelayString = "${registration.resend-job.poll-interval-millis}")
+  public void requestResume() {
+    executor.execute(this::resumeSafely);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private void resumeSafely() {
+    try {
+      Optional<VerificationResendJob> job = jobRepository.findFirstByStatusOrderByIdAsc(VerificationResendJob.RUNNING);
+      if (job.isPresent() && claim(job.get().getId())) {
+        run(job.get().getId(), job.get().getLastUserId());
+      }
+    } catch (RuntimeException e) {
+      LOGGER.error("Verification resend job failed, it will be resumed later", e);
+    }
+  }
+
+  private boolean claim(Long jobId) {
+    return jobRepository.claim(jobId, nodeId, leaseSeconds, VerificationResendJob.RUNNING) > 0;
+  }
+
+  private void run(Long jobId, int lastUserId) {
+    int afterId = lastUserId;
+    while (!Thread.currentThread().isInterrupted()) {
+      long startedAt = System.nanoTime();
+      int currentAfterId = afterId;
+      List<UnverifiedUser> users = userRepository.findUnverifiedAfter(afterId, PageRequest.of(0, batchSize));
+      if (users.isEmpty()) {
+        jobRepository.updateStatus(jobId, VerificationResendJob.RUNNING, VerificationResendJob.COMPLETED);
+        LOGGER.info("Verification resend job {} completed", jobId);
+        return;
+      }
+      Boolean checkpointed = transactionTemplate.execute(status -> writeBatch(jobId, users, status));
+      if (!Boolean.TRUE.equals(checkpointed)) {
+        LOGGER.info("Verification resend job {} stopped after user {}", jobId, currentAfterId);
+        return;
+      }
+      afterId = users.get(users.size() - 1).getId();
+      if (!pause(users.size() * nanosPerEmail - (System.nanoTime() - startedAt))) {
+        return;
+      }
+    }
+  }
+
+  private boolean writeBatch(Long jobId, List<UnverifiedUser> users, TransactionStatus status) {
+    List<Integer> userIds = new ArrayList<>(users.size());
+    List<VerificationToken> verificationTokens = new ArrayList<>(users.size());
+    for (UnverifiedUser user : users) {
+      userIds.add(user.getId());
+      verificationTokens.add(new VerificationToken());
+    }
+    int[] updateCounts = verificationTokenBatchWriter.replaceTokens(userIds, verificationTokens);
+    List<EmailOutboxMessage> messages = new ArrayList<>(users.size());
+    for (int i = 0; i < users.size(); i++) {
+      if (updateCounts[i] != 0) {
+        messages.add(new EmailOutboxMessage(users.get(i).getEmail(), users.get(i).getUsername(),
+            verificationLinkSigner.encode(userIds.get(i), users.get(i).getUsername(), verificationTokens.get(i))));
+      }
+    }
+    emailOutbox.enqueueVerificationEmails(messages);
+    int lastUserId = users.get(users.size() - 1).getId();
+    if (jobRepository.checkpoint(jobId, nodeId, lastUserId, users.size(), leaseSeconds,
+        VerificationResendJob.RUNNING) == 0) {
+      status.setRollbackOnly();
+      return false;
+    }
+    return true;
+  }
+
+  private boolean pause(long nanos) {
+    if (nanos <= 0) {
+      return true;
+    }
+    try {
+      TimeUnit.NANOSECONDS.sleep(nanos);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private VerificationResendJobDTO toDTO(VerificationResendJob job) {
+    long remaining = VerificationResendJob.RUNNING.equals(job.getStatus())
+        ? userRepository.countUnverifiedAfter(job.getLastUserId()) : 0;
+    return new VerificationResendJobDTO(job.getId(), job.getStatus(), job.getProcessed(), remaining,
+        job.getLastUserId(), job.getStartedAt(), job.getUpdatedAt());
+  }
+}
@@ -0,0 +1,77 @@
+package com.birozsombor4.springrestapitemplate.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class BloomFilter {
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final AtomicLongArray bits;
+  private final long bitCount;
+  private final int hashCount;
+
+  public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+    double ln2 = Math.log(2);
+    long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+    int words = (int) Math.max(1, (optimalBits + 63) >>> 6);
+    this.bits = new AtomicLongArray(words);
+    this.bitCount = (long) words << 6;
+    this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * ln2));
+  }
+
+  public void put(CharSequence value) {
+    long hash1 = hash(value, FNV_OFFSET_BASIS);
+    long hash2 = mix(hash1 ^ FNV_PRIME) | 1;
+    for (int i = 0; i < hashCount; i++) {
+      long bitIndex = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+      int wordIndex = (int) (bitIndex >>> 6);
+      long mask = 1L << bitIndex;
+      long word;
+      do {
+        word = bits.get(wordIndex);
+        if ((word & mask) != 0) {
+          break;
+        }
+      } while (!bits.compareAndSet(wordIndex, word, word | mask));
+    }
+  }
+
+  public boolean mightContain(CharSequence value) {
+    long hash1 = hash(value, FNV_OFFSET_BASIS);
+    long hash2 = mix(hash1 ^ FNV_PRIME) | 1;
+    for (int i = 0; i < hashCount; i++) {
+      long bitIndex = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+      if ((bits.get((int) (bitIndex >>> 6)) & (1L << bitIndex)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public long getBitCount() {
+    return bitCount;
+  }
+
+  public int getHashCount() {
+    return hashCount;
+  }
+
+  private static long hash(CharSequence value, long seed) {
+    long hash = seed;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= FNV_PRIME;
+    }
+    return mix(hash);
+  }
+
+  private static long mix(long hash) {
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -0,0 +1,44 @@
+package com.birozsombor4.springrestapitemplate.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+public class CircuitBreaker {
+
+  private final int failureThreshold;
+  private final long openMillis;
+  private final LongSupplier clock;
+  private final AtomicInteger consecutiveFailures = new AtomicInteger();
+  private volatile long openedAt;
+
+  public CircuitBreaker(int failureThreshold, long openMillis) {
+    this(failureThreshold, openMillis, System::currentTimeMillis);
+  }
+
+  public CircuitBreaker(int failureThreshold, long openMillis, LongSupplier clock) {
+    this.failureThreshold = failureThreshold;
+    this.openMillis = openMillis;
+    this.clock = clock;
+  }
+
+  public boolean isOpen() {
+    return getRemainingOpenMillis() > 0;
+  }
+
+  public long getRemainingOpenMillis() {
+    if (consecutiveFailures.get() < failureThreshold) {
+      return 0;
+    }
+    return Math.max(0, openedAt + openMillis - clock.getAsLong());
+  }
+
+  public void recordSuccess() {
+    consecutiveFailures.set(0);
+  }
+
+  public void recordFailure() {
+    if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+      openedAt = clock.getAsLong();
+    }
+  }
+}
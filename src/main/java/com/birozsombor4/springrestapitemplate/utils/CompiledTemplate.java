@@ -0,0 +1,104 @@
+package com.birozsombor4.springrestapitemplate.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.web.util.HtmlUtils;
+
+public class CompiledTemplate {
+
+  private final String[] segments;
+  private final int[] slots;
+  private final int variableCount;
+  private final int staticLength;
+  private final ThreadLocal<StringBuilder> buffer;
+
+  private CompiledTemplate(List<String> segments, List<Integer> slots, int variableCount) {
+    this.segments = segments.toArray(new String[0]);
+    this.slots = slots.stream().mapToInt(Integer::intValue).toArray();
+    this.variableCount = variableCount;
+    this.staticLength = segments.stream().mapToInt(String::length).sum();
+    this.buffer = ThreadLocal.withInitial(() -> new StringBuilder(staticLength + 256));
+  }
+
+  public static Optional<CompiledTemplate> compile(Function<String[], String> renderer, String... variableNames) {
+    String[] markers = markers(variableNames);
+    CompiledTemplate template = parse(renderer.apply(markers), markers);
+    if (template == null) {
+      return Optional.empty();
+    }
+    String[] probes = markers(variableNames);
+    if (!template.renderRaw(probes).equals(renderer.apply(probes))) {
+      return Optional.empty();
+    }
+    return Optional.of(template);
+  }
+
+  public String render(String... values) {
+    String[] escapedValues = new String[values.length];
+    for (int i = 0; i < values.length; i++) {
+      escapedValues[i] = values[i] == null ? "" : HtmlUtils.htmlEscape(values[i], StandardCharsets.UTF_8.name());
+    }
+    return renderRaw(escapedValues);
+  }
+
+  public int getSlotCount() {
+    return slots.length;
+  }
+
+  private String renderRaw(String[] values) {
+    if (values.length != variableCount) {
+      throw new IllegalArgumentException("Expected " + variableCount + " values but got " + values.length);
+    }
+    StringBuilder builder = buffer.get();
+    builder.setLength(0);
+    builder.append(segments[0]);
+    for (int i = 0; i < slots.length; i++) {
+      builder.append(values[slots[i]]).append(segments[i + 1]);
+    }
+    return builder.toString();
+  }
+
+  private static CompiledTemplate parse(String rendered, String[] markers) {
+    List<String> segments = new ArrayList<>();
+    List<Integer> slots = new ArrayList<>();
+    boolean[] seen = new boolean[markers.length];
+    int position = 0;
+    while (true) {
+      int nextIndex = -1;
+      int nextSlot = -1;
+      for (int i = 0; i < markers.length; i++) {
+        int index = rendered.indexOf(markers[i], position);
+        if (index >= 0 && (nextIndex < 0 || index < nextIndex)) {
+          nextIndex = index;
+          nextSlot = i;
+        }
+      }
+      if (nextIndex < 0) {
+        break;
+      }
+      segments.add(rendered.substring(position, nextIndex));
+      slots.add(nextSlot);
+      seen[nextSlot] = true;
+      position = nextIndex + markers[nextSlot].length();
+    }
+    segments.add(rendered.substring(position));
+    for (boolean variableSeen : seen) {
+      if (!variableSeen) {
+        return null;
+      }
+    }
+    return new CompiledTemplate(segments, slots, markers.length);
+  }
+
+  private static String[] markers(String[] variableNames) {
+    String[] markers = new String[variableNames.length];
+    for (int i = 0; i < variableNames.length; i++) {
+      markers[i] = "slot" + i + UUID.randomUUID().toString().replace("-", "");
+    }
+    return markers;
+  }
+}
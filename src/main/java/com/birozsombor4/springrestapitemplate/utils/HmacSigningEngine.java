@@ -0,0 +1,154 @@
+package com.birozsombor4.springrestapitemplate.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.SignatureException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.impl.DefaultClaims;
+import io.jsonwebtoken.impl.TextCodec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+public class HmacSigningEngine {
+
+  public static final String ALGORITHM = "HS256";
+
+  private static final String MAC_ALGORITHM = "HmacSHA256";
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<Map<String, Object>>() {
+  };
+
+  private final SigningKey legacyKey;
+  private final Map<String, SigningKey> keyRing;
+  private final SigningKey activeKey;
+
+  public HmacSigningEngine(String legacySecret, Map<String, String> keyRingSecrets, String activeKid) {
+    this.legacyKey = legacySecret == null ? null : new SigningKey(null, legacySecret);
+    Map<String, SigningKey> keys = new LinkedHashMap<>();
+    keyRingSecrets.forEach((kid, secret) -> keys.put(kid, new SigningKey(kid, secret)));
+    this.keyRing = Collections.unmodifiableMap(keys);
+    this.activeKey = activeKid == null ? legacyKey : keyRing.get(activeKid);
+    if (activeKid != null && activeKey == null) {
+      throw new IllegalArgumentException("No signing key is configured for kid: " + activeKid);
+    }
+  }
+
+  public static HmacSigningEngine fromEnvironment() {
+    return new HmacSigningEngine(System.getenv("SECRET_KEY"), parseKeyRing(System.getenv("JWT_KEY_RING")),
+        System.getenv("JWT_ACTIVE_KID"));
+  }
+
+  static Map<String, String> parseKeyRing(String keyRing) {
+    Map<String, String> secrets = new LinkedHashMap<>();
+    if (keyRing == null || keyRing.trim().isEmpty()) {
+      return secrets;
+    }
+    for (String entry : keyRing.split(",")) {
+      int separator = entry.indexOf(':');
+      if (separator <= 0) {
+        throw new IllegalArgumentException("Key ring entries must have the form kid:secret");
+      }
+      secrets.put(entry.substring(0, separator).trim(), entry.substring(separator + 1).trim());
+    }
+    return secrets;
+  }
+
+  public String getActiveKid() {
+    return activeKey == null ? null : activeKey.kid;
+  }
+
+  public String sign(Claims claims) {
+    if (activeKey == null) {
+      throw new IllegalStateException("No JWT signing key is configured.");
+    }
+    String payload;
+    try {
+      payload = TextCodec.BASE64URL.encode(OBJECT_MAPPER.writeValueAsBytes(claims));
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to serialize JWT claims.", e);
+    }
+    String signingInput = activeKey.encodedHeader + '.' + payload;
+    return signingInput + '.' + TextCodec.BASE64URL.encode(activeKey.mac(signingInput));
+  }
+
+  public Claims verify(String token) {
+    int firstDot = token.indexOf('.');
+    int lastDot = token.lastIndexOf('.');
+    if (firstDot <= 0 || lastDot == firstDot || token.indexOf('.', firstDot + 1) != lastDot
+        || lastDot == token.length() - 1) {
+      throw new MalformedJwtException("JWT strings must contain exactly 2 period characters and a signature.");
+    }
+    Map<String, Object> header = readJson(token.substring(0, firstDot));
+    if (!ALGORITHM.equals(header.get("alg"))) {
+      throw new UnsupportedJwtException("Unsupported JWT signature algorithm: " + header.get("alg"));
+    }
+    SigningKey key = resolveKey((String) header.get("kid"));
+    byte[] expected = key.mac(token.substring(0, lastDot));
+    byte[] actual = TextCodec.BASE64URL.decode(token.substring(lastDot + 1));
+    if (!MessageDigest.isEqual(expected, actual)) {
+      throw new SignatureException("JWT signature does not match locally computed signature.");
+    }
+    return new DefaultClaims(readJson(token.substring(firstDot + 1, lastDot)));
+  }
+
+  private SigningKey resolveKey(String kid) {
+    SigningKey key = kid == null ? legacyKey : keyRing.get(kid);
+    if (key == null) {
+      throw new SignatureException("Unknown JWT signing key: " + kid);
+    }
+    return key;
+  }
+
+  private Map<String, Object> readJson(String base64Url) {
+    try {
+      return OBJECT_MAPPER.readValue(TextCodec.BASE64URL.decode(base64Url), MAP_TYPE);
+    } catch (IOException | IllegalArgumentException e) {
+      throw new MalformedJwtException("Unable to read JWT JSON value.", e);
+    }
+  }
+
+  private static final class SigningKey {
+
+    private final String kid;
+    private final String encodedHeader;
+    private final ThreadLocal<Mac> macs;
+
+    private SigningKey(String kid, String base64Secret) {
+      this.kid = kid;
+      Map<String, Object> header = new LinkedHashMap<>();
+      header.put("alg", ALGORITHM);
+      if (kid != null) {
+        header.put("kid", kid);
+      }
+      try {
+        this.encodedHeader = TextCodec.BASE64URL.encode(OBJECT_MAPPER.writeValueAsBytes(header));
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+      SecretKeySpec keySpec = new SecretKeySpec(TextCodec.BASE64.decode(base64Secret), MAC_ALGORITHM);
+      this.macs = ThreadLocal.withInitial(() -> {
+        try {
+          Mac mac = Mac.getInstance(MAC_ALGORITHM);
+          mac.init(keySpec);
+          return mac;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+          throw new IllegalStateException(e);
+        }
+      });
+    }
+
+    private byte[] mac(String signingInput) {
+      return macs.get().doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+    }
+  }
+}
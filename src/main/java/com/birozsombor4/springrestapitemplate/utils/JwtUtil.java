@@ -1,71 +1,91 @@
 package com.birozsombor4.springrestapitemplate.utils;
 
+import com.birozsombor4.springrestapitemplate.security.JwtConfig;
 import com.birozsombor4.springrestapitemplate.security.UserDetailsImpl;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.DefaultClaims;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 @Component
 public class JwtUtil {
 
-  private String secretKey = System.getenv("SECRET_KEY");
+  private final HmacSigningEngine signingEngine;
+  private final long tokenValidityMillis;
+
+  @Autowired
+  public JwtUtil(JwtConfig jwtConfig) {
+    this(HmacSigningEngine.fromEnvironment(), TimeUnit.SECONDS.toMillis(jwtConfig.getAccessTokenValiditySeconds()));
+  }
+
+  public JwtUtil(HmacSigningEngine signingEngine, long tokenValidityMillis) {
+    this.signingEngine = signingEngine;
+    this.tokenValidityMillis = tokenValidityMillis;
+  }
+
+  public long getTokenValidityMillis() {
+    return tokenValidityMillis;
+  }
 
   //region CREATING
   public String generateToken(UserDetailsImpl userDetails) {
-    Map<String, Object> claims = new HashMap<>();
-    String jwt = Jwts.builder().setClaims(claims)
-        .setSubject(userDetails.getUsername())
-        .claim("user_id", userDetails.getId())
-        .setIssuedAt(new Date(System.currentTimeMillis()))
-        .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10))  //10h
-        .signWith(SignatureAlgorithm.HS256, secretKey)
-        .compact();
-    return jwt;
+    Claims claims = new DefaultClaims();
+    claims.setId(UUID.randomUUID().toString());
+    claims.setSubject(userDetails.getUsername());
+    claims.put("user_id", userDetails.getId());
+    claims.put("verified", userDetails.isVerified());
+    claims.put("epoch", userDetails.getTokenEpoch());
+    claims.setIssuedAt(new Date(System.currentTimeMillis()));
+    claims.setExpiration(new Date(System.currentTimeMillis() + tokenValidityMillis));
+    return signingEngine.sign(claims);
   }
   //endregion
 
-  //region EXTRACTING
-  public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-    final Claims claims = extractAllClaims(token);
-    return claimsResolver.apply(claims);
+  //region PARSING
+  public ParsedJwt parseToken(String token) {
+    return new ParsedJwt(token, extractAllClaims(token));
   }
 
   private Claims extractAllClaims(String token) {
-    return Jwts.parser()
-        .setSigningKey(secretKey)
-        .parseClaimsJws(token)
-        .getBody();
+    return signingEngine.verify(token);
+  }
+  //endregion
+
+  //region EXTRACTING
+  public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
+    return claimsResolver.apply(parseToken(token).getClaims());
   }
 
   public String extractUsername(String token) {
-    return extractClaim(token, Claims::getSubject);
+    return parseToken(token).getUsername();
   }
 
   public Integer extractUserId(String token) {
-    Claims claims = extractAllClaims(token);
-    return (Integer) claims.get("user_id");
+    return parseToken(token).getUserId();
   }
 
   public Date extractExpiration(String token) {
-    return extractClaim(token, Claims::getExpiration);
+    return parseToken(token).getExpiration();
   }
   //endregion
 
   //region VALIDATING
-  private boolean isTokenExpired(String token) {
-    return extractExpiration(token)
-        .before(new Date());
+  public boolean validateToken(ParsedJwt parsedJwt, UserDetails userDetails) {
+    return parsedJwt.getUsername().equals(userDetails.getUsername()) && !parsedJwt.isExpired();
   }
 
   public boolean validateToken(String token, UserDetails userDetails) {
-    final String username = extractUsername(token);
-    return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    return validateToken(parseToken(token), userDetails);
+  }
+
+  public boolean isTokenEpochCurrent(ParsedJwt parsedJwt, int currentEpoch) {
+    int tokenEpoch = parsedJwt.getEpoch() == null ? 0 : parsedJwt.getEpoch();
+    return tokenEpoch >= currentEpoch;
   }
   //endregion
-}
\ No newline at end of file
+}
@@ -0,0 +1,132 @@
+package com.birozsombor4.springrestapitemplate.utils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+public class KeyedRateLimiter {
+
+  private static final int MAX_STRIPES = 64;
+  private static final int MIN_KEYS_PER_STRIPE = 1024;
+  private static final int EVICTION_PROBES = 8;
+
+  private final Stripe[] stripes;
+  private final long intervalNanos;
+  private final long burstNanos;
+  private final LongSupplier nanoClock;
+  private final AtomicLong overflows = new AtomicLong();
+
+  public KeyedRateLimiter(int capacity, int refillPerMinute, int maxKeys) {
+    this(capacity, refillPerMinute, maxKeys, System::nanoTime);
+  }
+
+  public KeyedRateLimiter(int capacity, int refillPerMinute, int maxKeys, LongSupplier nanoClock) {
+    this(capacity, refillPerMinute, maxKeys, Math.min(MAX_STRIPES, maxKeys / MIN_KEYS_PER_STRIPE), nanoClock);
+  }
+
+  public KeyedRateLimiter(int capacity, int refillPerMinute, int maxKeys, int stripeCount, LongSupplier nanoClock) {
+    this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+    this.burstNanos = intervalNanos * capacity;
+    this.nanoClock = nanoClock;
+    this.stripes = new Stripe[Math.max(1, stripeCount)];
+    long now = nanoClock.getAsLong();
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = new Stripe(maxKeys / stripes.length + (i < maxKeys % stripes.length ? 1 : 0), now);
+    }
+  }
+
+  public long tryAcquire(String key) {
+    long now = nanoClock.getAsLong();
+    Stripe stripe = stripeFor(key);
+    synchronized (stripe) {
+      AtomicLong arrivalTime = stripe.arrivalTimes.get(key);
+      if (arrivalTime == null) {
+        arrivalTime = track(stripe, key, now);
+      }
+      long next = Math.max(arrivalTime.get(), now) + intervalNanos;
+      long waitNanos = next - now - burstNanos;
+      if (waitNanos > 0) {
+        return waitNanos;
+      }
+      arrivalTime.set(next);
+      return 0;
+    }
+  }
+
+  public int evictIdle() {
+    int evicted = 0;
+    for (Stripe stripe : stripes) {
+      long now = nanoClock.getAsLong();
+      synchronized (stripe) {
+        int sizeBefore = stripe.arrivalTimes.size();
+        stripe.arrivalTimes.values().removeIf(arrivalTime -> arrivalTime.get() - now <= 0);
+        evicted += sizeBefore - stripe.arrivalTimes.size();
+      }
+    }
+    return evicted;
+  }
+
+  public int size() {
+    int size = 0;
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        size += stripe.arrivalTimes.size();
+      }
+    }
+    return size;
+  }
+
+  public long overflows() {
+    return overflows.get();
+  }
+
+  private Stripe stripeFor(String key) {
+    int hash = key.hashCode();
+    return stripes[Math.floorMod(hash ^ (hash >>> 16), stripes.length)];
+  }
+
+  private AtomicLong track(Stripe stripe, String key, long now) {
+    if (stripe.arrivalTimes.size() >= stripe.maxKeys && !evictUnthrottled(stripe, now)) {
+      overflows.incrementAndGet();
+      return stripe.overflowArrivalTime;
+    }
+    AtomicLong arrivalTime = new AtomicLong(now);
+    stripe.arrivalTimes.put(key, arrivalTime);
+    return arrivalTime;
+  }
+
+  private boolean evictUnthrottled(Stripe stripe, long now) {
+    List<Map.Entry<String, AtomicLong>> throttled = new ArrayList<>();
+    Iterator<Map.Entry<String, AtomicLong>> iterator = stripe.arrivalTimes.entrySet().iterator();
+    boolean evicted = false;
+    while (!evicted && throttled.size() < EVICTION_PROBES && iterator.hasNext()) {
+      Map.Entry<String, AtomicLong> entry = iterator.next();
+      iterator.remove();
+      if (entry.getValue().get() - now > burstNanos - intervalNanos) {
+        throttled.add(entry);
+      } else {
+        evicted = true;
+      }
+    }
+    // Throttled keys go back to the end, so the next probe looks at other keys.
+    throttled.forEach(entry -> stripe.arrivalTimes.put(entry.getKey(), entry.getValue()));
+    return evicted;
+  }
+
+  private static final class Stripe {
+
+    private final Map<String, AtomicLong> arrivalTimes = new LinkedHashMap<>();
+    private final AtomicLong overflowArrivalTime;
+    private final int maxKeys;
+
+    private Stripe(int maxKeys, long now) {
+      this.maxKeys = maxKeys;
+      this.overflowArrivalTime = new AtomicLong(now);
+    }
+  }
+}
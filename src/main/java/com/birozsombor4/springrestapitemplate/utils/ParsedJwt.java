@@ -0,0 +1,71 @@
+package com.birozsombor4.springrestapitemplate.utils;
+
+import io.jsonwebtoken.Claims;
+import java.util.Date;
+
+public class ParsedJwt {
+
+  public static final String REQUEST_ATTRIBUTE = ParsedJwt.class.getName();
+
+  private final String token;
+  private final Claims claims;
+  private final String tokenId;
+  private final String username;
+  private final Integer userId;
+  private final Boolean verified;
+  private final Integer epoch;
+  private final Date expiration;
+  private final Date issuedAt;
+
+  public ParsedJwt(String token, Claims claims) {
+    this.token = token;
+    this.claims = claims;
+    this.tokenId = claims.getId();
+    this.username = claims.getSubject();
+    this.userId = (Integer) claims.get("user_id");
+    this.verified = (Boolean) claims.get("verified");
+    this.epoch = (Integer) claims.get("epoch");
+    this.expiration = claims.getExpiration();
+    this.issuedAt = claims.getIssuedAt();
+  }
+
+  public String getToken() {
+    return token;
+  }
+
+  public Claims getClaims() {
+    return claims;
+  }
+
+  public String getTokenId() {
+    return tokenId;
+  }
+
+  public String getUsername() {
+    return username;
+  }
+
+  public Integer getUserId() {
+    return userId;
+  }
+
+  public Boolean getVerified() {
+    return verified;
+  }
+
+  public Integer getEpoch() {
+    return epoch;
+  }
+
+  public Date getExpiration() {
+    return expiration;
+  }
+
+  public Date getIssuedAt() {
+    return issuedAt;
+  }
+
+  public boolean isExpired() {
+    return expiration.before(new Date());
+  }
+}
@@ -0,0 +1,128 @@
+package db.migration;
+
+import com.birozsombor4.springrestapitemplate.models.daos.UuidBinaryConverter;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Locale;
+import java.util.UUID;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class V0_0_8__storeVerificationTokensAsBinary extends BaseJavaMigration {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(V0_0_8__storeVerificationTokensAsBinary.class);
+  private static final String TABLE = "verification_tokens";
+  private static final int BATCH_SIZE = 1000;
+
+  @Override
+  public void migrate(Context context) throws SQLException {
+    Connection connection = context.getConnection();
+    if (!isBinary(getColumnType(connection, "token"))) {
+      if (getColumnType(connection, "token_uuid") == null) {
+        execute(connection, "ALTER TABLE verification_tokens ADD COLUMN token_uuid VARBINARY(16) NULL");
+      }
+      if (getColumnType(connection, "token") != null) {
+        copyTokens(connection);
+        execute(connection, "ALTER TABLE verification_tokens DROP COLUMN token");
+      }
+      execute(connection, renameColumnSql(connection));
+    }
+    execute(connection, notNullSql(connection));
+    if (!hasIndex(connection, "uk_verification_tokens_token")) {
+      execute(connection, "CREATE UNIQUE INDEX uk_verification_tokens_token ON verification_tokens (token)");
+    }
+    if (!hasIndex(connection, "idx_verification_tokens_expiry_date")) {
+      execute(connection, "CREATE INDEX idx_verification_tokens_expiry_date ON verification_tokens (expiry_date)");
+    }
+  }
+
+  private void copyTokens(Connection connection) throws SQLException {
+    try (Statement select = connection.createStatement();
+         ResultSet tokens = select.executeQuery("SELECT id, token FROM verification_tokens WHERE token_uuid IS NULL");
+         PreparedStatement update = connection.prepareStatement(
+             "UPDATE verification_tokens SET token_uuid = ? WHERE id = ?")) {
+      int pending = 0;
+      int regenerated = 0;
+      while (tokens.next()) {
+        String token = tokens.getString("token");
+        if (!UuidBinaryConverter.isValid(token)) {
+          token = UUID.randomUUID().toString();
+          regenerated++;
+        }
+        update.setBytes(1, UuidBinaryConverter.toBytes(token));
+        update.setInt(2, tokens.getInt("id"));
+        update.addBatch();
+        if (++pending == BATCH_SIZE) {
+          update.executeBatch();
+          pending = 0;
+        }
+      }
+      if (pending > 0) {
+        update.executeBatch();
+      }
+      if (regenerated > 0) {
+        LOGGER.warn("Replaced {} verification tokens that were not UUIDs with new random tokens", regenerated);
+      }
+    }
+  }
+
+  private void execute(Connection connection, String sql) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(sql);
+    }
+  }
+
+  private Integer getColumnType(Connection connection, String column) throws SQLException {
+    DatabaseMetaData metaData = connection.getMetaData();
+    try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, toIdentifier(metaData, TABLE),
+        toIdentifier(metaData, column))) {
+      return columns.next() ? columns.getInt("DATA_TYPE") : null;
+    }
+  }
+
+  private boolean isBinary(Integer columnType) {
+    return columnType != null && (columnType == Types.BINARY || columnType == Types.VARBINARY);
+  }
+
+  private boolean hasIndex(Connection connection, String index) throws SQLException {
+    DatabaseMetaData metaData = connection.getMetaData();
+    try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), null, toIdentifier(metaData, TABLE),
+        false, false)) {
+      while (indexes.next()) {
+        if (index.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private String toIdentifier(DatabaseMetaData metaData, String name) throws SQLException {
+    return metaData.storesUpperCaseIdentifiers() ? name.toUpperCase(Locale.ROOT) : name;
+  }
+
+  private boolean isH2(Connection connection) throws SQLException {
+    return "H2".equals(connection.getMetaData().getDatabaseProductName());
+  }
+
+  private String renameColumnSql(Connection connection) throws SQLException {
+    if (isH2(connection)) {
+      return "ALTER TABLE verification_tokens ALTER COLUMN token_uuid RENAME TO token";
+    }
+    return "ALTER TABLE verification_tokens CHANGE COLUMN token_uuid token VARBINARY(16) NULL";
+  }
+
+  private String notNullSql(Connection connection) throws SQLException {
+    if (isH2(connection)) {
+      return "ALTER TABLE verification_tokens ALTER COLUMN token SET NOT NULL";
+    }
+    return "ALTER TABLE verification_tokens MODIFY COLUMN token VARBINARY(16) NOT NULL";
+  }
+}
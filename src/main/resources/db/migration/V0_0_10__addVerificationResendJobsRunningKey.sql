@@ -0,0 +1,9 @@
+ALTER TABLE verification_resend_jobs ADD COLUMN running BIT NULL;
+
+UPDATE verification_resend_jobs SET running = 1
+WHERE id = (SELECT id FROM (SELECT MIN(id) AS id FROM verification_resend_jobs WHERE status = 'RUNNING') AS oldest);
+
+UPDATE verification_resend_jobs SET status = 'CANCELLED', lease_owner = NULL, lease_until = NULL
+WHERE status = 'RUNNING' AND running IS NULL;
+
+ALTER TABLE verification_resend_jobs ADD CONSTRAINT uk_verification_resend_jobs_running UNIQUE (running);
@@ -0,0 +1,10 @@
+CREATE TABLE revoked_tokens
+(
+    token_id   VARCHAR(64) NOT NULL,
+    expires_at DATETIME    NOT NULL,
+    revoked_at DATETIME    NOT NULL,
+    PRIMARY KEY (token_id)
+);
+
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
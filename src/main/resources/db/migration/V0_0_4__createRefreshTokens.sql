@@ -0,0 +1,16 @@
+CREATE TABLE refresh_tokens
+(
+    id          INTEGER UNSIGNED NOT NULL AUTO_INCREMENT,
+    token_hash  VARCHAR(64)      NOT NULL,
+    family_id   VARCHAR(36)      NOT NULL,
+    expires_at  DATETIME         NOT NULL,
+    used_at     DATETIME         NULL,
+    token_epoch INTEGER          NOT NULL,
+    user_id     INTEGER UNSIGNED NOT NULL,
+    PRIMARY KEY (id),
+    FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE UNIQUE INDEX idx_refresh_tokens_token_hash ON refresh_tokens (token_hash);
+CREATE INDEX idx_refresh_tokens_family_id ON refresh_tokens (family_id);
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
@@ -0,0 +1,17 @@
+CREATE TABLE email_outbox
+(
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    recipient          VARCHAR(255) NOT NULL,
+    username           VARCHAR(255) NOT NULL,
+    verification_token VARCHAR(255) NOT NULL,
+    created_at         DATETIME     NOT NULL,
+    next_attempt_at    DATETIME     NOT NULL,
+    attempts           INTEGER      NOT NULL,
+    claim_token        VARCHAR(36)  NULL,
+    claimed_until      DATETIME     NULL,
+    failed_at          DATETIME     NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_email_outbox_next_attempt_at ON email_outbox (next_attempt_at);
+CREATE INDEX idx_email_outbox_claim_token ON email_outbox (claim_token);
@@ -0,0 +1,14 @@
+CREATE TABLE verification_resend_jobs
+(
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    status       VARCHAR(16) NOT NULL,
+    last_user_id INTEGER     NOT NULL,
+    processed    BIGINT      NOT NULL,
+    started_at   DATETIME    NOT NULL,
+    updated_at   DATETIME    NOT NULL,
+    lease_owner  VARCHAR(36) NULL,
+    lease_until  DATETIME    NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_verification_resend_jobs_status ON verification_resend_jobs (status);
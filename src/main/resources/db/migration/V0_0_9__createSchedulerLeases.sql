@@ -0,0 +1,7 @@
+CREATE TABLE scheduler_leases
+(
+    name        VARCHAR(64) NOT NULL,
+    owner       VARCHAR(36) NULL,
+    lease_until DATETIME    NULL,
+    PRIMARY KEY (name)
+);
@@ -1,2 +1,7 @@
+DELETE FROM scheduler_leases;
+DELETE FROM verification_resend_jobs;
+DELETE FROM email_outbox;
+DELETE FROM refresh_tokens;
+DELETE FROM revoked_tokens;
 DELETE FROM verification_tokens;
 DELETE FROM users;
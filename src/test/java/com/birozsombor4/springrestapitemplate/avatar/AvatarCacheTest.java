@@ -0,0 +1,148 @@
+package com.birozsombor4.springrestapitemplate.avatar;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AvatarCacheTest {
+
+  private AvatarCache avatarCache;
+  private long now;
+
+  @Before
+  public void setup() {
+    avatarCache = new AvatarCache(new AvatarConfig("unused", 10, 6, 2, 1000, null, 0), () -> now);
+  }
+
+  @Test
+  public void put_WhenBudgetIsExceeded_EvictsLeastRecentlyUsed() {
+    avatarCache.put("a.png", content(new byte[4]), avatarCache.stamp());
+    avatarCache.put("b.png", content(new byte[4]), avatarCache.stamp());
+    avatarCache.get("a.png");
+
+    avatarCache.put("c.png", content(new byte[4]), avatarCache.stamp());
+
+    Assert.assertNotNull(avatarCache.get("a.png"));
+    Assert.assertNull(avatarCache.get("b.png"));
+    Assert.assertNotNull(avatarCache.get("c.png"));
+    Assert.assertEquals(8, avatarCache.getResidentBytes());
+  }
+
+  @Test
+  public void put_WhenEntryIsLargerThanLimit_ReturnsContentWithoutCaching() {
+    ByteBuffer content = avatarCache.put("large.png", content(new byte[7]), avatarCache.stamp());
+
+    Assert.assertEquals(7, content.remaining());
+    Assert.assertNull(avatarCache.get("large.png"));
+    Assert.assertEquals(0, avatarCache.getResidentBytes());
+  }
+
+  @Test
+  public void put_WhenInvalidatedWhileLoading_DoesNotCacheStaleContent() {
+    long stamp = avatarCache.stamp();
+    avatarCache.invalidate("a.png");
+
+    avatarCache.put("a.png", content(new byte[4]), stamp);
+
+    Assert.assertNull(avatarCache.get("a.png"));
+  }
+
+  @Test
+  public void get_ReturnsIndependentOffHeapView() {
+    avatarCache.put("a.png", content(new byte[] {1, 2, 3}), avatarCache.stamp());
+    avatarCache.get("a.png").get();
+
+    ByteBuffer content = avatarCache.get("a.png");
+
+    Assert.assertTrue(content.isDirect());
+    Assert.assertTrue(content.isReadOnly());
+    Assert.assertEquals(3, content.remaining());
+  }
+
+  @Test
+  public void invalidate_RemovesEntryAndResidentBytes() {
+    avatarCache.put("a.png", content(new byte[4]), avatarCache.stamp());
+
+    avatarCache.invalidate("a.png");
+
+    Assert.assertNull(avatarCache.get("a.png"));
+    Assert.assertEquals(0, avatarCache.getResidentBytes());
+    Assert.assertEquals(0, avatarCache.size());
+  }
+
+  @Test
+  public void putMetadata_WhenLimitIsExceeded_EvictsLeastRecentlyUsed() {
+    avatarCache.putMetadata(new AvatarMetadata("a.png", 4, 1), avatarCache.stamp());
+    avatarCache.putMetadata(new AvatarMetadata("b.png", 4, 1), avatarCache.stamp());
+    avatarCache.getMetadata("a.png");
+
+    avatarCache.putMetadata(new AvatarMetadata("c.png", 4, 1), avatarCache.stamp());
+
+    Assert.assertNotNull(avatarCache.getMetadata("a.png"));
+    Assert.assertNull(avatarCache.getMetadata("b.png"));
+    Assert.assertNotNull(avatarCache.getMetadata("c.png"));
+  }
+
+  @Test
+  public void putMetadata_WhenInvalidatedWhileReading_DoesNotCacheStaleMetadata() {
+    long stamp = avatarCache.stamp();
+    avatarCache.invalidate("a.png");
+
+    avatarCache.putMetadata(new AvatarMetadata("a.png", 4, 1), stamp);
+
+    Assert.assertNull(avatarCache.getMetadata("a.png"));
+  }
+
+  @Test
+  public void getMetadata_AfterRevalidationInterval_ReturnsNull() {
+    avatarCache.putMetadata(new AvatarMetadata("a.png", 4, 1), avatarCache.stamp());
+
+    now += TimeUnit.MILLISECONDS.toNanos(1000);
+
+    Assert.assertNull(avatarCache.getMetadata("a.png"));
+  }
+
+  @Test
+  public void putMetadata_WithChangedFile_DropsCachedContent() {
+    avatarCache.putMetadata(new AvatarMetadata("a.png", 4, 1), avatarCache.stamp());
+    avatarCache.put("a.png", content(new byte[4]), avatarCache.stamp());
+    now += TimeUnit.MILLISECONDS.toNanos(1000);
+
+    avatarCache.putMetadata(new AvatarMetadata("a.png", 5, 2), avatarCache.stamp());
+
+    Assert.assertNull(avatarCache.get("a.png"));
+    Assert.assertNull(avatarCache.getMetadata("a.png"));
+    Assert.assertEquals(0, avatarCache.getResidentBytes());
+  }
+
+  @Test
+  public void putMetadata_WithUnchangedFile_KeepsCachedContent() {
+    avatarCache.putMetadata(new AvatarMetadata("a.png", 4, 1), avatarCache.stamp());
+    avatarCache.put("a.png", content(new byte[4]), avatarCache.stamp());
+    now += TimeUnit.MILLISECONDS.toNanos(1000);
+
+    avatarCache.putMetadata(new AvatarMetadata("a.png", 4, 1), avatarCache.stamp());
+
+    Assert.assertNotNull(avatarCache.get("a.png"));
+    Assert.assertNotNull(avatarCache.getMetadata("a.png"));
+  }
+
+  @Test
+  public void putMetadata_WhenMetadataCacheIsDisabled_KeepsCachedContent() {
+    avatarCache = new AvatarCache(new AvatarConfig("unused", 10, 6, 0, 1000, null, 0), () -> now);
+    avatarCache.put("a.png", content(new byte[4]), avatarCache.stamp());
+
+    avatarCache.putMetadata(new AvatarMetadata("a.png", 4, 1), avatarCache.stamp());
+
+    Assert.assertNull(avatarCache.getMetadata("a.png"));
+    Assert.assertNotNull(avatarCache.get("a.png"));
+  }
+
+  private ByteBuffer content(byte[] bytes) {
+    ByteBuffer content = ByteBuffer.allocateDirect(bytes.length);
+    content.put(bytes).flip();
+    return content;
+  }
+}
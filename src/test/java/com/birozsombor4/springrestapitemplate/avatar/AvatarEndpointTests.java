@@ -2,6 +2,7 @@ package com.birozsombor4.springrestapitemplate.avatar;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
@@ -12,7 +13,9 @@ import com.birozsombor4.springrestapitemplate.models.daos.User;
 import com.birozsombor4.springrestapitemplate.respositories.UserRepository;
 import com.birozsombor4.springrestapitemplate.security.UserDetailsImpl;
 import com.birozsombor4.springrestapitemplate.utils.JwtUtil;
+import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -29,6 +32,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 
 @SpringBootTest
@@ -51,6 +55,8 @@ public class AvatarEndpointTests {
   private AvatarConfig avatarConfig;
   @Autowired
   private AvatarService avatarService;
+  @Autowired
+  private AvatarCache avatarCache;
   private String jwt;
 
   @Before
@@ -159,4 +165,168 @@ public class AvatarEndpointTests {
         .andExpect(header().stringValues(HttpHeaders.CONTENT_TYPE, "image/png"))
         .andExpect(content().contentType(MediaType.IMAGE_PNG));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void getAvatar_WhenUserAndImageExist_ReturnsValidatorsAndCacheControl() throws Exception {
+    mockMvc.perform(get("/avatar/1")
+        .header("Authorization", "Bearer " + jwt))
+        .andExpect(status().isOk())
+        .andExpect(header().stringValues(HttpHeaders.ETAG, avatarService.getAvatarMetadata("default.png").getETag()))
+        .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, avatarConfig.getCacheControl()));
+  }
+
+  @Test
+  public void getAvatar_WithMatchingIfNoneMatch_ReturnsNotModifiedWithoutReadingFile() throws Exception {
+    String etag = mockMvc.perform(get("/avatar/1")
+        .header("Authorization", "Bearer " + jwt))
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    avatarCache.invalidateAll();
+
+    mockMvc.perform(get("/avatar/1")
+        .header("Authorization", "Bearer " + jwt)
+        .header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, etag))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, avatarConfig.getCacheControl()))
+        .andExpect(content().bytes(new byte[0]));
+
+    Assert.assertEquals(0, avatarCache.size());
+  }
+
+  @Test
+  public void getAvatar_WithIfModifiedSinceLastModified_ReturnsNotModified() throws Exception {
+    String lastModified = mockMvc.perform(get("/avatar/1")
+        .header("Authorization", "Bearer " + jwt))
+        .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+    mockMvc.perform(get("/avatar/1")
+        .header("Authorization", "Bearer " + jwt)
+        .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+        .andExpect(status().isNotModified())
+        .andExpect(content().bytes(new byte[0]));
+  }
+
+  @Test
+  public void getAvatar_WithStaleIfNoneMatch_ReturnsAvatar() throws Exception {
+    mockMvc.perform(get("/avatar/1")
+        .header("Authorization", "Bearer " + jwt)
+        .header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.IMAGE_PNG));
+  }
+
+  @Test
+  public void getAvatar_WithRange_ReturnsPartialContent() throws Exception {
+    byte[] avatar = Files.readAllBytes(Paths.get(avatarConfig.getLocation()).resolve("default.png"));
+
+    mockMvc.perform(get("/avatar/1")
+        .header("Authorization", "Bearer " + jwt)
+        .header(HttpHeaders.RANGE, "bytes=10-19"))
+        .andExpect(status().isPartialContent())
+        .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-19/" + avatar.length))
+        .andExpect(content().bytes(Arrays.copyOfRange(avatar, 10, 20)));
+  }
+
+  @Test
+  public void getAvatar_WithRangeBeyondFile_ReturnsRangeNotSatisfiable() throws Exception {
+    long size = avatarService.getAvatarMetadata("default.png").getSize();
+
+    mockMvc.perform(get("/avatar/1")
+        .header("Authorization", "Bearer " + jwt)
+        .header(HttpHeaders.RANGE, "bytes=" + size + "-"))
+        .andExpect(status().isRequestedRangeNotSatisfiable())
+        .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + size));
+  }
+
+  @Test
+  public void getAvatar_WithRangeAndStaleIfRange_ReturnsWholeAvatar() throws Exception {
+    long size = avatarService.getAvatarMetadata("default.png").getSize();
+
+    mockMvc.perform(get("/avatar/1")
+        .header("Authorization", "Bearer " + jwt)
+        .header(HttpHeaders.RANGE, "bytes=10-19")
+        .header(HttpHeaders.IF_RANGE, "\"stale\""))
+        .andExpect(status().isOk())
+        .andExpect(content().bytes(Files.readAllBytes(Paths.get(avatarConfig.getLocation()).resolve("default.png"))))
+        .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, size));
+  }
+
+  @Test
+  public void getAvatar_WithMultipleRanges_ReturnsWholeAvatar() throws Exception {
+    byte[] avatar = Files.readAllBytes(Paths.get(avatarConfig.getLocation()).resolve("default.png"));
+
+    mockMvc.perform(get("/avatar/1")
+        .header("Authorization", "Bearer " + jwt)
+        .header(HttpHeaders.RANGE, "bytes=0-9,20-29"))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+        .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, avatar.length))
+        .andExpect(content().bytes(avatar));
+  }
+
+  @Test
+  public void getAvatar_WithMalformedRange_ReturnsWholeAvatar() throws Exception {
+    byte[] avatar = Files.readAllBytes(Paths.get(avatarConfig.getLocation()).resolve("default.png"));
+
+    mockMvc.perform(get("/avatar/1")
+        .header("Authorization", "Bearer " + jwt)
+        .header(HttpHeaders.RANGE, "bytes=20-10"))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+        .andExpect(content().bytes(avatar));
+  }
+
+  @Test
+  public void getAvatar_WithMultipleRangesAndSendfile_HandsWholeFileToContainer() throws Exception {
+    long size = avatarService.getAvatarMetadata("default.png").getSize();
+    avatarCache.invalidateAll();
+
+    MvcResult result = mockMvc.perform(get("/avatar/1")
+        .header("Authorization", "Bearer " + jwt)
+        .header(HttpHeaders.RANGE, "bytes=0-9,20-29")
+        .requestAttr(AvatarSendfile.SUPPORT_ATTRIBUTE, Boolean.TRUE))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+        .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, size))
+        .andReturn();
+
+    Assert.assertEquals(0L, result.getRequest().getAttribute(AvatarSendfile.START_ATTRIBUTE));
+    Assert.assertEquals(size, result.getRequest().getAttribute(AvatarSendfile.END_ATTRIBUTE));
+  }
+
+  @Test
+  public void getAvatar_WhenContainerSupportsSendfile_HandsFileRangeToContainer() throws Exception {
+    long size = avatarService.getAvatarMetadata("default.png").getSize();
+
+    MvcResult result = mockMvc.perform(get("/avatar/1")
+        .header("Authorization", "Bearer " + jwt)
+        .header(HttpHeaders.RANGE, "bytes=100-")
+        .requestAttr(AvatarSendfile.SUPPORT_ATTRIBUTE, Boolean.TRUE))
+        .andExpect(status().isPartialContent())
+        .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 100-" + (size - 1) + "/" + size))
+        .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, size - 100))
+        .andExpect(content().bytes(new byte[0]))
+        .andReturn();
+
+    Assert.assertEquals(Paths.get(avatarConfig.getLocation()).resolve("default.png").toAbsolutePath().normalize()
+        .toString(), result.getRequest().getAttribute(AvatarSendfile.FILENAME_ATTRIBUTE));
+    Assert.assertEquals(100L, result.getRequest().getAttribute(AvatarSendfile.START_ATTRIBUTE));
+    Assert.assertEquals(size, result.getRequest().getAttribute(AvatarSendfile.END_ATTRIBUTE));
+  }
+
+  @Test
+  public void headAvatar_WhenContainerSupportsSendfile_DoesntHandFileToContainer() throws Exception {
+    long size = avatarService.getAvatarMetadata("default.png").getSize();
+    avatarCache.invalidateAll();
+
+    MvcResult result = mockMvc.perform(head("/avatar/1")
+        .header("Authorization", "Bearer " + jwt)
+        .requestAttr(AvatarSendfile.SUPPORT_ATTRIBUTE, Boolean.TRUE))
+        .andExpect(status().isOk())
+        .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, size))
+        .andReturn();
+
+    Assert.assertNull(result.getRequest().getAttribute(AvatarSendfile.FILENAME_ATTRIBUTE));
+  }
+}
@@ -0,0 +1,126 @@
+package com.birozsombor4.springrestapitemplate.avatar;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.birozsombor4.springrestapitemplate.models.daos.User;
+import com.birozsombor4.springrestapitemplate.respositories.UserRepository;
+import com.birozsombor4.springrestapitemplate.security.UserDetailsImpl;
+import com.birozsombor4.springrestapitemplate.utils.JwtUtil;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@TestPropertySource(properties = {
+    "avatars.sendfile.min-bytes=4096",
+    "avatars.cache.max-entry-bytes=65536"
+})
+@Sql(value = {"/db/test/insert_fakeUser.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/db/test/clear_allTable.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class AvatarSendfileCacheTests {
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private UserDetailsService userDetailsService;
+  @Autowired
+  private JwtUtil jwtUtil;
+  @Autowired
+  private AvatarService avatarService;
+  @Autowired
+  private AvatarCache avatarCache;
+  private String jwt;
+
+  @Before
+  public void before() {
+    UserDetailsImpl fakeUserDetails = (UserDetailsImpl) userDetailsService.loadUserByUsername("fakeUser");
+    jwt = jwtUtil.generateToken(fakeUserDetails);
+    avatarCache.invalidateAll();
+  }
+
+  @After
+  public void tearDown() {
+    avatarService.deleteAllCustomAvatar();
+  }
+
+  @Test
+  public void getAvatar_BelowSendfileThreshold_ServesFromCache() throws Exception {
+    byte[] avatar = Files.readAllBytes(Paths.get("./src/test/java/resources/avatars/default.png"));
+
+    getAvatarWithSendfileSupport();
+    MvcResult result = getAvatarWithSendfileSupport();
+
+    Assert.assertArrayEquals(avatar, result.getResponse().getContentAsByteArray());
+    Assert.assertNull(result.getRequest().getAttribute(AvatarSendfile.FILENAME_ATTRIBUTE));
+    Assert.assertEquals(1, avatarCache.size());
+  }
+
+  @Test
+  public void getAvatar_AtSendfileThreshold_UsesSendfileWithoutCaching() throws Exception {
+    attachLargeAvatar();
+
+    MvcResult result = getAvatarWithSendfileSupport();
+
+    Assert.assertEquals(0, result.getResponse().getContentAsByteArray().length);
+    Assert.assertNotNull(result.getRequest().getAttribute(AvatarSendfile.FILENAME_ATTRIBUTE));
+    Assert.assertEquals(0, avatarCache.size());
+  }
+
+  @Test
+  public void getAvatar_WhenLargeAvatarIsAlreadyCached_ServesFromCacheInsteadOfSendfile() throws Exception {
+    byte[] avatar = attachLargeAvatar();
+    mockMvc.perform(get("/avatar/1")
+        .header("Authorization", "Bearer " + jwt))
+        .andExpect(status().isOk());
+
+    MvcResult result = getAvatarWithSendfileSupport();
+
+    Assert.assertArrayEquals(avatar, result.getResponse().getContentAsByteArray());
+    Assert.assertNull(result.getRequest().getAttribute(AvatarSendfile.FILENAME_ATTRIBUTE));
+    Assert.assertEquals(avatar.length, avatarCache.getResidentBytes());
+  }
+
+  private MvcResult getAvatarWithSendfileSupport() throws Exception {
+    return mockMvc.perform(get("/avatar/1")
+        .header("Authorization", "Bearer " + jwt)
+        .requestAttr(AvatarSendfile.SUPPORT_ATTRIBUTE, Boolean.TRUE))
+        .andExpect(status().isOk())
+        .andExpect(header().exists("ETag"))
+        .andExpect(content().contentType(MediaType.IMAGE_PNG))
+        .andReturn();
+  }
+
+  private byte[] attachLargeAvatar() throws IOException {
+    byte[] avatar = new byte[8192];
+    User user = userRepository.findById(1).get();
+    user.setAvatar(avatarService.renameAndStore(new MockMultipartFile("image", "image.png",
+        String.valueOf(MediaType.IMAGE_PNG), avatar), 1));
+    userRepository.save(user);
+    return avatar;
+  }
+}
@@ -6,7 +6,10 @@ import com.birozsombor4.springrestapitemplate.exceptions.UnsupportedContentTypeE
 import com.birozsombor4.springrestapitemplate.exceptions.UnsupportedFileNameException;
 import java.io.IOException;
 import java.net.MalformedURLException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -14,17 +17,22 @@ import org.junit.Test;
 import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 public class AvatarServiceTest {
 
   private AvatarConfig avatarConfig;
+  private AvatarCache avatarCache;
   private AvatarService avatarService;
+  private long now;
 
   @Before
   public void before() {
-    avatarConfig = new AvatarConfig("./src/test/java/resources/avatars");
-    avatarService = new AvatarServiceImpl(avatarConfig);
+    avatarConfig = new AvatarConfig("./src/test/java/resources/avatars", 1024 * 1024, 1024 * 1024, 100, 1000, null,
+        0);
+    avatarCache = new AvatarCache(avatarConfig, () -> now);
+    avatarService = new AvatarServiceImpl(avatarConfig, avatarCache);
   }
 
   @After
@@ -89,6 +97,83 @@ public class AvatarServiceTest {
     Assert.assertEquals("default.png", resource.getFilename());
   }
 
+  @Test
+  public void loadAvatarAsResource_WhenLoadedTwice_ServesCachedContent() throws IOException {
+    Resource first = avatarService.loadAvatarAsResource("default.png");
+    Resource second = avatarService.loadAvatarAsResource("default.png");
+
+    Assert.assertEquals(Files.size(Paths.get(avatarConfig.getLocation()).resolve("default.png")),
+        second.contentLength());
+    Assert.assertArrayEquals(StreamUtils.copyToByteArray(first.getInputStream()),
+        StreamUtils.copyToByteArray(second.getInputStream()));
+    Assert.assertEquals(0.5, avatarCache.getHitRatio(), 0);
+    Assert.assertEquals(second.contentLength(), avatarCache.getResidentBytes());
+  }
+
+  @Test
+  public void loadAvatarAsResource_AfterAvatarReplaced_ReturnsNewContent() throws IOException {
+    avatarService.renameAndStore(new MockMultipartFile("image", "image.png", String.valueOf(MediaType.IMAGE_PNG),
+        "old".getBytes()), 1);
+    avatarService.loadAvatarAsResource("1.png");
+
+    avatarService.renameAndStore(new MockMultipartFile("image", "image.png", String.valueOf(MediaType.IMAGE_PNG),
+        "new".getBytes()), 1);
+
+    Resource resource = avatarService.loadAvatarAsResource("1.png");
+    Assert.assertEquals("new", StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void readAvatarAsResource_WhenFileChangedSinceMetadataWasRecorded_ReadsItWithoutCaching() throws IOException {
+    String filename = avatarService.renameAndStore(new MockMultipartFile("image", "image.png",
+        String.valueOf(MediaType.IMAGE_PNG), "content".getBytes()), 1);
+    Files.write(Paths.get(avatarConfig.getLocation()).resolve(filename), "changed on disk".getBytes());
+
+    Resource resource = avatarService.readAvatarAsResource(filename);
+
+    Assert.assertEquals("changed on disk", StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8));
+    Assert.assertEquals(0, avatarCache.size());
+  }
+
+  @Test
+  public void getAvatarMetadata_WithinRevalidationInterval_DoesNotReadFileAttributes() throws IOException {
+    String filename = avatarService.renameAndStore(new MockMultipartFile("image", "image.png",
+        String.valueOf(MediaType.IMAGE_PNG), "content".getBytes()), 1);
+    AvatarMetadata stored = avatarService.getAvatarMetadata(filename);
+
+    Files.write(Paths.get(avatarConfig.getLocation()).resolve(filename), "changed on disk".getBytes());
+    now += TimeUnit.MILLISECONDS.toNanos(999);
+
+    Assert.assertEquals(7, stored.getSize());
+    Assert.assertSame(stored, avatarService.getAvatarMetadata(filename));
+  }
+
+  @Test
+  public void loadAvatarAsResource_AfterRevalidationInterval_ReturnsContentChangedByAnotherNode() throws IOException {
+    String filename = avatarService.renameAndStore(new MockMultipartFile("image", "image.png",
+        String.valueOf(MediaType.IMAGE_PNG), "content".getBytes()), 1);
+    avatarService.loadAvatarAsResource(filename);
+
+    Files.write(Paths.get(avatarConfig.getLocation()).resolve(filename), "changed on disk".getBytes());
+    now += TimeUnit.MILLISECONDS.toNanos(1000);
+
+    Assert.assertEquals(15, avatarService.getAvatarMetadata(filename).getSize());
+    Resource resource = avatarService.loadAvatarAsResource(filename);
+    Assert.assertEquals("changed on disk", StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void getAvatarMetadata_AfterAvatarReplaced_ReturnsNewSize() throws IOException {
+    avatarService.renameAndStore(new MockMultipartFile("image", "image.png", String.valueOf(MediaType.IMAGE_PNG),
+        "old".getBytes()), 1);
+    avatarService.getAvatarMetadata("1.png");
+
+    avatarService.renameAndStore(new MockMultipartFile("image", "image.png", String.valueOf(MediaType.IMAGE_PNG),
+        "newer".getBytes()), 1);
+
+    Assert.assertEquals(5, avatarService.getAvatarMetadata("1.png").getSize());
+  }
+
   @Test
   public void deleteAvatar_WithExistingFile_DeleteSelectedAvatar() throws IOException {
     MultipartFile fakeFile = new MockMultipartFile("image", "image.png", String.valueOf(MediaType.IMAGE_PNG),
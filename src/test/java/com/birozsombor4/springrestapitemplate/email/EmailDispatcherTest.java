@@ -0,0 +1,179 @@
+package com.birozsombor4.springrestapitemplate.email;
+
+import com.birozsombor4.springrestapitemplate.exceptions.EmailDispatchUnavailableException;
+import com.birozsombor4.springrestapitemplate.exceptions.RecipientRejectedException;
+import com.birozsombor4.springrestapitemplate.models.daos.EmailOutboxMessage;
+import com.birozsombor4.springrestapitemplate.respositories.EmailOutboxRepository;
+import com.birozsombor4.springrestapitemplate.utils.CircuitBreaker;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.MailSendException;
+
+public class EmailDispatcherTest {
+
+  private final AtomicLong clock = new AtomicLong();
+  private final LocalDateTime databaseTime = LocalDateTime.of(2020, 6, 5, 12, 0);
+  private EmailService emailService;
+  private EmailOutboxRepository emailOutboxRepository;
+  private EmailDispatcher emailDispatcher;
+  private EmailOutboxMessage message;
+
+  @Before
+  public void setup() {
+    emailService = Mockito.mock(EmailService.class);
+    emailOutboxRepository = Mockito.mock(EmailOutboxRepository.class);
+    message = new EmailOutboxMessage("fakeEmail@fake.com", "fakeUser", "fakeToken");
+    message.setId(1L);
+    Mockito.when(emailOutboxRepository.findClaimableIds(Mockito.any(), Mockito.any(Pageable.class)))
+        .thenReturn(Collections.singletonList(1L));
+    Mockito.when(emailOutboxRepository.claim(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenReturn(1);
+    Mockito.when(emailOutboxRepository.findAllByClaimToken(Mockito.any()))
+        .thenReturn(Collections.singletonList(message));
+    Mockito.when(emailOutboxRepository.currentTimestamp()).thenReturn(databaseTime);
+    Mockito.when(emailOutboxRepository.renewClaim(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenReturn(1);
+  }
+
+  @After
+  public void tearDown() {
+    emailDispatcher.shutdown();
+  }
+
+  @Test
+  public void relay_WithClaimedMessage_SendsAndDeletesIt() {
+    emailDispatcher = new EmailDispatcher(emailService, emailOutboxRepository, config(3));
+
+    Assert.assertEquals(1, emailDispatcher.relay());
+
+    Mockito.verify(emailService, Mockito.timeout(5000))
+        .sendVerificationEmail("fakeUser", "fakeEmail@fake.com", "fakeToken");
+    Mockito.verify(emailOutboxRepository, Mockito.timeout(5000)).deleteClaimed(Mockito.eq(1L), Mockito.any());
+  }
+
+  @Test
+  public void relay_WhenClaimedByAnotherNode_SendsNothing() {
+    Mockito.when(emailOutboxRepository.claim(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenReturn(0);
+    emailDispatcher = new EmailDispatcher(emailService, emailOutboxRepository, config(3));
+
+    Assert.assertEquals(0, emailDispatcher.relay());
+
+    Mockito.verify(emailOutboxRepository, Mockito.never()).findAllByClaimToken(Mockito.any());
+    Mockito.verifyNoInteractions(emailService);
+  }
+
+  @Test
+  public void relay_WhenClaimExpiredBeforeSending_SkipsMessage() {
+    Mockito.when(emailOutboxRepository.renewClaim(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenReturn(0);
+    emailDispatcher = new EmailDispatcher(emailService, emailOutboxRepository, config(3));
+
+    Assert.assertEquals(1, emailDispatcher.relay());
+
+    Mockito.verify(emailOutboxRepository, Mockito.timeout(5000)).renewClaim(Mockito.eq(1L), Mockito.any(),
+        Mockito.any(), Mockito.any());
+    Mockito.verifyNoInteractions(emailService);
+    Mockito.verify(emailOutboxRepository, Mockito.never()).deleteClaimed(Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  public void relay_ClaimsOnlyWhatWorkersCanSendWithinLease() {
+    emailDispatcher = new EmailDispatcher(emailService, emailOutboxRepository,
+        new EmailDispatchConfig(2, 1000, 3, 10, 100, 20000, 5, 1000, 1000, 60000));
+
+    emailDispatcher.relay();
+
+    Mockito.verify(emailOutboxRepository).findClaimableIds(Mockito.any(),
+        Mockito.argThat(pageable -> pageable.getPageSize() == 6));
+  }
+
+  @Test
+  public void relay_WithTransientFailure_ReleasesMessageForLaterAttempt() {
+    Mockito.doThrow(new MailSendException("relay down"))
+        .when(emailService).sendVerificationEmail(Mockito.any(), Mockito.any(), Mockito.any());
+    emailDispatcher = new EmailDispatcher(emailService, emailOutboxRepository, config(3));
+
+    emailDispatcher.relay();
+
+    Mockito.verify(emailOutboxRepository, Mockito.timeout(5000)).releaseClaimed(Mockito.eq(1L), Mockito.any(),
+        Mockito.eq(1), Mockito.argThat(nextAttemptAt -> nextAttemptAt.isAfter(databaseTime)
+            && nextAttemptAt.isBefore(databaseTime.plusSeconds(1))), Mockito.isNull());
+    Assert.assertEquals(1, emailDispatcher.getFailures());
+    Assert.assertEquals(0, emailDispatcher.getDropped());
+  }
+
+  @Test
+  public void relay_WhenAttemptsAreExhausted_MarksMessageAsFailed() {
+    Mockito.doThrow(new MailSendException("relay down"))
+        .when(emailService).sendVerificationEmail(Mockito.any(), Mockito.any(), Mockito.any());
+    message.setAttempts(2);
+    emailDispatcher = new EmailDispatcher(emailService, emailOutboxRepository, config(3));
+
+    emailDispatcher.relay();
+
+    Mockito.verify(emailOutboxRepository, Mockito.timeout(5000)).releaseClaimed(Mockito.eq(1L), Mockito.any(),
+        Mockito.eq(3), Mockito.eq(databaseTime), Mockito.eq(databaseTime));
+    Assert.assertEquals(1, emailDispatcher.getDropped());
+  }
+
+  @Test
+  public void relay_WithRejectedRecipient_GivesUpWithoutOpeningCircuit() {
+    Mockito.doThrow(new RecipientRejectedException("recipient rejected", null))
+        .when(emailService).sendVerificationEmail(Mockito.any(), Mockito.any(), Mockito.any());
+    CircuitBreaker circuitBreaker = new CircuitBreaker(1, 1000, clock::get);
+    emailDispatcher = new EmailDispatcher(emailService, emailOutboxRepository, config(3), circuitBreaker);
+
+    emailDispatcher.relay();
+
+    Mockito.verify(emailOutboxRepository, Mockito.timeout(5000)).releaseClaimed(Mockito.eq(1L), Mockito.any(),
+        Mockito.eq(1), Mockito.any(), Mockito.notNull());
+    Assert.assertEquals(1, emailDispatcher.getDropped());
+    Assert.assertFalse(circuitBreaker.isOpen());
+  }
+
+  @Test
+  public void relay_WhenCircuitIsOpen_DoesNotClaimMessages() {
+    CircuitBreaker circuitBreaker = new CircuitBreaker(1, 1000, clock::get);
+    emailDispatcher = new EmailDispatcher(emailService, emailOutboxRepository, config(3), circuitBreaker);
+    circuitBreaker.recordFailure();
+
+    Assert.assertEquals(0, emailDispatcher.relay());
+
+    Mockito.verifyNoInteractions(emailOutboxRepository);
+  }
+
+  @Test(expected = EmailDispatchUnavailableException.class)
+  public void checkAvailable_WhenCircuitIsOpen_ThrowsEmailDispatchUnavailableException() {
+    CircuitBreaker circuitBreaker = new CircuitBreaker(2, 1000, clock::get);
+    emailDispatcher = new EmailDispatcher(emailService, emailOutboxRepository, config(3), circuitBreaker);
+    circuitBreaker.recordFailure();
+    emailDispatcher.checkAvailable();
+    circuitBreaker.recordFailure();
+
+    emailDispatcher.checkAvailable();
+  }
+
+  @Test
+  public void checkAvailable_AfterOpenPeriod_AllowsDispatch() {
+    CircuitBreaker circuitBreaker = new CircuitBreaker(1, 1000, clock::get);
+    emailDispatcher = new EmailDispatcher(emailService, emailOutboxRepository, config(3), circuitBreaker);
+    circuitBreaker.recordFailure();
+    clock.addAndGet(1000);
+
+    emailDispatcher.checkAvailable();
+
+    Assert.assertFalse(circuitBreaker.isOpen());
+  }
+
+  private EmailDispatchConfig config(int maxAttempts) {
+    return new EmailDispatchConfig(1, 10, maxAttempts, 10, 100, 1000, 5, 1000, 10, 60000);
+  }
+}
@@ -0,0 +1,142 @@
+package com.birozsombor4.springrestapitemplate.email;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.birozsombor4.springrestapitemplate.models.daos.VerificationToken;
+import com.birozsombor4.springrestapitemplate.respositories.UserRepository;
+import com.birozsombor4.springrestapitemplate.respositories.VerificationTokenRepository;
+import com.birozsombor4.springrestapitemplate.security.VerificationLinkSigner;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import java.time.LocalDateTime;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {"registration.signed-verification-links.enabled=true",
+    "registration.signed-verification-links.secret=c2lnbmVkVmVyaWZ5RW5kcG9pbnRTZWNyZXQ="})
+@Sql(value = {"/db/test/clear_allTable.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class SignedVerifyEndpointTests {
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private VerificationTokenRepository verificationTokenRepository;
+  @Autowired
+  private VerificationLinkSigner verificationLinkSigner;
+  private GreenMail smtpServer;
+  private String verificationLink;
+
+  @Before
+  public void setup() throws Exception {
+    smtpServer = new GreenMail(ServerSetupTest.SMTP);
+    smtpServer.start();
+    mockMvc.perform(post("/register")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\n"
+            + "\"username\": \"fakeUsername\",\n"
+            + "\"email\": \"fakeEmail@fake.com\",\n"
+            + "\"password\": \"fakePassword\"\n"
+            + "}"));
+    Assert.assertTrue(smtpServer.waitForIncomingEmail(5000, 1));
+    verificationLink = readVerificationLink(0);
+  }
+
+  @After
+  public void tearDown() {
+    smtpServer.stop();
+  }
+
+  @Test
+  public void verifyUser_WithSignedLink_VerifiesUser() throws Exception {
+    Assert.assertTrue(verificationLink.contains("."));
+
+    mockMvc.perform(get("/verify?token=" + verificationLink))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status", is("ok")))
+        .andExpect(jsonPath("$.message", is("fakeUsername has verified.")));
+
+    Assert.assertTrue(userRepository.findByUsername("fakeUsername").get().isVerified());
+  }
+
+  @Test
+  public void verifyUser_WithSignedLinkUsedTwice_ReturnsAlreadyVerifiedError() throws Exception {
+    mockMvc.perform(get("/verify?token=" + verificationLink))
+        .andExpect(status().isOk());
+
+    mockMvc.perform(get("/verify?token=" + verificationLink))
+        .andExpect(status().isForbidden())
+        .andExpect(jsonPath("$.message", is("fakeUsername has already verified.")));
+  }
+
+  @Test
+  public void verifyUser_WithRandomTokenIssuedBeforeMigration_VerifiesUser() throws Exception {
+    String randomToken = verificationTokenRepository.findAll().iterator().next().getToken();
+
+    mockMvc.perform(get("/verify?token=" + randomToken))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.message", is("fakeUsername has verified.")));
+  }
+
+  @Test
+  public void verifyUser_WithTamperedSignedLink_ReturnsNotFound() throws Exception {
+    String tamperedLink = verificationLink.substring(0, verificationLink.length() - 2)
+        + (verificationLink.endsWith("AA") ? "BB" : "AA");
+
+    mockMvc.perform(get("/verify?token=" + tamperedLink))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.message", is("Verification token does not exist.")));
+
+    Assert.assertFalse(userRepository.findByUsername("fakeUsername").get().isVerified());
+  }
+
+  @Test
+  public void verifyUser_WithExpiredSignedLink_SendsARenewedLinkThatVerifies() throws Exception {
+    VerificationToken token = verificationTokenRepository.findAll().iterator().next();
+    token.setExpiryDate(LocalDateTime.now().minusHours(24));
+    verificationTokenRepository.save(token);
+    String expiredLink = verificationLinkSigner.encode(userRepository.findByUsername("fakeUsername").get().getId(),
+        "fakeUsername", token);
+    mockMvc.perform(get("/verify?token=" + expiredLink))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.message", is("Email verification link has expired. We'll send "
+            + "another for your email: fakeEmail@fake.com")));
+    Assert.assertTrue(smtpServer.waitForIncomingEmail(5000, 2));
+    String renewedLink = readVerificationLink(1);
+
+    mockMvc.perform(get("/verify?token=" + expiredLink))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.message", is("Email verification link has expired. We'll send "
+            + "another for your email: fakeEmail@fake.com")));
+    mockMvc.perform(get("/verify?token=" + renewedLink))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.message", is("fakeUsername has verified.")));
+  }
+
+  private String readVerificationLink(int messageIndex) throws Exception {
+    String verificationEmailContent = (String) smtpServer.getReceivedMessages()[messageIndex].getContent();
+    int tokenStartIndex = verificationEmailContent.indexOf("?token=") + 7;
+    return verificationEmailContent.substring(tokenStartIndex, verificationEmailContent.indexOf('"', tokenStartIndex));
+  }
+}
@@ -0,0 +1,162 @@
+package com.birozsombor4.springrestapitemplate.email;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.birozsombor4.springrestapitemplate.exceptions.RecipientRejectedException;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+public class SmtpConnectionPoolTest {
+
+  private final AtomicLong clock = new AtomicLong();
+  private GreenMail smtpServer;
+  private SmtpConnectionPool smtpConnectionPool;
+
+  @Before
+  public void setup() {
+    smtpServer = new GreenMail(ServerSetupTest.SMTP);
+    smtpServer.start();
+  }
+
+  @After
+  public void tearDown() {
+    smtpConnectionPool.close();
+    smtpServer.stop();
+  }
+
+  @Test
+  public void send_MultipleMessages_ReusesOneConnection() throws MessagingException {
+    smtpConnectionPool = new SmtpConnectionPool(config(100, 60), new MailProperties(), clock::get);
+
+    for (int i = 0; i < 3; i++) {
+      smtpConnectionPool.send(message(i));
+    }
+
+    Assert.assertEquals(3, smtpServer.getReceivedMessages().length);
+    Assert.assertEquals(1, smtpConnectionPool.getOpenedConnections());
+    Assert.assertEquals(1, smtpConnectionPool.getIdleConnections());
+  }
+
+  @Test
+  public void send_AfterMaxMessagesPerConnection_RecyclesConnection() throws MessagingException {
+    smtpConnectionPool = new SmtpConnectionPool(config(2, 60), new MailProperties(), clock::get);
+
+    for (int i = 0; i < 5; i++) {
+      smtpConnectionPool.send(message(i));
+    }
+
+    Assert.assertEquals(5, smtpServer.getReceivedMessages().length);
+    Assert.assertEquals(3, smtpConnectionPool.getOpenedConnections());
+  }
+
+  @Test
+  public void send_AfterMaxConnectionAge_RecyclesConnection() throws MessagingException {
+    smtpConnectionPool = new SmtpConnectionPool(config(100, 60), new MailProperties(), clock::get);
+    smtpConnectionPool.send(message(0));
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+    smtpConnectionPool.send(message(1));
+
+    Assert.assertEquals(2, smtpServer.getReceivedMessages().length);
+    Assert.assertEquals(2, smtpConnectionPool.getOpenedConnections());
+  }
+
+  @Test
+  public void send_WhenPooledConnectionWasDropped_ReconnectsAndSends() throws MessagingException {
+    smtpConnectionPool = new SmtpConnectionPool(config(100, 60), new MailProperties(), clock::get);
+    smtpConnectionPool.send(message(0));
+    smtpServer.stop();
+    smtpServer = new GreenMail(ServerSetupTest.SMTP);
+    smtpServer.start();
+
+    smtpConnectionPool.send(message(1));
+
+    Assert.assertEquals(1, smtpServer.getReceivedMessages().length);
+    Assert.assertEquals(2, smtpConnectionPool.getOpenedConnections());
+  }
+
+  @Test
+  public void send_WithRejectedRecipient_KeepsConnectionAndThrowsRecipientRejected() throws MessagingException {
+    smtpConnectionPool = new SmtpConnectionPool(config(100, 60), new MailProperties(), clock::get);
+    smtpConnectionPool.send(message(0));
+
+    try {
+      smtpConnectionPool.send(message("\"fake>email\"@fake.com"));
+      Assert.fail("Expected the recipient to be rejected");
+    } catch (RecipientRejectedException e) {
+      Assert.assertEquals(1, smtpConnectionPool.getIdleConnections());
+    }
+    smtpConnectionPool.send(message(1));
+
+    Assert.assertEquals(2, smtpServer.getReceivedMessages().length);
+    Assert.assertEquals(1, smtpConnectionPool.getOpenedConnections());
+  }
+
+  @Test
+  public void constructor_WithMailProperties_AppliesThemToTheSession() {
+    smtpConnectionPool = new SmtpConnectionPool(config(100, 60), mailProperties(5000), clock::get);
+
+    Assert.assertEquals("true", smtpConnectionPool.getSession().getProperty("mail.smtp.starttls.enable"));
+    Assert.assertEquals("5000", smtpConnectionPool.getSession().getProperty("mail.smtp.connectiontimeout"));
+    Assert.assertEquals("5000", smtpConnectionPool.getSession().getProperty("mail.smtp.timeout"));
+    Assert.assertEquals("5000", smtpConnectionPool.getSession().getProperty("mail.smtp.writetimeout"));
+  }
+
+  @Test(timeout = 10000, expected = MailSendException.class)
+  public void send_WhenServerNeverGreets_TimesOut() throws IOException, MessagingException {
+    try (ServerSocket silentServer = new ServerSocket(0)) {
+      EmailConfig emailConfig = config(100, 60);
+      emailConfig.setPort(silentServer.getLocalPort());
+      smtpConnectionPool = new SmtpConnectionPool(emailConfig, mailProperties(200), clock::get);
+
+      smtpConnectionPool.send(message(0));
+    }
+  }
+
+  private MimeMessage message(int index) throws MessagingException {
+    return message("fakeEmail" + index + "@fake.com");
+  }
+
+  private MimeMessage message(String recipient) throws MessagingException {
+    MimeMessage mimeMessage = new MimeMessage(smtpConnectionPool.getSession());
+    MimeMessageHelper messageHelper = new MimeMessageHelper(mimeMessage);
+    messageHelper.setFrom("admin@admin.com");
+    messageHelper.setTo(recipient);
+    messageHelper.setSubject("App Verification");
+    messageHelper.setText("fake content");
+    mimeMessage.saveChanges();
+    return mimeMessage;
+  }
+
+  private MailProperties mailProperties(int timeoutMillis) {
+    MailProperties mailProperties = new MailProperties();
+    mailProperties.getProperties().put("mail.smtp.starttls.enable", "true");
+    mailProperties.getProperties().put("mail.smtp.connectiontimeout", String.valueOf(timeoutMillis));
+    mailProperties.getProperties().put("mail.smtp.timeout", String.valueOf(timeoutMillis));
+    mailProperties.getProperties().put("mail.smtp.writetimeout", String.valueOf(timeoutMillis));
+    return mailProperties;
+  }
+
+  private EmailConfig config(int maxMessagesPerConnection, long maxConnectionAgeSeconds) {
+    EmailConfig emailConfig = new EmailConfig();
+    emailConfig.setHost("localhost");
+    emailConfig.setPort(ServerSetupTest.SMTP.getPort());
+    emailConfig.setUsername("test");
+    emailConfig.setPassword("xxx");
+    emailConfig.setPoolMaxConnections(2);
+    emailConfig.setPoolMaxMessagesPerConnection(maxMessagesPerConnection);
+    emailConfig.setPoolMaxConnectionAgeSeconds(maxConnectionAgeSeconds);
+    return emailConfig;
+  }
+}
@@ -0,0 +1,69 @@
+package com.birozsombor4.springrestapitemplate.email;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import org.thymeleaf.templateresolver.StringTemplateResolver;
+
+public class VerificationEmailRendererTest {
+
+  @Test
+  public void render_VerificationEmail_MatchesThymeleafOutput() {
+    TemplateEngine templateEngine = classpathTemplateEngine();
+    VerificationEmailRenderer renderer = new VerificationEmailRenderer(templateEngine);
+
+    String rendered = renderer.render("fake<User>&\"'", "fakeToken");
+
+    Assert.assertTrue(renderer.isCompiled());
+    Assert.assertEquals(process(templateEngine, VerificationEmailRenderer.TEMPLATE_NAME, "fake<User>&\"'", "fakeToken"),
+        rendered);
+  }
+
+  @Test
+  public void render_NonAsciiUsername_MatchesThymeleafOutput() {
+    TemplateEngine templateEngine = classpathTemplateEngine();
+    VerificationEmailRenderer renderer = new VerificationEmailRenderer(templateEngine);
+    String username = "Zsómbor Bíró ő€";
+
+    String rendered = renderer.render(username, "fakeToken");
+
+    Assert.assertTrue(renderer.isCompiled());
+    Assert.assertTrue(rendered.contains(username));
+    Assert.assertEquals(process(templateEngine, VerificationEmailRenderer.TEMPLATE_NAME, username, "fakeToken"),
+        rendered);
+  }
+
+  @Test
+  public void render_TemplateTransformingVariables_FallsBackToThymeleaf() {
+    TemplateEngine templateEngine = new SpringTemplateEngine();
+    templateEngine.setTemplateResolver(new StringTemplateResolver());
+    String template = "<p th:text=\"${#strings.toUpperCase(username)}\"></p><a th:href=\"${verificationToken}\"></a>";
+    VerificationEmailRenderer renderer = new VerificationEmailRenderer(templateEngine, template);
+
+    String rendered = renderer.render("adminUser", "fakeToken");
+
+    Assert.assertFalse(renderer.isCompiled());
+    Assert.assertEquals(process(templateEngine, template, "adminUser", "fakeToken"), rendered);
+  }
+
+  private TemplateEngine classpathTemplateEngine() {
+    ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+    templateResolver.setPrefix("templates/");
+    templateResolver.setSuffix(".html");
+    templateResolver.setTemplateMode(TemplateMode.HTML);
+    TemplateEngine templateEngine = new SpringTemplateEngine();
+    templateEngine.setTemplateResolver(templateResolver);
+    return templateEngine;
+  }
+
+  private String process(TemplateEngine templateEngine, String templateName, String username, String token) {
+    Context context = new Context();
+    context.setVariable("username", username);
+    context.setVariable("verificationToken", token);
+    return templateEngine.process(templateName, context);
+  }
+}
@@ -8,6 +8,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.birozsombor4.springrestapitemplate.models.daos.VerificationToken;
+import com.birozsombor4.springrestapitemplate.respositories.UserRepository;
 import com.birozsombor4.springrestapitemplate.respositories.VerificationTokenRepository;
 import com.icegreen.greenmail.util.GreenMail;
 import com.icegreen.greenmail.util.ServerSetupTest;
@@ -39,6 +40,8 @@ public class VerifyEndpointTests {
   private MockMvc mockMvc;
   @Autowired
   private VerificationTokenRepository verificationTokenRepository;
+  @Autowired
+  private UserRepository userRepository;
   private GreenMail smtpServer;
   private String verificationToken;
 
@@ -54,6 +57,7 @@ public class VerifyEndpointTests {
             + "\"password\": \"fakePassword\",\n"
             + "\"kingdomname\": \"fakeKingdomName\"\n"
             + "}"));
+    Assert.assertTrue(smtpServer.waitForIncomingEmail(5000, 1));
     String verificationEmailContent = (String) smtpServer.getReceivedMessages()[0].getContent();
     int tokenStartIndex = verificationEmailContent.indexOf("?token=") + 7;
     verificationToken = verificationEmailContent
@@ -83,6 +87,29 @@ public class VerifyEndpointTests {
         .andExpect(jsonPath("$.message").exists());
   }
 
+  @Test
+  public void verifyUser_WithValidVerificationToken_MarksUserVerified() throws Exception {
+    mockMvc.perform(get("/verify?token=" + verificationToken))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.message", is("fakeUsername has verified.")));
+
+    Assert.assertTrue(userRepository.findByUsername("fakeUsername").get().isVerified());
+  }
+
+  @Test
+  public void verifyUser_WithExpiredTokenOfVerifiedUser_SendsANewToken() throws Exception {
+    mockMvc.perform(get("/verify?token=" + verificationToken))
+        .andExpect(status().isOk());
+    VerificationToken token = verificationTokenRepository.findByToken(verificationToken).get();
+    token.setExpiryDate(LocalDateTime.now().minusHours(24));
+    verificationTokenRepository.save(token);
+
+    mockMvc.perform(get("/verify?token=" + verificationToken))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.message", is("Email verification link has expired. We'll send "
+            + "another for your email: fakeEmail@fake.com")));
+  }
+
   @Test
   public void verifyUser_AfterSuccessfullyValidation_ReturnsValidStatusAndError() throws Exception {
     mockMvc.perform(get("/verify?token=" + verificationToken))
@@ -108,6 +135,7 @@ public class VerifyEndpointTests {
         .andExpect(jsonPath("$.message", is("Email verification link has expired. We'll send "
             + "another for your email: fakeEmail@fake.com")));
 
+    Assert.assertTrue(smtpServer.waitForIncomingEmail(5000, 2));
     MimeMessage[] receivedMessages = smtpServer.getReceivedMessages();
     Assert.assertEquals(2, receivedMessages.length);
 
@@ -117,4 +145,24 @@ public class VerifyEndpointTests {
         .substring(tokenStartIndex, tokenStartIndex + UUID.randomUUID().toString().length());
     Assert.assertFalse(verificationToken.equals(resentToken));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void verifyUser_WithExpiredTokenOpenedTwice_SendsOnlyOneNewToken() throws Exception {
+    VerificationToken token = verificationTokenRepository.findByToken(verificationToken).get();
+    token.setExpiryDate(LocalDateTime.now().minusHours(24));
+    verificationTokenRepository.save(token);
+    mockMvc.perform(get("/verify?token=" + this.verificationToken))
+        .andExpect(status().isOk());
+    String renewedToken = verificationTokenRepository.findById(token.getId()).get().getToken();
+
+    mockMvc.perform(get("/verify?token=" + this.verificationToken))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status", is("ok")))
+        .andExpect(jsonPath("$.message", is("Email verification link has expired. We'll send "
+            + "another for your email: fakeEmail@fake.com")));
+
+    Assert.assertTrue(smtpServer.waitForIncomingEmail(5000, 2));
+    Assert.assertFalse(smtpServer.waitForIncomingEmail(1000, 3));
+    Assert.assertEquals(renewedToken, verificationTokenRepository.findById(token.getId()).get().getToken());
+  }
+}
@@ -0,0 +1,81 @@
+package com.birozsombor4.springrestapitemplate.security;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.birozsombor4.springrestapitemplate.models.daos.VerificationResendJob;
+import com.birozsombor4.springrestapitemplate.respositories.VerificationResendJobRepository;
+import com.birozsombor4.springrestapitemplate.utils.JwtUtil;
+import java.time.LocalDateTime;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "management.endpoints.web.exposure.include=verificationresend",
+    "security.admin-usernames=fakeUser2"
+})
+@Sql(value = {"/db/test/insert_fakeUser.sql", "/db/test/insert_anotherFakeUser.sql"},
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/db/test/clear_allTable.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class AdminEndpointSecurityTests {
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private UserDetailsService userDetailsService;
+  @Autowired
+  private JwtUtil jwtUtil;
+  @Autowired
+  private VerificationResendJobRepository verificationResendJobRepository;
+
+  @Test
+  public void verificationResendProgress_WithRegularUserJwt_ReturnsForbidden() throws Exception {
+    mockMvc.perform(get("/actuator/verificationresend")
+        .header("Authorization", "Bearer " + jwtOf("fakeUser")))
+        .andExpect(status().isForbidden());
+  }
+
+  @Test
+  public void verificationResendStart_WithRegularUserJwt_ReturnsForbidden() throws Exception {
+    mockMvc.perform(post("/actuator/verificationresend")
+        .header("Authorization", "Bearer " + jwtOf("fakeUser")))
+        .andExpect(status().isForbidden());
+  }
+
+  @Test
+  public void verificationResendProgress_WithAdminJwt_ReturnsLatestJob() throws Exception {
+    VerificationResendJob job = new VerificationResendJob(LocalDateTime.now());
+    job.setStatus(VerificationResendJob.COMPLETED);
+    job.setRunning(null);
+    job.setProcessed(2);
+    Long jobId = verificationResendJobRepository.save(job).getId();
+
+    mockMvc.perform(get("/actuator/verificationresend")
+        .header("Authorization", "Bearer " + jwtOf("fakeUser2")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.id", is(jobId.intValue())))
+        .andExpect(jsonPath("$.status", is(VerificationResendJob.COMPLETED)))
+        .andExpect(jsonPath("$.processed", is(2)))
+        .andExpect(jsonPath("$.remaining", is(0)));
+  }
+
+  private String jwtOf(String username) {
+    return jwtUtil.generateToken((UserDetailsImpl) userDetailsService.loadUserByUsername(username));
+  }
+}
@@ -0,0 +1,35 @@
+package com.birozsombor4.springrestapitemplate.security;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BCryptCalibratorTest {
+
+  private final BCryptCalibrator calibrator = new BCryptCalibrator(strength -> 60L << (strength - 10));
+
+  @Test
+  public void calibrate_PicksHighestStrengthWithinTargetLatency() {
+    Assert.assertEquals(12, calibrator.calibrate(250, 10, 16));
+  }
+
+  @Test
+  public void calibrate_WhenMinimumIsAlreadySlowerThanTarget_ReturnsMinimum() {
+    Assert.assertEquals(10, calibrator.calibrate(20, 10, 16));
+  }
+
+  @Test
+  public void calibrate_NeverExceedsMaximumStrength() {
+    Assert.assertEquals(13, calibrator.calibrate(100_000, 10, 13));
+  }
+
+  @Test
+  public void resolveStrength_WithConfiguredStrength_SkipsCalibration() {
+    PasswordHashingConfig config = new PasswordHashingConfig();
+    config.setBcryptStrength(11);
+    BCryptCalibrator failingCalibrator = new BCryptCalibrator(strength -> {
+      throw new AssertionError("Calibration should not run");
+    });
+
+    Assert.assertEquals(11, failingCalibrator.resolveStrength(config));
+  }
+}
@@ -0,0 +1,47 @@
+package com.birozsombor4.springrestapitemplate.security;
+
+import com.birozsombor4.springrestapitemplate.utils.BloomFilter;
+import java.util.UUID;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BloomFilterTest {
+
+  @Test
+  public void mightContain_WithInsertedValues_ReturnsTrue() {
+    BloomFilter bloomFilter = new BloomFilter(1000, 0.01);
+    String[] values = new String[1000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = UUID.randomUUID().toString();
+      bloomFilter.put(values[i]);
+    }
+
+    for (String value : values) {
+      Assert.assertTrue(bloomFilter.mightContain(value));
+    }
+  }
+
+  @Test
+  public void mightContain_WithUnknownValues_StaysCloseToConfiguredFalsePositiveRate() {
+    BloomFilter bloomFilter = new BloomFilter(1000, 0.01);
+    for (int i = 0; i < 1000; i++) {
+      bloomFilter.put(UUID.randomUUID().toString());
+    }
+
+    int falsePositives = 0;
+    for (int i = 0; i < 10000; i++) {
+      if (bloomFilter.mightContain(UUID.randomUUID().toString())) {
+        falsePositives++;
+      }
+    }
+
+    Assert.assertTrue("False positives: " + falsePositives, falsePositives < 300);
+  }
+
+  @Test
+  public void mightContain_WithEmptyFilter_ReturnsFalse() {
+    BloomFilter bloomFilter = new BloomFilter(1000, 0.01);
+
+    Assert.assertFalse(bloomFilter.mightContain("fakeTokenId"));
+  }
+}
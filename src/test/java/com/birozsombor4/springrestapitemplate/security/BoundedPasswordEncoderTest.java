@@ -0,0 +1,95 @@
+package com.birozsombor4.springrestapitemplate.security;
+
+import com.birozsombor4.springrestapitemplate.exceptions.PasswordHashingOverloadedException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+public class BoundedPasswordEncoderTest {
+
+  private final ExecutorService callers = Executors.newFixedThreadPool(2);
+  private BoundedPasswordEncoder boundedPasswordEncoder;
+
+  @After
+  public void tearDown() {
+    callers.shutdownNow();
+    if (boundedPasswordEncoder != null) {
+      boundedPasswordEncoder.shutdown();
+    }
+  }
+
+  @Test
+  public void matches_WithEncodedPassword_DelegatesToWrappedEncoder() {
+    boundedPasswordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4),
+        new PasswordHashingConfig(2, 2, 5000, 1));
+
+    String encodedPassword = boundedPasswordEncoder.encode("fakePassword");
+
+    Assert.assertTrue(boundedPasswordEncoder.matches("fakePassword", encodedPassword));
+    Assert.assertFalse(boundedPasswordEncoder.matches("wrongPassword", encodedPassword));
+  }
+
+  @Test
+  public void encode_WhenPoolAndQueueAreFull_ThrowsOverloadedExceptionImmediately() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    boundedPasswordEncoder = new BoundedPasswordEncoder(blockingEncoder(started, release),
+        new PasswordHashingConfig(1, 1, 5000, 3));
+    callers.submit(() -> boundedPasswordEncoder.encode("first"));
+    Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+    callers.submit(() -> boundedPasswordEncoder.encode("second"));
+    waitForQueueDepth(1);
+
+    try {
+      boundedPasswordEncoder.encode("third");
+      Assert.fail("Expected PasswordHashingOverloadedException");
+    } catch (PasswordHashingOverloadedException e) {
+      Assert.assertEquals(3, e.getRetryAfterSeconds());
+    } finally {
+      release.countDown();
+    }
+    Assert.assertEquals(1, boundedPasswordEncoder.getRejections());
+  }
+
+  @Test(expected = PasswordHashingOverloadedException.class)
+  public void encode_WhenHashingTakesLongerThanTimeout_ThrowsOverloadedException() {
+    boundedPasswordEncoder = new BoundedPasswordEncoder(blockingEncoder(new CountDownLatch(1), new CountDownLatch(1)),
+        new PasswordHashingConfig(1, 1, 50, 1));
+
+    boundedPasswordEncoder.encode("fakePassword");
+  }
+
+  private void waitForQueueDepth(int expectedDepth) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (boundedPasswordEncoder.getQueueDepth() < expectedDepth && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    Assert.assertEquals(expectedDepth, boundedPasswordEncoder.getQueueDepth());
+  }
+
+  private PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+    return new PasswordEncoder() {
+      @Override
+      public String encode(CharSequence rawPassword) {
+        started.countDown();
+        try {
+          release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return rawPassword.toString();
+      }
+
+      @Override
+      public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return rawPassword.toString().equals(encodedPassword);
+      }
+    };
+  }
+}
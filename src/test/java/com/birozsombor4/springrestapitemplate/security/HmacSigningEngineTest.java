@@ -0,0 +1,92 @@
+package com.birozsombor4.springrestapitemplate.security;
+
+import com.birozsombor4.springrestapitemplate.utils.HmacSigningEngine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.impl.DefaultClaims;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HmacSigningEngineTest {
+
+  private static final String LEGACY_SECRET = "test";
+  private static final String OLD_SECRET = "b2xkU2VjcmV0S2V5";
+  private static final String NEW_SECRET = "bmV3U2VjcmV0S2V5";
+
+  @Test
+  public void verify_WithTokenSignedByJjwt_ReturnsClaims() {
+    String token = Jwts.builder()
+        .setSubject("fakeUser")
+        .signWith(SignatureAlgorithm.HS256, LEGACY_SECRET)
+        .compact();
+    HmacSigningEngine engine = new HmacSigningEngine(LEGACY_SECRET, Collections.emptyMap(), null);
+
+    Claims claims = engine.verify(token);
+
+    Assert.assertEquals("fakeUser", claims.getSubject());
+  }
+
+  @Test
+  public void sign_WithoutKid_IsReadableByJjwt() {
+    HmacSigningEngine engine = new HmacSigningEngine(LEGACY_SECRET, Collections.emptyMap(), null);
+
+    String token = engine.sign(claims("fakeUser"));
+
+    Assert.assertEquals("fakeUser", Jwts.parser().setSigningKey(LEGACY_SECRET).parseClaimsJws(token).getBody()
+        .getSubject());
+  }
+
+  @Test
+  public void verify_AfterRotatingActiveKid_AcceptsTokensSignedWithPreviousKey() {
+    Map<String, String> keyRing = new HashMap<>();
+    keyRing.put("old", OLD_SECRET);
+    keyRing.put("new", NEW_SECRET);
+    String oldToken = new HmacSigningEngine(LEGACY_SECRET, keyRing, "old").sign(claims("oldUser"));
+    String legacyToken = new HmacSigningEngine(LEGACY_SECRET, keyRing, null).sign(claims("legacyUser"));
+    HmacSigningEngine rotatedEngine = new HmacSigningEngine(LEGACY_SECRET, keyRing, "new");
+
+    String newToken = rotatedEngine.sign(claims("newUser"));
+
+    Assert.assertEquals("new", rotatedEngine.getActiveKid());
+    Assert.assertEquals("oldUser", rotatedEngine.verify(oldToken).getSubject());
+    Assert.assertEquals("legacyUser", rotatedEngine.verify(legacyToken).getSubject());
+    Assert.assertEquals("newUser", rotatedEngine.verify(newToken).getSubject());
+  }
+
+  @Test(expected = SignatureException.class)
+  public void verify_WithUnknownKid_ThrowsSignatureException() {
+    String token = new HmacSigningEngine(null, Collections.singletonMap("retired", OLD_SECRET), "retired")
+        .sign(claims("fakeUser"));
+
+    new HmacSigningEngine(LEGACY_SECRET, Collections.singletonMap("new", NEW_SECRET), "new").verify(token);
+  }
+
+  @Test(expected = SignatureException.class)
+  public void verify_WithTamperedPayload_ThrowsSignatureException() {
+    HmacSigningEngine engine = new HmacSigningEngine(LEGACY_SECRET, Collections.emptyMap(), null);
+    String[] parts = engine.sign(claims("fakeUser")).split("\\.");
+    String forgedPayload = engine.sign(claims("admin")).split("\\.")[1];
+
+    engine.verify(parts[0] + "." + forgedPayload + "." + parts[2]);
+  }
+
+  @Test(expected = UnsupportedJwtException.class)
+  public void verify_WithUnsignedToken_ThrowsUnsupportedJwtException() {
+    HmacSigningEngine engine = new HmacSigningEngine(LEGACY_SECRET, Collections.emptyMap(), null);
+    String unsignedToken = Jwts.builder().setSubject("fakeUser").compact();
+
+    engine.verify(unsignedToken + "c2ln");
+  }
+
+  private Claims claims(String subject) {
+    Claims claims = new DefaultClaims();
+    claims.setSubject(subject);
+    return claims;
+  }
+}
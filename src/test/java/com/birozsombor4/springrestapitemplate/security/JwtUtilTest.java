@@ -2,9 +2,12 @@ package com.birozsombor4.springrestapitemplate.security;
 
 import com.birozsombor4.springrestapitemplate.models.daos.User;
 import com.birozsombor4.springrestapitemplate.testconfiguration.TestConfiguration;
+import com.birozsombor4.springrestapitemplate.utils.HmacSigningEngine;
 import com.birozsombor4.springrestapitemplate.utils.JwtUtil;
+import com.birozsombor4.springrestapitemplate.utils.ParsedJwt;
 import io.jsonwebtoken.Claims;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -45,7 +48,7 @@ public class JwtUtilTest {
 
   @Before
   public void setup() {
-    this.jwtUtil = new JwtUtil();
+    this.jwtUtil = new JwtUtil(HmacSigningEngine.fromEnvironment(), TimeUnit.MINUTES.toMillis(15));
   }
 
   @Test
@@ -125,6 +128,35 @@ public class JwtUtilTest {
     Assert.assertEquals(expectedDate, expiration);
   }
 
+  @Test
+  public void parseToken_WithPreGeneratedToken_ReturnsAllClaims() {
+    String preGeneratedToken = "eyJhbGciOiJIUzI1NiJ9"
+        + ".eyJzdWIiOiJmYWtlVXNlciIsInVzZXJfaWQiOjEsImV4cCI6MTU5NDE2MTIzMSwiaWF0IjoxNTk0MTI1MjMxfQ"
+        + ".49eszPLHsu9c2NfrO-BaNCwnvH5EcmjFGVlU8lhwfAk";
+
+    ParsedJwt parsedJwt = jwtUtil.parseToken(preGeneratedToken);
+
+    Assert.assertEquals(preGeneratedToken, parsedJwt.getToken());
+    Assert.assertEquals("fakeUser", parsedJwt.getUsername());
+    Assert.assertEquals(Integer.valueOf(1), parsedJwt.getUserId());
+    Assert.assertEquals(1594161231000L, parsedJwt.getExpiration().getTime());
+    Assert.assertEquals(1594125231000L, parsedJwt.getIssuedAt().getTime());
+    Assert.assertTrue(parsedJwt.isExpired());
+  }
+
+  @Test
+  public void validateToken_WithParsedNotExpiredTokenAndValidUsername_ReturnsTrue() {
+    User fakeUser = beanFactory.getBean(User.class);
+    String preGeneratedNotExpiredToken = "eyJhbGciOiJIUzI1NiJ9"
+        + ".eyJzdWIiOiJmYWtlVXNlciIsInVzZXJfaWQiOjEsImV4cCI6MTU5NDE2MTIzMTAwMDAsImlhdCI6MTU5NDEyNTIzMX0"
+        + ".mV9NLDSUbakDIYQ38RfZ7K2558rBO_3gXEJrnuUCcGs";
+    ParsedJwt parsedJwt = jwtUtil.parseToken(preGeneratedNotExpiredToken);
+
+    boolean result = jwtUtil.validateToken(parsedJwt, new UserDetailsImpl(fakeUser));
+
+    Assert.assertTrue(result);
+  }
+
   @Test
   public void validateToken_WithExpiredTokenAndValidUsername_ReturnsFalse() {
     User fakeUser = beanFactory.getBean(User.class);
@@ -0,0 +1,102 @@
+package com.birozsombor4.springrestapitemplate.security;
+
+import com.birozsombor4.springrestapitemplate.utils.KeyedRateLimiter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class KeyedRateLimiterTest {
+
+  private final AtomicLong clock = new AtomicLong();
+
+  @Test
+  public void tryAcquire_WithinCapacity_AllowsBurst() {
+    KeyedRateLimiter limiter = new KeyedRateLimiter(3, 6, 100, clock::get);
+
+    Assert.assertEquals(0, limiter.tryAcquire("fakeUser"));
+    Assert.assertEquals(0, limiter.tryAcquire("fakeUser"));
+    Assert.assertEquals(0, limiter.tryAcquire("fakeUser"));
+    Assert.assertTrue(limiter.tryAcquire("fakeUser") > 0);
+    Assert.assertEquals(0, limiter.tryAcquire("otherUser"));
+  }
+
+  @Test
+  public void tryAcquire_AfterRefillInterval_AllowsNextAttempt() {
+    KeyedRateLimiter limiter = new KeyedRateLimiter(1, 6, 100, clock::get);
+    limiter.tryAcquire("fakeUser");
+
+    long waitNanos = limiter.tryAcquire("fakeUser");
+    clock.addAndGet(waitNanos);
+
+    Assert.assertEquals(TimeUnit.SECONDS.toNanos(10), waitNanos);
+    Assert.assertEquals(0, limiter.tryAcquire("fakeUser"));
+  }
+
+  @Test
+  public void evictIdle_RemovesOnlyFullyRefilledKeys() {
+    KeyedRateLimiter limiter = new KeyedRateLimiter(2, 60, 100, clock::get);
+    limiter.tryAcquire("idleUser");
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    limiter.tryAcquire("activeUser");
+
+    Assert.assertEquals(1, limiter.evictIdle());
+    Assert.assertEquals(1, limiter.size());
+  }
+
+  @Test
+  public void tryAcquire_WithFullKeyTable_EvictsKeyThatIsNotThrottled() {
+    KeyedRateLimiter limiter = new KeyedRateLimiter(2, 60, 2, 1, clock::get);
+    limiter.tryAcquire("throttledUser");
+    limiter.tryAcquire("throttledUser");
+    limiter.tryAcquire("activeUser");
+
+    Assert.assertEquals(0, limiter.tryAcquire("newUser"));
+    Assert.assertEquals(2, limiter.size());
+    Assert.assertTrue(limiter.tryAcquire("throttledUser") > 0);
+    Assert.assertEquals(0, limiter.tryAcquire("activeUser"));
+    Assert.assertEquals(0, limiter.overflows());
+  }
+
+  @Test
+  public void tryAcquire_WhenEveryTrackedKeyIsThrottled_ChargesNewKeysToOverflowBucket() {
+    KeyedRateLimiter limiter = new KeyedRateLimiter(1, 60, 2, 1, clock::get);
+    limiter.tryAcquire("firstUser");
+    limiter.tryAcquire("secondUser");
+
+    Assert.assertEquals(0, limiter.tryAcquire("thirdUser"));
+    Assert.assertTrue(limiter.tryAcquire("fourthUser") > 0);
+    Assert.assertTrue(limiter.tryAcquire("firstUser") > 0);
+    Assert.assertEquals(2, limiter.size());
+    Assert.assertEquals(2, limiter.overflows());
+  }
+
+  @Test
+  public void tryAcquire_DuringFloodOfNewKeys_AdmitsNewUsersAndKeepsThrottledKeysLimit() {
+    KeyedRateLimiter limiter = new KeyedRateLimiter(2, 60, 10, 1, clock::get);
+    Assert.assertEquals(0, limiter.tryAcquire("attackedUser"));
+    Assert.assertEquals(0, limiter.tryAcquire("attackedUser"));
+
+    for (int i = 0; i < 1000; i++) {
+      Assert.assertEquals(0, limiter.tryAcquire("floodUser" + i));
+      Assert.assertTrue(limiter.tryAcquire("attackedUser") > 0);
+    }
+
+    Assert.assertEquals(10, limiter.size());
+    Assert.assertEquals(0, limiter.tryAcquire("newUser"));
+    Assert.assertTrue(limiter.tryAcquire("attackedUser") > 0);
+    Assert.assertEquals(0, limiter.overflows());
+  }
+
+  @Test
+  public void evictIdle_WithSeveralStripes_RemovesIdleKeysFromEveryStripe() {
+    KeyedRateLimiter limiter = new KeyedRateLimiter(1, 60, 100, 4, clock::get);
+    for (int i = 0; i < 20; i++) {
+      limiter.tryAcquire("fakeUser" + i);
+    }
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+    Assert.assertEquals(20, limiter.evictIdle());
+    Assert.assertEquals(0, limiter.size());
+  }
+}
@@ -0,0 +1,94 @@
+package com.birozsombor4.springrestapitemplate.security;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.birozsombor4.springrestapitemplate.models.daos.User;
+import com.birozsombor4.springrestapitemplate.testconfiguration.TestConfiguration;
+import com.birozsombor4.springrestapitemplate.utils.JwtUtil;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@RunWith(SpringRunner.class)
+@Import(TestConfiguration.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {"jwt.stateless-principal.enabled=true",
+    "jwt.stateless-principal.epoch-refresh-seconds=0"})
+@Sql(value = {"/db/test/insert_fakeUser.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/db/test/clear_allTable.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class StatelessPrincipalIntegrationTest {
+
+  @Autowired
+  private BeanFactory beanFactory;
+  @Autowired
+  MockMvc mockMvc;
+  @Autowired
+  private UserDetailsService userDetailsService;
+  @Autowired
+  private JwtUtil jwtUtil;
+  @Autowired
+  private TokenEpochRegistry tokenEpochRegistry;
+  private String jwt;
+
+  @Before
+  public void setup() {
+    UserDetailsImpl fakeUserDetails = (UserDetailsImpl) userDetailsService.loadUserByUsername("fakeUser");
+    jwt = jwtUtil.generateToken(fakeUserDetails);
+  }
+
+  @Test
+  public void sendRequestForAuthenticatedEndpoint_WithAuthentication_ReturnsValidStatus() throws Exception {
+    mockMvc.perform(get("/avatar/1")
+        .header("Authorization", "Bearer " + jwt))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  public void sendRequestForAuthenticatedEndpoint_AfterRevokingAllTokens_ReturnsValidStatusAndMessage()
+      throws Exception {
+    tokenEpochRegistry.revokeAllTokens(1);
+    mockMvc.perform(get("/avatar/1")
+        .header("Authorization", "Bearer " + jwt))
+        .andExpect(status().isUnauthorized())
+        .andExpect(jsonPath("$.status", is("error")))
+        .andExpect(jsonPath("$.message", is("Revoked JWT.")));
+  }
+
+  @Test
+  public void sendRequestForAuthenticatedEndpoint_WithTokenIssuedAfterRevoking_ReturnsValidStatus() throws Exception {
+    tokenEpochRegistry.revokeAllTokens(1);
+    UserDetailsImpl fakeUserDetails = (UserDetailsImpl) userDetailsService.loadUserByUsername("fakeUser");
+    String newJwt = jwtUtil.generateToken(fakeUserDetails);
+    mockMvc.perform(get("/avatar/1")
+        .header("Authorization", "Bearer " + newJwt))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  public void sendRequestForAuthenticatedEndpoint_WithNotExistingUserId_ReturnsValidResponse() throws Exception {
+    User fakeUser = beanFactory.getBean(User.class);
+    fakeUser.setId(42);
+    String jwtWithNotExistingUser = jwtUtil.generateToken(new UserDetailsImpl(fakeUser));
+    mockMvc.perform(get("/avatar/1")
+        .header("Authorization", "Bearer " + jwtWithNotExistingUser))
+        .andExpect(status().isUnauthorized())
+        .andExpect(jsonPath("$.status", is("error")))
+        .andExpect(jsonPath("$.message", is("Username not found.")));
+  }
+}
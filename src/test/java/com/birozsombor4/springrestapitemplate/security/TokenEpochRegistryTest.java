@@ -0,0 +1,48 @@
+package com.birozsombor4.springrestapitemplate.security;
+
+import com.birozsombor4.springrestapitemplate.respositories.UserIdentityMap;
+import com.birozsombor4.springrestapitemplate.respositories.UserRepository;
+import java.util.Optional;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class TokenEpochRegistryTest {
+
+  private UserRepository userRepository;
+  private TokenEpochRegistry tokenEpochRegistry;
+
+  @Before
+  public void setup() {
+    userRepository = Mockito.mock(UserRepository.class);
+    Mockito.when(userRepository.findTokenEpochById(Mockito.any())).thenReturn(Optional.of(0));
+    JwtConfig jwtConfig = new JwtConfig();
+    jwtConfig.setEpochRefreshSeconds(60);
+    jwtConfig.setEpochCacheMaxSize(2);
+    tokenEpochRegistry = new TokenEpochRegistry(userRepository, Mockito.mock(UserIdentityMap.class), jwtConfig);
+  }
+
+  @Test
+  public void getCurrentEpoch_WithFreshEntries_NeverExceedsMaxSize() {
+    for (int userId = 1; userId <= 5; userId++) {
+      tokenEpochRegistry.getCurrentEpoch(userId);
+    }
+
+    Assert.assertEquals(2, tokenEpochRegistry.size());
+  }
+
+  @Test
+  public void getCurrentEpoch_WhenFull_EvictsLeastRecentlyUsedUser() {
+    tokenEpochRegistry.getCurrentEpoch(1);
+    tokenEpochRegistry.getCurrentEpoch(2);
+    tokenEpochRegistry.getCurrentEpoch(1);
+    tokenEpochRegistry.getCurrentEpoch(3);
+
+    tokenEpochRegistry.getCurrentEpoch(1);
+    tokenEpochRegistry.getCurrentEpoch(2);
+
+    Mockito.verify(userRepository, Mockito.times(1)).findTokenEpochById(1);
+    Mockito.verify(userRepository, Mockito.times(2)).findTokenEpochById(2);
+  }
+}
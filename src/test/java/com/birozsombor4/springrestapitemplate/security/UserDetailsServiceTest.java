@@ -1,6 +1,7 @@
 package com.birozsombor4.springrestapitemplate.security;
 
 import com.birozsombor4.springrestapitemplate.models.daos.User;
+import com.birozsombor4.springrestapitemplate.respositories.UserIdentityMap;
 import com.birozsombor4.springrestapitemplate.respositories.UserRepository;
 import com.birozsombor4.springrestapitemplate.testconfiguration.TestConfiguration;
 import java.util.Optional;
@@ -30,7 +31,7 @@ public class UserDetailsServiceTest {
   @Before
   public void beforeEach() {
     userRepository = Mockito.mock(UserRepository.class);
-    userDetailsService = new UserDetailsServiceImpl(userRepository);
+    userDetailsService = new UserDetailsServiceImpl(userRepository, new UserIdentityMap(userRepository));
   }
 
   @Test
@@ -0,0 +1,103 @@
+package com.birozsombor4.springrestapitemplate.security;
+
+import com.birozsombor4.springrestapitemplate.exceptions.VerificationTokenDoesNotExistException;
+import com.birozsombor4.springrestapitemplate.models.daos.VerificationToken;
+import io.jsonwebtoken.impl.TextCodec;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class VerificationLinkSignerTest {
+
+  private static final String SECRET = "dmVyaWZpY2F0aW9uTGlua1NlY3JldA==";
+
+  @Test
+  public void parse_WithEncodedLink_ReturnsUserIdUsernameExpiryAndToken() {
+    VerificationLinkSigner signer = new VerificationLinkSigner(true, SECRET);
+    VerificationToken verificationToken = new VerificationToken();
+
+    VerificationLink verificationLink = signer.parse(signer.encode(42, "fakeUser", verificationToken));
+
+    Assert.assertEquals(42, verificationLink.getUserId());
+    Assert.assertEquals("fakeUser", verificationLink.getUsername());
+    Assert.assertEquals(verificationToken.getToken(), verificationLink.getToken());
+    Assert.assertEquals(verificationToken.getExpiryDate().atZone(ZoneId.systemDefault()).toEpochSecond(),
+        verificationLink.getExpiresAtSeconds());
+    Assert.assertFalse(verificationLink.isExpired());
+  }
+
+  @Test
+  public void encode_WhenDisabled_ReturnsRandomToken() {
+    VerificationToken verificationToken = new VerificationToken();
+
+    String token = new VerificationLinkSigner(false, SECRET).encode(42, "fakeUser", verificationToken);
+
+    Assert.assertEquals(verificationToken.getToken(), token);
+  }
+
+  @Test
+  public void parse_WithRandomToken_ReturnsNull() {
+    VerificationLinkSigner signer = new VerificationLinkSigner(true, SECRET);
+
+    Assert.assertNull(signer.parse(new VerificationToken().getToken()));
+  }
+
+  @Test
+  public void parse_WithExpiredLink_ReturnsExpiredLink() {
+    VerificationLinkSigner signer = new VerificationLinkSigner(true, SECRET);
+    VerificationToken verificationToken = new VerificationToken();
+    verificationToken.setExpiryDate(LocalDateTime.now().minusHours(1));
+
+    Assert.assertTrue(signer.parse(signer.encode(42, "fakeUser", verificationToken)).isExpired());
+  }
+
+  @Test(expected = VerificationTokenDoesNotExistException.class)
+  public void parse_WithForgedUserId_ThrowsVerificationTokenDoesNotExistException() {
+    VerificationLinkSigner signer = new VerificationLinkSigner(true, SECRET);
+    VerificationToken verificationToken = new VerificationToken();
+    String signature = signer.encode(42, "fakeUser", verificationToken).split("\\.")[1];
+    String forgedPayload = signer.encode(1, "fakeUser", verificationToken).split("\\.")[0];
+
+    signer.parse(forgedPayload + "." + signature);
+  }
+
+  @Test(expected = VerificationTokenDoesNotExistException.class)
+  public void parse_WithForgedUsername_ThrowsVerificationTokenDoesNotExistException() {
+    VerificationLinkSigner signer = new VerificationLinkSigner(true, SECRET);
+    VerificationToken verificationToken = new VerificationToken();
+    String signature = signer.encode(42, "fakeUser", verificationToken).split("\\.")[1];
+    String forgedPayload = signer.encode(42, "otherUser", verificationToken).split("\\.")[0];
+
+    signer.parse(forgedPayload + "." + signature);
+  }
+
+  @Test(expected = VerificationTokenDoesNotExistException.class)
+  public void parse_WithLinkSignedByAnotherSecret_ThrowsVerificationTokenDoesNotExistException() {
+    String token = new VerificationLinkSigner(true, "YW5vdGhlclNlY3JldA==")
+        .encode(42, "fakeUser", new VerificationToken());
+
+    new VerificationLinkSigner(true, SECRET).parse(token);
+  }
+
+  @Test(expected = VerificationTokenDoesNotExistException.class)
+  public void parse_WithLinkSignedDirectlyByTheSecret_ThrowsVerificationTokenDoesNotExistException() throws Exception {
+    String payload = new VerificationLinkSigner(true, SECRET)
+        .encode(42, "fakeUser", new VerificationToken()).split("\\.")[0];
+    Mac mac = Mac.getInstance("HmacSHA256");
+    mac.init(new SecretKeySpec(TextCodec.BASE64.decode(SECRET), "HmacSHA256"));
+    byte[] signature = Arrays.copyOf(mac.doFinal(Base64.getUrlDecoder().decode(payload)), 16);
+
+    new VerificationLinkSigner(true, SECRET)
+        .parse(payload + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void constructor_WhenEnabledWithoutSecret_ThrowsIllegalStateException() {
+    new VerificationLinkSigner(true, "");
+  }
+}
@@ -0,0 +1,110 @@
+package com.birozsombor4.springrestapitemplate.security;
+
+import com.birozsombor4.springrestapitemplate.models.daos.User;
+import com.birozsombor4.springrestapitemplate.utils.ParsedJwt;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.impl.DefaultClaims;
+import java.util.Date;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class VerifiedTokenCacheTest {
+
+  private final User fakeUser = new User(1, "fakeUser", "fakePassword");
+  private final UserDetailsImpl fakeUserDetails = new UserDetailsImpl(fakeUser);
+
+  @Test
+  public void get_WhenTokenWasPut_ReturnsCachedPrincipalAndCountsHit() {
+    VerifiedTokenCache cache = new VerifiedTokenCache(new JwtConfig(true, 10, 300));
+    ParsedJwt parsedJwt = parsedJwt("token1", 60000);
+    cache.put(parsedJwt, fakeUserDetails);
+
+    VerifiedTokenCache.Entry result = cache.get("token1");
+
+    Assert.assertNotNull(result);
+    Assert.assertEquals("fakeUser", result.getUserDetails().getUsername());
+    Assert.assertSame(parsedJwt, result.getParsedJwt());
+    Assert.assertEquals(1, cache.getHits());
+    Assert.assertEquals(0, cache.getMisses());
+  }
+
+  @Test
+  public void put_WithUserDetails_CachesImmutableSnapshot() {
+    VerifiedTokenCache cache = new VerifiedTokenCache(new JwtConfig(true, 10, 300));
+    fakeUser.setTokenEpoch(3);
+    cache.put(parsedJwt("token1", 60000), fakeUserDetails);
+
+    fakeUser.setUsername("renamedUser");
+    fakeUser.setVerified(true);
+    fakeUser.setTokenEpoch(4);
+    JwtPrincipal cachedPrincipal = (JwtPrincipal) cache.get("token1").getUserDetails();
+
+    Assert.assertEquals(Integer.valueOf(1), cachedPrincipal.getId());
+    Assert.assertEquals("fakeUser", cachedPrincipal.getUsername());
+    Assert.assertFalse(cachedPrincipal.isVerified());
+    Assert.assertEquals(Integer.valueOf(3), cachedPrincipal.getTokenEpoch());
+    Assert.assertNull(cachedPrincipal.getPassword());
+    Assert.assertTrue(cachedPrincipal.getAuthorities().isEmpty());
+  }
+
+  @Test
+  public void get_WhenTokenIsUnknown_ReturnsNullAndCountsMiss() {
+    VerifiedTokenCache cache = new VerifiedTokenCache(new JwtConfig(true, 10, 300));
+
+    Assert.assertNull(cache.get("token1"));
+    Assert.assertEquals(1, cache.getMisses());
+  }
+
+  @Test
+  public void get_WhenTokenExpired_EvictsEntry() throws InterruptedException {
+    VerifiedTokenCache cache = new VerifiedTokenCache(new JwtConfig(true, 10, 300));
+    cache.put(parsedJwt("token1", 2000), fakeUserDetails);
+    Assert.assertEquals(1, cache.size());
+
+    Thread.sleep(2100);
+
+    Assert.assertNull(cache.get("token1"));
+    Assert.assertEquals(1, cache.getExpirations());
+    Assert.assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void put_WhenTokenIsAlreadyExpired_DoesNotCache() {
+    VerifiedTokenCache cache = new VerifiedTokenCache(new JwtConfig(true, 10, 300));
+
+    cache.put(parsedJwt("token1", -1000), fakeUserDetails);
+
+    Assert.assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void put_WhenCacheIsFull_EvictsLeastRecentlyUsed() {
+    VerifiedTokenCache cache = new VerifiedTokenCache(new JwtConfig(true, 2, 300));
+    cache.put(parsedJwt("token1", 60000), fakeUserDetails);
+    cache.put(parsedJwt("token2", 60000), fakeUserDetails);
+    cache.get("token1");
+
+    cache.put(parsedJwt("token3", 60000), fakeUserDetails);
+
+    Assert.assertEquals(2, cache.size());
+    Assert.assertEquals(1, cache.getEvictions());
+    Assert.assertNotNull(cache.get("token1"));
+    Assert.assertNull(cache.get("token2"));
+  }
+
+  @Test
+  public void get_WhenCacheIsDisabled_ReturnsNull() {
+    VerifiedTokenCache cache = new VerifiedTokenCache(new JwtConfig(false, 10, 300));
+    cache.put(parsedJwt("token1", 60000), fakeUserDetails);
+
+    Assert.assertNull(cache.get("token1"));
+    Assert.assertEquals(0, cache.getMisses());
+  }
+
+  private ParsedJwt parsedJwt(String token, long expiresInMillis) {
+    Claims claims = new DefaultClaims();
+    claims.setSubject("fakeUser");
+    claims.setExpiration(new Date(System.currentTimeMillis() + expiresInMillis));
+    return new ParsedJwt(token, claims);
+  }
+}
@@ -0,0 +1,83 @@
+package com.birozsombor4.springrestapitemplate.user;
+
+import com.birozsombor4.springrestapitemplate.models.daos.SchedulerLease;
+import com.birozsombor4.springrestapitemplate.respositories.SchedulerLeaseRepository;
+import com.birozsombor4.springrestapitemplate.respositories.UserRepository;
+import com.birozsombor4.springrestapitemplate.respositories.VerificationTokenRepository;
+import com.birozsombor4.springrestapitemplate.services.AccountCleanupService;
+import java.time.LocalDateTime;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+@Sql(value = {"/db/test/insert_fakeUser.sql", "/db/test/insert_anotherFakeUser.sql"})
+@Sql(value = {"/db/test/clear_allTable.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class AccountCleanupTests {
+
+  @Autowired
+  private AccountCleanupService accountCleanupService;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private VerificationTokenRepository verificationTokenRepository;
+  @Autowired
+  private SchedulerLeaseRepository schedulerLeaseRepository;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Before
+  public void setup() {
+    insertUnverifiedUser(3, "staleUser", LocalDateTime.now().minusDays(31));
+    insertUnverifiedUser(4, "pendingUser", LocalDateTime.now().minusDays(1));
+  }
+
+  @Test
+  public void runCleanup_DeletesExpiredTokensOfVerifiedUsersAndStaleUnverifiedUsers() {
+    Assert.assertTrue(accountCleanupService.runCleanup());
+
+    Assert.assertEquals(1, verificationTokenRepository.count());
+    Assert.assertTrue(verificationTokenRepository.findById(4).isPresent());
+    Assert.assertTrue(userRepository.findById(1).isPresent());
+    Assert.assertTrue(userRepository.findById(2).isPresent());
+    Assert.assertFalse(userRepository.findById(3).isPresent());
+    Assert.assertTrue(userRepository.findById(4).isPresent());
+  }
+
+  @Test
+  public void runCleanup_WhenAnotherNodeHoldsTheLease_DeletesNothing() {
+    schedulerLeaseRepository.save(new SchedulerLease(AccountCleanupService.LEASE_NAME, "otherNode",
+        LocalDateTime.now().plusMinutes(5)));
+
+    Assert.assertFalse(accountCleanupService.runCleanup());
+
+    Assert.assertEquals(4, verificationTokenRepository.count());
+    Assert.assertEquals(4, userRepository.count());
+  }
+
+  @Test
+  public void runCleanup_AfterAnotherNodesLeaseExpired_TakesOverTheLease() {
+    schedulerLeaseRepository.save(new SchedulerLease(AccountCleanupService.LEASE_NAME, "otherNode",
+        LocalDateTime.now().minusMinutes(5)));
+
+    Assert.assertTrue(accountCleanupService.runCleanup());
+
+    Assert.assertEquals(1, verificationTokenRepository.count());
+  }
+
+  private void insertUnverifiedUser(int id, String username, LocalDateTime expiryDate) {
+    jdbcTemplate.update("INSERT INTO users (id, username, password, avatar, email, verified, token_epoch) "
+        + "VALUES (?, ?, 'password', 'default.png', ?, 0, 0)", id, username, username + "@fake.com");
+    jdbcTemplate.update("INSERT INTO verification_tokens (id, expiry_date, token, user_id) VALUES (?, ?, ?, ?)",
+        id, expiryDate, new byte[] {(byte) id, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15}, id);
+  }
+}
@@ -0,0 +1,82 @@
+package com.birozsombor4.springrestapitemplate.user;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "login.throttle.enabled=true",
+    "login.throttle.username.capacity=2",
+    "login.throttle.username.refill-per-minute=1",
+    "login.throttle.ip.enabled=true",
+    "login.throttle.ip.capacity=3",
+    "login.throttle.ip.refill-per-minute=1"
+})
+@Sql(value = {"/db/test/insert_fakeUser.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/db/test/clear_allTable.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class LoginThrottleTests {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Test
+  public void loginUser_WithTooManyAttemptsForUsername_Returns429WithRetryAfter() throws Exception {
+    login("fakeUser", "wrongPassword", "10.0.0.1").andExpect(status().isUnauthorized());
+    login("fakeUser", "wrongPassword", "10.0.0.1").andExpect(status().isUnauthorized());
+
+    login("fakeUser", "fakePassword", "10.0.0.1")
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+        .andExpect(jsonPath("$.status").value("error"))
+        .andExpect(jsonPath("$.message").value("Too many login attempts, please try again later."));
+  }
+
+  @Test
+  public void loginUser_WithDifferentlyCasedUsername_SharesBucket() throws Exception {
+    login("caseUser", "wrongPassword", "10.0.0.3").andExpect(status().isUnauthorized());
+    login("CASEUSER", "wrongPassword", "10.0.0.4").andExpect(status().isUnauthorized());
+
+    login("CaseUser", "wrongPassword", "10.0.0.5").andExpect(status().isTooManyRequests());
+  }
+
+  @Test
+  public void loginUser_WithTooManyAttemptsFromSameIp_Returns429() throws Exception {
+    login("firstUser", "wrongPassword", "10.0.0.2").andExpect(status().isUnauthorized());
+    login("secondUser", "wrongPassword", "10.0.0.2").andExpect(status().isUnauthorized());
+    login("thirdUser", "wrongPassword", "10.0.0.2").andExpect(status().isUnauthorized());
+
+    login("fourthUser", "wrongPassword", "10.0.0.2").andExpect(status().isTooManyRequests());
+  }
+
+  private ResultActions login(String username, String password, String remoteAddress) throws Exception {
+    return mockMvc.perform(post("/login")
+        .with(request -> {
+          request.setRemoteAddr(remoteAddress);
+          return request;
+        })
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\n"
+            + "  \"username\": \"" + username + "\",\n"
+            + "  \"password\": \"" + password + "\"\n"
+            + "}"));
+  }
+}
@@ -0,0 +1,156 @@
+package com.birozsombor4.springrestapitemplate.user;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.birozsombor4.springrestapitemplate.respositories.RevokedTokenRepository;
+import com.birozsombor4.springrestapitemplate.security.JwtConfig;
+import com.birozsombor4.springrestapitemplate.security.TokenRevocationStore;
+import com.birozsombor4.springrestapitemplate.security.UserDetailsImpl;
+import com.birozsombor4.springrestapitemplate.utils.HmacSigningEngine;
+import com.birozsombor4.springrestapitemplate.utils.JwtUtil;
+import com.birozsombor4.springrestapitemplate.utils.ParsedJwt;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.impl.DefaultClaims;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles("test")
+@Sql(value = {"/db/test/insert_fakeUser.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/db/test/clear_allTable.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class LogoutEndpointTests {
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private UserDetailsService userDetailsService;
+  @Autowired
+  private JwtUtil jwtUtil;
+  @Autowired
+  private RevokedTokenRepository revokedTokenRepository;
+  @Autowired
+  private TokenRevocationStore tokenRevocationStore;
+  private String jwt;
+
+  @Before
+  public void setup() {
+    jwt = jwtUtil.generateToken((UserDetailsImpl) userDetailsService.loadUserByUsername("fakeUser"));
+  }
+
+  @Test
+  public void logoutUser_WithValidToken_RevokesOnlyThatToken() throws Exception {
+    String otherJwt = jwtUtil.generateToken((UserDetailsImpl) userDetailsService.loadUserByUsername("fakeUser"));
+
+    mockMvc.perform(post("/logout")
+        .header("Authorization", "Bearer " + jwt))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status", is("ok")))
+        .andExpect(jsonPath("$.message", is("Token has been revoked for: fakeUser")));
+
+    mockMvc.perform(get("/avatar/1")
+        .header("Authorization", "Bearer " + jwt))
+        .andExpect(status().isUnauthorized())
+        .andExpect(jsonPath("$.message", is("Revoked JWT.")));
+    mockMvc.perform(get("/avatar/1")
+        .header("Authorization", "Bearer " + otherJwt))
+        .andExpect(status().isOk());
+    Assert.assertTrue(revokedTokenRepository.existsById(jwtUtil.parseToken(jwt).getTokenId()));
+  }
+
+  @Test
+  public void logoutUser_WithAllParameter_RevokesEveryTokenOfUser() throws Exception {
+    String otherJwt = jwtUtil.generateToken((UserDetailsImpl) userDetailsService.loadUserByUsername("fakeUser"));
+
+    mockMvc.perform(post("/logout")
+        .param("all", "true")
+        .header("Authorization", "Bearer " + jwt))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.message", is("All tokens have been revoked for: fakeUser")));
+
+    mockMvc.perform(get("/avatar/1")
+        .header("Authorization", "Bearer " + otherJwt))
+        .andExpect(status().isUnauthorized())
+        .andExpect(jsonPath("$.message", is("Revoked JWT.")));
+  }
+
+  @Test
+  public void logoutUser_WithTokenWithoutId_IsRejectedAndKeepsOtherTokens() throws Exception {
+    UserDetailsImpl userDetails = (UserDetailsImpl) userDetailsService.loadUserByUsername("fakeUser");
+    Claims claims = new DefaultClaims();
+    claims.setSubject(userDetails.getUsername());
+    claims.put("user_id", userDetails.getId());
+    claims.put("verified", userDetails.isVerified());
+    claims.put("epoch", userDetails.getTokenEpoch());
+    claims.setIssuedAt(new Date(System.currentTimeMillis()));
+    claims.setExpiration(new Date(System.currentTimeMillis() + jwtUtil.getTokenValidityMillis()));
+    String jwtWithoutId = HmacSigningEngine.fromEnvironment().sign(claims);
+
+    mockMvc.perform(post("/logout")
+        .header("Authorization", "Bearer " + jwtWithoutId))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message",
+            is("This token cannot be revoked on its own, use all=true to revoke every token.")));
+
+    mockMvc.perform(get("/avatar/1")
+        .header("Authorization", "Bearer " + jwt))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  public void loadRevokedTokens_AfterRestart_RestoresPersistedRevocations() throws Exception {
+    mockMvc.perform(post("/logout")
+        .header("Authorization", "Bearer " + jwt))
+        .andExpect(status().isOk());
+
+    TokenRevocationStore restartedStore = new TokenRevocationStore(revokedTokenRepository, jwtConfigWithDefaults());
+    restartedStore.loadRevokedTokens();
+
+    Assert.assertTrue(restartedStore.isRevoked(jwtUtil.parseToken(jwt)));
+    Assert.assertTrue(tokenRevocationStore.isRevoked(jwtUtil.parseToken(jwt)));
+  }
+
+  @Test
+  public void isRevoked_WithTokensOutlivingCurrentValidity_KeepsEveryExpiryPeriod() {
+    TokenRevocationStore store = new TokenRevocationStore(revokedTokenRepository, jwtConfigWithDefaults());
+    ParsedJwt firstToken = parsedJwtExpiringIn("firstToken", TimeUnit.HOURS.toMillis(3));
+    ParsedJwt secondToken = parsedJwtExpiringIn("secondToken", TimeUnit.HOURS.toMillis(5));
+
+    store.revoke(firstToken);
+    store.revoke(secondToken);
+
+    Assert.assertTrue(store.isRevoked(firstToken));
+    Assert.assertTrue(store.isRevoked(secondToken));
+  }
+
+  private ParsedJwt parsedJwtExpiringIn(String tokenId, long millis) {
+    Claims claims = new DefaultClaims();
+    claims.setId(tokenId);
+    claims.setExpiration(new Date(System.currentTimeMillis() + millis));
+    return new ParsedJwt(null, claims);
+  }
+
+  private JwtConfig jwtConfigWithDefaults() {
+    JwtConfig jwtConfig = new JwtConfig();
+    jwtConfig.setRevocationExpectedPerBucket(100);
+    jwtConfig.setRevocationFalsePositiveRate(0.01);
+    return jwtConfig;
+  }
+}
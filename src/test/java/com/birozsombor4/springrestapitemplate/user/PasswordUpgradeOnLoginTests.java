@@ -0,0 +1,68 @@
+package com.birozsombor4.springrestapitemplate.user;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.birozsombor4.springrestapitemplate.respositories.UserRepository;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "password.hashing.bcrypt.strength=11")
+@Sql(value = {"/db/test/insert_fakeUser.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/db/test/clear_allTable.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class PasswordUpgradeOnLoginTests {
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private PasswordEncoder passwordEncoder;
+
+  @Test
+  public void loginUser_WithHashBelowCurrentStrength_RehashesStoredPassword() throws Exception {
+    Assert.assertTrue(userRepository.findByUsername("fakeUser").get().getPassword().startsWith("$2a$10$"));
+
+    mockMvc.perform(post("/login")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\n"
+            + "  \"username\": \"fakeUser\",\n"
+            + "  \"password\": \"fakePassword\"\n"
+            + "}"))
+        .andExpect(status().isOk());
+
+    String storedPassword = userRepository.findByUsername("fakeUser").get().getPassword();
+    Assert.assertTrue(storedPassword.startsWith("$2a$11$"));
+    Assert.assertTrue(passwordEncoder.matches("fakePassword", storedPassword));
+  }
+
+  @Test
+  public void loginUser_WithWrongPassword_KeepsStoredPassword() throws Exception {
+    String originalPassword = userRepository.findByUsername("fakeUser").get().getPassword();
+
+    mockMvc.perform(post("/login")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\n"
+            + "  \"username\": \"fakeUser\",\n"
+            + "  \"password\": \"wrongPassword\"\n"
+            + "}"))
+        .andExpect(status().isUnauthorized());
+
+    Assert.assertEquals(originalPassword, userRepository.findByUsername("fakeUser").get().getPassword());
+  }
+}
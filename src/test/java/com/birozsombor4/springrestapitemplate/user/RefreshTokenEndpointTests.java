@@ -0,0 +1,101 @@
+package com.birozsombor4.springrestapitemplate.user;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles("test")
+@Sql(value = {"/db/test/insert_fakeUser.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/db/test/clear_allTable.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class RefreshTokenEndpointTests {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Test
+  public void loginUser_WithValidInput_ReturnsRefreshToken() throws Exception {
+    login()
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.token").exists())
+        .andExpect(jsonPath("$.refreshToken").exists());
+  }
+
+  @Test
+  public void refreshToken_WithValidRefreshToken_ReturnsNewTokenPair() throws Exception {
+    String refreshToken = readField(login(), "$.refreshToken");
+
+    ResultActions result = refresh(refreshToken)
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.token").exists())
+        .andExpect(jsonPath("$.refreshToken").exists());
+
+    mockMvc.perform(get("/avatar/1")
+        .header("Authorization", "Bearer " + readField(result, "$.token")))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  public void refreshToken_WithAlreadyRotatedRefreshToken_RevokesWholeFamily() throws Exception {
+    String refreshToken = readField(login(), "$.refreshToken");
+    ResultActions firstRefresh = refresh(refreshToken).andExpect(status().isOk());
+    String rotatedRefreshToken = readField(firstRefresh, "$.refreshToken");
+    String accessToken = readField(firstRefresh, "$.token");
+
+    refresh(refreshToken)
+        .andExpect(status().isUnauthorized())
+        .andExpect(jsonPath("$.status", is("error")))
+        .andExpect(jsonPath("$.message", is("Invalid or expired refresh token.")));
+
+    refresh(rotatedRefreshToken)
+        .andExpect(status().isUnauthorized());
+    mockMvc.perform(get("/avatar/1")
+        .header("Authorization", "Bearer " + accessToken))
+        .andExpect(status().isUnauthorized())
+        .andExpect(jsonPath("$.message", is("Revoked JWT.")));
+  }
+
+  @Test
+  public void refreshToken_WithUnknownRefreshToken_ReturnsValidStatusAndMessage() throws Exception {
+    refresh("unknownRefreshToken")
+        .andExpect(status().isUnauthorized())
+        .andExpect(jsonPath("$.status", is("error")))
+        .andExpect(jsonPath("$.message", is("Invalid or expired refresh token.")));
+  }
+
+  private ResultActions login() throws Exception {
+    return mockMvc.perform(post("/login")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\n"
+            + "  \"username\": \"fakeUser\",\n"
+            + "  \"password\": \"fakePassword\"\n"
+            + "}"));
+  }
+
+  private ResultActions refresh(String refreshToken) throws Exception {
+    return mockMvc.perform(post("/token/refresh")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"refreshToken\": \"" + refreshToken + "\"}"));
+  }
+
+  private String readField(ResultActions resultActions, String path) throws Exception {
+    return JsonPath.read(resultActions.andReturn().getResponse().getContentAsString(), path);
+  }
+}
@@ -6,9 +6,14 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.birozsombor4.springrestapitemplate.exceptions.InvalidRegisterOrLoginParameterException;
+import com.birozsombor4.springrestapitemplate.models.daos.User;
+import com.birozsombor4.springrestapitemplate.respositories.EmailOutboxRepository;
+import com.birozsombor4.springrestapitemplate.services.RegistrationService;
 import com.icegreen.greenmail.util.GreenMail;
 import com.icegreen.greenmail.util.ServerSetupTest;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -30,6 +35,10 @@ public class RegisterEndpointTests {
 
   @Autowired
   private MockMvc mockMvc;
+  @Autowired
+  private RegistrationService registrationService;
+  @Autowired
+  private EmailOutboxRepository emailOutboxRepository;
   private GreenMail smtpServer;
 
   @Before
@@ -182,6 +191,39 @@ public class RegisterEndpointTests {
         .andExpect(jsonPath("$.message", is("E-mail is already taken. Please choose another one!")));
   }
 
+  @Test
+  @Sql(value = {"/db/test/insert_fakeUser.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/db/test/clear_allTable.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void registerUser_WhenUsernameConstraintIsViolated_ThrowsUsernameTakenMessage() {
+    User user = new User("fakeUser", "fakePassword");
+    user.setEmail("email@email.com");
+    user.setAvatar("default.png");
+
+    try {
+      registrationService.registerUser(user);
+      Assert.fail();
+    } catch (InvalidRegisterOrLoginParameterException e) {
+      Assert.assertEquals("User name is already taken. Please choose another one!", e.getMessage());
+    }
+    Assert.assertEquals(0, emailOutboxRepository.count());
+  }
+
+  @Test
+  @Sql(value = {"/db/test/insert_fakeUser.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(value = {"/db/test/clear_allTable.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void registerUser_WhenEmailConstraintIsViolated_ThrowsEmailTakenMessage() {
+    User user = new User("fakeUser2", "fakePassword");
+    user.setEmail("fakeEmail@fake.com");
+    user.setAvatar("default.png");
+
+    try {
+      registrationService.registerUser(user);
+      Assert.fail();
+    } catch (InvalidRegisterOrLoginParameterException e) {
+      Assert.assertEquals("E-mail is already taken. Please choose another one!", e.getMessage());
+    }
+  }
+
   @Test
   public void registerUser_IfEmailDoesntContainAtSymbol_ReturnsValidResponse() throws Exception {
     mockMvc.perform(post("/register")
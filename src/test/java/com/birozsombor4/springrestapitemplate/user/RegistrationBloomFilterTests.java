@@ -0,0 +1,69 @@
+package com.birozsombor4.springrestapitemplate.user;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "registration.bloom-filter.enabled=true",
+    "registration.bloom-filter.expected-users=1000"
+})
+@Sql(value = {"/db/test/clear_allTable.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class RegistrationBloomFilterTests {
+
+  @Autowired
+  private MockMvc mockMvc;
+  private GreenMail smtpServer;
+
+  @Before
+  public void setup() {
+    smtpServer = new GreenMail(ServerSetupTest.SMTP);
+    smtpServer.start();
+  }
+
+  @After
+  public void tearDown() {
+    smtpServer.stop();
+  }
+
+  @Test
+  public void registerUser_WithUsernameRegisteredAfterStartup_ReturnsValidResponse() throws Exception {
+    String content = "{\n"
+        + "  \"username\": \"bloomUser\",\n"
+        + "  \"password\": \"fakePassword\",\n"
+        + "  \"email\": \"bloom@email.com\"\n"
+        + "}";
+    mockMvc.perform(post("/register")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(content))
+        .andExpect(status().isOk());
+
+    mockMvc.perform(post("/register")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(content))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message", is("User name is already taken. Please choose another one!; "
+            + "E-mail is already taken. Please choose another one!")));
+  }
+}
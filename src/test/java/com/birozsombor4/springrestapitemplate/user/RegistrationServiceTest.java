@@ -1,16 +1,22 @@
 package com.birozsombor4.springrestapitemplate.user;
 
+import com.birozsombor4.springrestapitemplate.email.EmailOutbox;
 import com.birozsombor4.springrestapitemplate.exceptions.UserAlreadyVerifiedException;
 import com.birozsombor4.springrestapitemplate.exceptions.VerificationTokenDoesNotExistException;
 import com.birozsombor4.springrestapitemplate.models.daos.User;
 import com.birozsombor4.springrestapitemplate.models.daos.VerificationToken;
 import com.birozsombor4.springrestapitemplate.models.dtos.UserDTO;
+import com.birozsombor4.springrestapitemplate.respositories.UserIdentifierFilter;
+import com.birozsombor4.springrestapitemplate.respositories.UserIdentifiers;
+import com.birozsombor4.springrestapitemplate.respositories.UserIdentityMap;
 import com.birozsombor4.springrestapitemplate.respositories.UserRepository;
 import com.birozsombor4.springrestapitemplate.respositories.VerificationTokenRepository;
+import com.birozsombor4.springrestapitemplate.services.RegistrationConfig;
 import com.birozsombor4.springrestapitemplate.services.RegistrationService;
 import com.birozsombor4.springrestapitemplate.services.RegistrationServiceImpl;
 import com.birozsombor4.springrestapitemplate.testconfiguration.TestConfiguration;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.Assert;
@@ -43,7 +49,10 @@ public class RegistrationServiceTest {
     userRepository = Mockito.mock(UserRepository.class);
     verificationTokenRepository = Mockito.mock(VerificationTokenRepository.class);
     passwordEncoder = Mockito.mock(PasswordEncoder.class);
-    registrationService = new RegistrationServiceImpl(userRepository, verificationTokenRepository, passwordEncoder);
+    registrationService = new RegistrationServiceImpl(
+        new UserIdentifierFilter(userRepository, new RegistrationConfig(false, 0, 0, 0, 0, false, null)),
+        new UserIdentityMap(userRepository), verificationTokenRepository, passwordEncoder,
+        Mockito.mock(EmailOutbox.class));
   }
 
   @Test
@@ -160,9 +169,6 @@ public class RegistrationServiceTest {
     UserDTO fakeUserDTO = beanFactory.getBean(UserDTO.class);
     fakeUserDTO.setPassword(null);
 
-    Mockito.when(userRepository.findByEmail(fakeUserDTO.getEmail())).thenReturn(Optional.empty());
-    Mockito.when(userRepository.findByUsername(fakeUserDTO.getUsername())).thenReturn(Optional.empty());
-
     String result = registrationService.getErrorMessageForRegister(fakeUserDTO);
 
     Assert.assertEquals("Password is too short. Please use at least 6 characters!", result);
@@ -173,9 +179,6 @@ public class RegistrationServiceTest {
     UserDTO fakeUserDTO = beanFactory.getBean(UserDTO.class);
     fakeUserDTO.setPassword("");
 
-    Mockito.when(userRepository.findByEmail(fakeUserDTO.getEmail())).thenReturn(Optional.empty());
-    Mockito.when(userRepository.findByUsername(fakeUserDTO.getUsername())).thenReturn(Optional.empty());
-
     String result = registrationService.getErrorMessageForRegister(fakeUserDTO);
 
     Assert.assertEquals("Password is too short. Please use at least 6 characters!", result);
@@ -186,9 +189,6 @@ public class RegistrationServiceTest {
     UserDTO fakeUserDTO = beanFactory.getBean(UserDTO.class);
     fakeUserDTO.setEmail(null);
 
-    Mockito.when(userRepository.findByEmail(fakeUserDTO.getEmail())).thenReturn(Optional.empty());
-    Mockito.when(userRepository.findByUsername(fakeUserDTO.getUsername())).thenReturn(Optional.empty());
-
     String result = registrationService.getErrorMessageForRegister(fakeUserDTO);
 
     Assert.assertEquals("Email is not correct!", result);
@@ -199,9 +199,6 @@ public class RegistrationServiceTest {
     UserDTO fakeUserDTO = beanFactory.getBean(UserDTO.class);
     fakeUserDTO.setEmail("fakeEmailfake.com");
 
-    Mockito.when(userRepository.findByEmail(fakeUserDTO.getEmail())).thenReturn(Optional.empty());
-    Mockito.when(userRepository.findByUsername(fakeUserDTO.getUsername())).thenReturn(Optional.empty());
-
     String result = registrationService.getErrorMessageForRegister(fakeUserDTO);
 
     Assert.assertEquals("Email is not correct!", result);
@@ -212,9 +209,6 @@ public class RegistrationServiceTest {
     UserDTO fakeUserDTO = beanFactory.getBean(UserDTO.class);
     fakeUserDTO.setEmail("fakeEmail@fakecom");
 
-    Mockito.when(userRepository.findByEmail(fakeUserDTO.getEmail())).thenReturn(Optional.empty());
-    Mockito.when(userRepository.findByUsername(fakeUserDTO.getUsername())).thenReturn(Optional.empty());
-
     String result = registrationService.getErrorMessageForRegister(fakeUserDTO);
 
     Assert.assertEquals("Email is not correct!", result);
@@ -225,9 +219,6 @@ public class RegistrationServiceTest {
     UserDTO fakeUserDTO = beanFactory.getBean(UserDTO.class);
     fakeUserDTO.setEmail("f@a.m");
 
-    Mockito.when(userRepository.findByEmail(fakeUserDTO.getEmail())).thenReturn(Optional.empty());
-    Mockito.when(userRepository.findByUsername(fakeUserDTO.getUsername())).thenReturn(Optional.empty());
-
     String result = registrationService.getErrorMessageForRegister(fakeUserDTO);
 
     Assert.assertEquals("Email is not correct!", result);
@@ -238,9 +229,8 @@ public class RegistrationServiceTest {
     UserDTO fakeUserDTO = beanFactory.getBean(UserDTO.class);
     fakeUserDTO.setEmail("fakeEmailfake.com");
 
-    Mockito.when(userRepository.findByEmail(fakeUserDTO.getEmail()))
-        .thenReturn(Optional.of(beanFactory.getBean("fakeUser", User.class)));
-    Mockito.when(userRepository.findByUsername(fakeUserDTO.getUsername())).thenReturn(Optional.empty());
+    Mockito.when(userRepository.findIdentifiersByUsernameOrEmail(fakeUserDTO.getUsername(), fakeUserDTO.getEmail()))
+        .thenReturn(Collections.singletonList(userIdentifiers(null, fakeUserDTO.getEmail())));
 
     String result = registrationService.getErrorMessageForRegister(fakeUserDTO);
 
@@ -252,9 +242,6 @@ public class RegistrationServiceTest {
     UserDTO fakeUserDTO = beanFactory.getBean(UserDTO.class);
     fakeUserDTO.setUsername(null);
 
-    Mockito.when(userRepository.findByEmail(fakeUserDTO.getEmail())).thenReturn(Optional.empty());
-    Mockito.when(userRepository.findByUsername(fakeUserDTO.getUsername())).thenReturn(Optional.empty());
-
     String result = registrationService.getErrorMessageForRegister(fakeUserDTO);
     Assert.assertEquals("Username is missing!", result);
   }
@@ -264,9 +251,6 @@ public class RegistrationServiceTest {
     UserDTO fakeUserDTO = beanFactory.getBean(UserDTO.class);
     fakeUserDTO.setUsername("");
 
-    Mockito.when(userRepository.findByEmail(fakeUserDTO.getEmail())).thenReturn(Optional.empty());
-    Mockito.when(userRepository.findByUsername(fakeUserDTO.getUsername())).thenReturn(Optional.empty());
-
     String result = registrationService.getErrorMessageForRegister(fakeUserDTO);
 
     Assert.assertEquals("Username is missing!", result);
@@ -275,9 +259,8 @@ public class RegistrationServiceTest {
   @Test
   public void getErrorMessageForRegister_WhenUsernameIsNotUnique_ReturnProperErrorMessage() {
     UserDTO fakeUserDTO = beanFactory.getBean(UserDTO.class);
-    Mockito.when(userRepository.findByEmail(fakeUserDTO.getEmail())).thenReturn(Optional.empty());
-    Mockito.when(userRepository.findByUsername(fakeUserDTO.getUsername()))
-        .thenReturn(Optional.of(beanFactory.getBean("fakeUser", User.class)));
+    Mockito.when(userRepository.findIdentifiersByUsernameOrEmail(fakeUserDTO.getUsername(), fakeUserDTO.getEmail()))
+        .thenReturn(Collections.singletonList(userIdentifiers(fakeUserDTO.getUsername(), null)));
 
     String result = registrationService.getErrorMessageForRegister(fakeUserDTO);
 
@@ -289,10 +272,8 @@ public class RegistrationServiceTest {
     UserDTO fakeUserDTO = beanFactory.getBean(UserDTO.class);
     fakeUserDTO.setPassword(null);
     fakeUserDTO.setEmail("mail");
-    Mockito.when(userRepository.findByEmail(fakeUserDTO.getEmail()))
-        .thenReturn(Optional.of(beanFactory.getBean("fakeUser", User.class)));
-    Mockito.when(userRepository.findByUsername(fakeUserDTO.getUsername()))
-        .thenReturn(Optional.of(beanFactory.getBean("fakeUser", User.class)));
+    Mockito.when(userRepository.findIdentifiersByUsernameOrEmail(fakeUserDTO.getUsername(), fakeUserDTO.getEmail()))
+        .thenReturn(Collections.singletonList(userIdentifiers(fakeUserDTO.getUsername(), fakeUserDTO.getEmail())));
 
     String result = registrationService.getErrorMessageForRegister(fakeUserDTO);
 
@@ -304,9 +285,6 @@ public class RegistrationServiceTest {
   public void getErrorMessageForRegister_WhenUserDTOIsValid_ReturnEmptyList() {
     UserDTO fakeUserDTO = beanFactory.getBean(UserDTO.class);
 
-    Mockito.when(userRepository.findByEmail(fakeUserDTO.getEmail())).thenReturn(Optional.empty());
-    Mockito.when(userRepository.findByUsername(fakeUserDTO.getUsername())).thenReturn(Optional.empty());
-
     String result = registrationService.getErrorMessageForRegister(fakeUserDTO);
 
     Assert.assertEquals("", result);
@@ -317,9 +295,6 @@ public class RegistrationServiceTest {
     UserDTO fakeUserDTO = beanFactory.getBean(UserDTO.class);
     fakeUserDTO.setPassword(null);
 
-    Mockito.when(userRepository.findByEmail(fakeUserDTO.getEmail())).thenReturn(Optional.empty());
-    Mockito.when(userRepository.findByUsername(fakeUserDTO.getUsername())).thenReturn(Optional.empty());
-
     boolean result = registrationService.checkRequiredParametersForRegister(fakeUserDTO);
 
     Assert.assertFalse(result);
@@ -330,9 +305,6 @@ public class RegistrationServiceTest {
     UserDTO fakeUserDTO = beanFactory.getBean(UserDTO.class);
     fakeUserDTO.setPassword("");
 
-    Mockito.when(userRepository.findByEmail(fakeUserDTO.getEmail())).thenReturn(Optional.empty());
-    Mockito.when(userRepository.findByUsername(fakeUserDTO.getUsername())).thenReturn(Optional.empty());
-
     boolean result = registrationService.checkRequiredParametersForRegister(fakeUserDTO);
 
     Assert.assertFalse(result);
@@ -343,9 +315,6 @@ public class RegistrationServiceTest {
     UserDTO fakeUserDTO = beanFactory.getBean(UserDTO.class);
     fakeUserDTO.setEmail(null);
 
-    Mockito.when(userRepository.findByEmail(fakeUserDTO.getEmail())).thenReturn(Optional.empty());
-    Mockito.when(userRepository.findByUsername(fakeUserDTO.getUsername())).thenReturn(Optional.empty());
-
     boolean result = registrationService.checkRequiredParametersForRegister(fakeUserDTO);
 
     Assert.assertFalse(result);
@@ -356,9 +325,6 @@ public class RegistrationServiceTest {
     UserDTO fakeUserDTO = beanFactory.getBean(UserDTO.class);
     fakeUserDTO.setEmail("fakeEmailfake.com");
 
-    Mockito.when(userRepository.findByEmail(fakeUserDTO.getEmail())).thenReturn(Optional.empty());
-    Mockito.when(userRepository.findByUsername(fakeUserDTO.getUsername())).thenReturn(Optional.empty());
-
     boolean result = registrationService.checkRequiredParametersForRegister(fakeUserDTO);
 
     Assert.assertFalse(result);
@@ -369,9 +335,6 @@ public class RegistrationServiceTest {
     UserDTO fakeUserDTO = beanFactory.getBean(UserDTO.class);
     fakeUserDTO.setEmail("fakeEmail@fakecom");
 
-    Mockito.when(userRepository.findByEmail(fakeUserDTO.getEmail())).thenReturn(Optional.empty());
-    Mockito.when(userRepository.findByUsername(fakeUserDTO.getUsername())).thenReturn(Optional.empty());
-
     boolean result = registrationService.checkRequiredParametersForRegister(fakeUserDTO);
 
     Assert.assertFalse(result);
@@ -382,9 +345,6 @@ public class RegistrationServiceTest {
     UserDTO fakeUserDTO = beanFactory.getBean(UserDTO.class);
     fakeUserDTO.setEmail("f@a.m");
 
-    Mockito.when(userRepository.findByEmail(fakeUserDTO.getEmail())).thenReturn(Optional.empty());
-    Mockito.when(userRepository.findByUsername(fakeUserDTO.getUsername())).thenReturn(Optional.empty());
-
     boolean result = registrationService.checkRequiredParametersForRegister(fakeUserDTO);
 
     Assert.assertFalse(result);
@@ -395,9 +355,8 @@ public class RegistrationServiceTest {
     UserDTO fakeUserDTO = beanFactory.getBean(UserDTO.class);
     fakeUserDTO.setEmail("fakeEmailfake.com");
 
-    Mockito.when(userRepository.findByEmail(fakeUserDTO.getEmail()))
-        .thenReturn(Optional.of(beanFactory.getBean("fakeUser", User.class)));
-    Mockito.when(userRepository.findByUsername(fakeUserDTO.getUsername())).thenReturn(Optional.empty());
+    Mockito.when(userRepository.findIdentifiersByUsernameOrEmail(fakeUserDTO.getUsername(), fakeUserDTO.getEmail()))
+        .thenReturn(Collections.singletonList(userIdentifiers(null, fakeUserDTO.getEmail())));
 
     boolean result = registrationService.checkRequiredParametersForRegister(fakeUserDTO);
 
@@ -409,9 +368,6 @@ public class RegistrationServiceTest {
     UserDTO fakeUserDTO = beanFactory.getBean(UserDTO.class);
     fakeUserDTO.setUsername(null);
 
-    Mockito.when(userRepository.findByEmail(fakeUserDTO.getEmail())).thenReturn(Optional.empty());
-    Mockito.when(userRepository.findByUsername(fakeUserDTO.getUsername())).thenReturn(Optional.empty());
-
     boolean result = registrationService.checkRequiredParametersForRegister(fakeUserDTO);
 
     Assert.assertFalse(result);
@@ -422,9 +378,6 @@ public class RegistrationServiceTest {
     UserDTO fakeUserDTO = beanFactory.getBean(UserDTO.class);
     fakeUserDTO.setUsername("");
 
-    Mockito.when(userRepository.findByEmail(fakeUserDTO.getEmail())).thenReturn(Optional.empty());
-    Mockito.when(userRepository.findByUsername(fakeUserDTO.getUsername())).thenReturn(Optional.empty());
-
     boolean result = registrationService.checkRequiredParametersForRegister(fakeUserDTO);
 
     Assert.assertFalse(result);
@@ -433,9 +386,8 @@ public class RegistrationServiceTest {
   @Test
   public void checkRequiredParametersForRegister_WhenUsernameIsNotUnique_ReturnFalse() {
     UserDTO fakeUserDTO = beanFactory.getBean(UserDTO.class);
-    Mockito.when(userRepository.findByEmail(fakeUserDTO.getEmail())).thenReturn(Optional.empty());
-    Mockito.when(userRepository.findByUsername(fakeUserDTO.getUsername()))
-        .thenReturn(Optional.of(beanFactory.getBean("fakeUser", User.class)));
+    Mockito.when(userRepository.findIdentifiersByUsernameOrEmail(fakeUserDTO.getUsername(), fakeUserDTO.getEmail()))
+        .thenReturn(Collections.singletonList(userIdentifiers(fakeUserDTO.getUsername(), null)));
 
     boolean result = registrationService.checkRequiredParametersForRegister(fakeUserDTO);
 
@@ -447,10 +399,8 @@ public class RegistrationServiceTest {
     UserDTO fakeUserDTO = beanFactory.getBean(UserDTO.class);
     fakeUserDTO.setPassword(null);
     fakeUserDTO.setEmail("mail");
-    Mockito.when(userRepository.findByEmail(fakeUserDTO.getEmail()))
-        .thenReturn(Optional.of(beanFactory.getBean("fakeUser", User.class)));
-    Mockito.when(userRepository.findByUsername(fakeUserDTO.getUsername()))
-        .thenReturn(Optional.of(beanFactory.getBean("fakeUser", User.class)));
+    Mockito.when(userRepository.findIdentifiersByUsernameOrEmail(fakeUserDTO.getUsername(), fakeUserDTO.getEmail()))
+        .thenReturn(Collections.singletonList(userIdentifiers(fakeUserDTO.getUsername(), fakeUserDTO.getEmail())));
 
     boolean result = registrationService.checkRequiredParametersForRegister(fakeUserDTO);
 
@@ -461,9 +411,6 @@ public class RegistrationServiceTest {
   public void checkRequiredParametersForRegister_WhenUserDTOIsValid_ReturnTrue() {
     UserDTO fakeUserDTO = beanFactory.getBean(UserDTO.class);
 
-    Mockito.when(userRepository.findByEmail(fakeUserDTO.getEmail())).thenReturn(Optional.empty());
-    Mockito.when(userRepository.findByUsername(fakeUserDTO.getUsername())).thenReturn(Optional.empty());
-
     boolean result = registrationService.checkRequiredParametersForRegister(fakeUserDTO);
 
     Assert.assertTrue(result);
@@ -513,6 +460,62 @@ public class RegistrationServiceTest {
     registrationService.verifyUser(fakeUser);
   }
 
+  @Test
+  public void verifyUser_WhenTokenMatchesUnverifiedUser_ReturnTrue() {
+    String token = UUID.randomUUID().toString();
+    Mockito.when(userRepository.verifyByIdAndToken(1, token)).thenReturn(1);
+
+    Assert.assertTrue(registrationService.verifyUser(1, token));
+  }
+
+  @Test
+  public void verifyUser_WhenNoRowIsUpdated_ReturnFalse() {
+    String token = UUID.randomUUID().toString();
+    Mockito.when(userRepository.verifyByIdAndToken(1, token)).thenReturn(0);
+
+    Assert.assertFalse(registrationService.verifyUser(1, token));
+  }
+
+  @Test
+  public void verifyUser_WhenBareTokenMatchesUnverifiedUser_ReturnUsername() {
+    String token = UUID.randomUUID().toString();
+    Mockito.when(userRepository.verifyByToken(token)).thenReturn(1);
+    Mockito.when(verificationTokenRepository.findUsernameByToken(token)).thenReturn(Optional.of("fakeUser"));
+
+    Assert.assertEquals("fakeUser", registrationService.verifyUser(token));
+  }
+
+  @Test
+  public void verifyUser_WhenBareTokenUpdatesNoRow_ReturnNullWithoutReadingUsername() {
+    String token = UUID.randomUUID().toString();
+    Mockito.when(userRepository.verifyByToken(token)).thenReturn(0);
+
+    Assert.assertNull(registrationService.verifyUser(token));
+    Mockito.verify(verificationTokenRepository, Mockito.never()).findUsernameByToken(Mockito.any());
+  }
+
+  @Test
+  public void verifyUser_WhenBareTokenIsNotUuid_ReturnNullWithoutQuery() {
+    Assert.assertNull(registrationService.verifyUser("test"));
+    Mockito.verify(userRepository, Mockito.never()).verifyByToken(Mockito.any());
+  }
+
+  @Test(expected = VerificationTokenDoesNotExistException.class)
+  public void getVerificationStatus_WhenTokenIsNotUuid_ThrowExceptionWithoutQuery() {
+    try {
+      registrationService.getVerificationStatus("test");
+    } finally {
+      Mockito.verify(verificationTokenRepository, Mockito.never()).findStatusByToken(Mockito.any());
+    }
+  }
+
+  @Test(expected = VerificationTokenDoesNotExistException.class)
+  public void getVerificationStatus_WhenTokenIsNotExist_ThrowException() {
+    Mockito.when(verificationTokenRepository.findStatusByToken(Mockito.anyString())).thenReturn(Optional.empty());
+
+    registrationService.getVerificationStatus(UUID.randomUUID().toString());
+  }
+
   @Test
   public void getVerificationToken_WhenTokenIsExist_ReturnToken() {
     Mockito.when(verificationTokenRepository.findByToken(Mockito.anyString()))
@@ -549,4 +552,18 @@ public class RegistrationServiceTest {
 
     Assert.assertFalse(result);
   }
+
+  private UserIdentifiers userIdentifiers(String username, String email) {
+    return new UserIdentifiers() {
+      @Override
+      public String getUsername() {
+        return username;
+      }
+
+      @Override
+      public String getEmail() {
+        return email;
+      }
+    };
+  }
 }
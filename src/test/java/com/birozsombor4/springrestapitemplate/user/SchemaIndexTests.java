@@ -0,0 +1,46 @@
+package com.birozsombor4.springrestapitemplate.user;
+
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class SchemaIndexTests {
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  public void findByUsername_UsesIndex() {
+    assertUsesIndex("SELECT * FROM users WHERE username = 'fakeUser'");
+  }
+
+  @Test
+  public void findByEmail_UsesIndex() {
+    assertUsesIndex("SELECT * FROM users WHERE email = 'fakeEmail@fake.com'");
+  }
+
+  @Test
+  public void findByToken_UsesIndex() {
+    assertUsesIndex("SELECT * FROM verification_tokens WHERE token = X'cbdf035ee2ce11ea87d00242ac130003'");
+  }
+
+  @Test
+  public void findExpiredTokens_UsesIndex() {
+    assertUsesIndex("SELECT id FROM verification_tokens WHERE expiry_date < TIMESTAMP '2020-06-05 12:00:00'");
+  }
+
+  private void assertUsesIndex(String query) {
+    List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + query, String.class);
+    String joinedPlan = String.join("\n", plan);
+    Assert.assertFalse("Expected an index lookup but got: " + joinedPlan, joinedPlan.contains("tableScan"));
+  }
+}
@@ -0,0 +1,39 @@
+package com.birozsombor4.springrestapitemplate.user;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:validate;MODE=MySQL",
+    "spring.jpa.hibernate.ddl-auto=validate"})
+public class SchemaValidationTests {
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  public void flywayMigrations_MatchEntityMappings() {
+    List<String> tokenColumnType = jdbcTemplate.queryForList("SELECT TYPE_NAME FROM INFORMATION_SCHEMA.COLUMNS "
+        + "WHERE TABLE_NAME = 'VERIFICATION_TOKENS' AND COLUMN_NAME = 'TOKEN'", String.class);
+    Assert.assertEquals(Arrays.asList("VARBINARY"), tokenColumnType);
+  }
+
+  @Test
+  public void binaryTokenMigration_CreatesUniqueTokenIndex() {
+    Integer uniqueTokenIndexes = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES "
+        + "WHERE TABLE_NAME = 'VERIFICATION_TOKENS' AND COLUMN_NAME = 'TOKEN' AND NON_UNIQUE = FALSE", Integer.class);
+    Assert.assertEquals(Integer.valueOf(1), uniqueTokenIndexes);
+  }
+}
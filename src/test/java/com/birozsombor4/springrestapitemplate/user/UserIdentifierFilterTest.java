@@ -0,0 +1,89 @@
+package com.birozsombor4.springrestapitemplate.user;
+
+import com.birozsombor4.springrestapitemplate.respositories.UserIdentifierFilter;
+import com.birozsombor4.springrestapitemplate.respositories.UserIdentifiers;
+import com.birozsombor4.springrestapitemplate.respositories.UserRepository;
+import com.birozsombor4.springrestapitemplate.services.RegistrationConfig;
+import java.util.Collections;
+import java.util.stream.Stream;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class UserIdentifierFilterTest {
+
+  private UserRepository userRepository;
+  private UserIdentifierFilter userIdentifierFilter;
+
+  @Before
+  public void setup() {
+    userRepository = Mockito.mock(UserRepository.class);
+    UserIdentifiers fakeUserIdentifiers = userIdentifiers("fakeUser", "fakeEmail@fake.com");
+    Mockito.when(userRepository.streamAllIdentifiers()).thenReturn(Stream.of(fakeUserIdentifiers));
+    Mockito.when(userRepository.findIdentifiersByUsernameOrEmail(Mockito.any(), Mockito.any()))
+        .thenReturn(Collections.singletonList(fakeUserIdentifiers));
+    userIdentifierFilter = new UserIdentifierFilter(userRepository,
+        new RegistrationConfig(true, 1000, 0.01, 0, 0, false, null));
+  }
+
+  @Test
+  public void findIdentifiersByUsernameOrEmail_BeforeWarmUp_QueriesRepository() {
+    userIdentifierFilter.findIdentifiersByUsernameOrEmail("newUser", "newEmail@fake.com");
+
+    Mockito.verify(userRepository).findIdentifiersByUsernameOrEmail("newUser", "newEmail@fake.com");
+  }
+
+  @Test
+  public void findIdentifiersByUsernameOrEmail_WithUnknownIdentifiers_SkipsRepository() {
+    userIdentifierFilter.warmUp();
+
+    Assert.assertTrue(userIdentifierFilter.findIdentifiersByUsernameOrEmail("newUser", "newEmail@fake.com").isEmpty());
+    Mockito.verify(userRepository, Mockito.never()).findIdentifiersByUsernameOrEmail(Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  public void findIdentifiersByUsernameOrEmail_WithExistingUsernameInOtherCase_QueriesRepository() {
+    userIdentifierFilter.warmUp();
+
+    Assert.assertEquals(1, userIdentifierFilter.findIdentifiersByUsernameOrEmail("FAKEUSER", "newEmail@fake.com")
+        .size());
+    Mockito.verify(userRepository).findIdentifiersByUsernameOrEmail("FAKEUSER", "newEmail@fake.com");
+  }
+
+  @Test
+  public void findIdentifiersByUsernameOrEmail_AfterPut_QueriesRepository() {
+    userIdentifierFilter.warmUp();
+    userIdentifierFilter.put("newUser", "newEmail@fake.com");
+
+    userIdentifierFilter.findIdentifiersByUsernameOrEmail("otherUser", "newEmail@fake.com");
+
+    Mockito.verify(userRepository).findIdentifiersByUsernameOrEmail("otherUser", "newEmail@fake.com");
+  }
+
+  @Test
+  public void getFalsePositiveRate_WithEmptyQueryResult_CountsFalsePositive() {
+    userIdentifierFilter.warmUp();
+    Mockito.when(userRepository.findIdentifiersByUsernameOrEmail(Mockito.any(), Mockito.any()))
+        .thenReturn(Collections.emptyList());
+
+    userIdentifierFilter.findIdentifiersByUsernameOrEmail("fakeUser", null);
+    userIdentifierFilter.findIdentifiersByUsernameOrEmail("newUser", null);
+
+    Assert.assertEquals(0.5, userIdentifierFilter.getFalsePositiveRate(), 0.0001);
+  }
+
+  private UserIdentifiers userIdentifiers(String username, String email) {
+    return new UserIdentifiers() {
+      @Override
+      public String getUsername() {
+        return username;
+      }
+
+      @Override
+      public String getEmail() {
+        return email;
+      }
+    };
+  }
+}
@@ -0,0 +1,80 @@
+package com.birozsombor4.springrestapitemplate.user;
+
+import com.birozsombor4.springrestapitemplate.models.daos.User;
+import com.birozsombor4.springrestapitemplate.respositories.UserIdentityMap;
+import com.birozsombor4.springrestapitemplate.respositories.UserRepository;
+import java.util.Optional;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+public class UserIdentityMapTest {
+
+  private UserRepository userRepository;
+  private UserIdentityMap userIdentityMap;
+  private User fakeUser;
+
+  @Before
+  public void setup() {
+    userRepository = Mockito.mock(UserRepository.class);
+    userIdentityMap = new UserIdentityMap(userRepository);
+    fakeUser = new User(1, "fakeUser", "fakePassword", "fakeUser@fakeEmail.com");
+    Mockito.when(userRepository.findByUsername("fakeUser")).thenReturn(Optional.of(fakeUser));
+    Mockito.when(userRepository.findById(1)).thenReturn(Optional.of(fakeUser));
+  }
+
+  @After
+  public void cleanup() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  public void findByUsername_WithinRequest_LoadsUserOnce() {
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+    User first = userIdentityMap.findByUsername("fakeUser").get();
+    User second = userIdentityMap.findByUsername("fakeUser").get();
+    User byId = userIdentityMap.findById(1).get();
+
+    Assert.assertSame(first, second);
+    Assert.assertSame(first, byId);
+    Mockito.verify(userRepository, Mockito.times(1)).findByUsername("fakeUser");
+    Mockito.verify(userRepository, Mockito.never()).findById(1);
+  }
+
+  @Test
+  public void findByUsername_InSeparateRequests_LoadsUserForEachRequest() {
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    userIdentityMap.findByUsername("fakeUser");
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    userIdentityMap.findByUsername("fakeUser");
+
+    Mockito.verify(userRepository, Mockito.times(2)).findByUsername("fakeUser");
+  }
+
+  @Test
+  public void findByUsername_OutsideRequest_AlwaysQueriesRepository() {
+    userIdentityMap.findByUsername("fakeUser");
+    userIdentityMap.findByUsername("fakeUser");
+
+    Mockito.verify(userRepository, Mockito.times(2)).findByUsername("fakeUser");
+  }
+
+  @Test
+  public void save_WithinRequest_ReplacesCachedMissingUser() {
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    Mockito.when(userRepository.findByUsername("newUser")).thenReturn(Optional.empty());
+    User newUser = new User(2, "newUser", "fakePassword", "newUser@fakeEmail.com");
+    Mockito.when(userRepository.save(newUser)).thenReturn(newUser);
+
+    Assert.assertFalse(userIdentityMap.findByUsername("newUser").isPresent());
+    userIdentityMap.save(newUser);
+
+    Assert.assertSame(newUser, userIdentityMap.findByUsername("newUser").get());
+  }
+}
@@ -5,6 +5,7 @@ import com.birozsombor4.springrestapitemplate.exceptions.FailedFileLoadingExcept
 import com.birozsombor4.springrestapitemplate.exceptions.UserNotFoundException;
 import com.birozsombor4.springrestapitemplate.models.daos.User;
 import com.birozsombor4.springrestapitemplate.models.dtos.UserDTO;
+import com.birozsombor4.springrestapitemplate.respositories.UserIdentityMap;
 import com.birozsombor4.springrestapitemplate.respositories.UserRepository;
 import com.birozsombor4.springrestapitemplate.services.UserService;
 import com.birozsombor4.springrestapitemplate.services.UserServiceImpl;
@@ -39,7 +40,7 @@ public class UserServiceTest {
   public void setup() {
     userRepository = Mockito.mock(UserRepository.class);
     avatarService = Mockito.mock(AvatarService.class);
-    userService = new UserServiceImpl(userRepository, avatarService);
+    userService = new UserServiceImpl(new UserIdentityMap(userRepository), avatarService);
   }
 
   @Test
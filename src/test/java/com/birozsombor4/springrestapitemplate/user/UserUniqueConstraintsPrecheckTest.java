@@ -0,0 +1,55 @@
+package com.birozsombor4.springrestapitemplate.user;
+
+import com.birozsombor4.springrestapitemplate.respositories.UserUniqueConstraintsPrecheck;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+public class UserUniqueConstraintsPrecheckTest {
+
+  @Test
+  public void migrate_WithDuplicateUsernames_FailsWithClearMessage() {
+    DriverManagerDataSource dataSource = dataSource("precheckDuplicates");
+    flyway(dataSource, "0.0.4").migrate();
+    insertUser(dataSource, 1, "fakeUser", "fakeEmail@fake.com");
+    insertUser(dataSource, 2, "fakeUser", "otherEmail@fake.com");
+
+    try {
+      flyway(dataSource, "0.0.5").migrate();
+      Assert.fail("Expected the migration to be refused");
+    } catch (FlywayException e) {
+      Assert.assertTrue(e.getMessage(), e.getMessage().contains("username 'fakeUser' (2 rows)"));
+      Assert.assertFalse(e.getMessage(), e.getMessage().contains("email '"));
+    }
+  }
+
+  @Test
+  public void migrate_WithoutDuplicates_AddsUniqueConstraints() {
+    DriverManagerDataSource dataSource = dataSource("precheckUnique");
+    flyway(dataSource, "0.0.4").migrate();
+    insertUser(dataSource, 1, "fakeUser", "fakeEmail@fake.com");
+    insertUser(dataSource, 2, "fakeUser2", "fakeEmail2@fake.com");
+
+    Assert.assertEquals(1, flyway(dataSource, "0.0.5").migrate());
+  }
+
+  private DriverManagerDataSource dataSource(String name) {
+    return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+  }
+
+  private Flyway flyway(DriverManagerDataSource dataSource, String target) {
+    return Flyway.configure()
+        .dataSource(dataSource)
+        .target(target)
+        .callbacks(new UserUniqueConstraintsPrecheck())
+        .load();
+  }
+
+  private void insertUser(DriverManagerDataSource dataSource, int id, String username, String email) {
+    new JdbcTemplate(dataSource).update("INSERT INTO users (id, username, password, avatar, email, verified) "
+        + "VALUES (?, ?, 'fakePassword', 'default.png', ?, 1)", id, username, email);
+  }
+}
@@ -0,0 +1,62 @@
+package com.birozsombor4.springrestapitemplate.user;
+
+import com.birozsombor4.springrestapitemplate.models.daos.User;
+import com.birozsombor4.springrestapitemplate.services.RegistrationConfig;
+import com.birozsombor4.springrestapitemplate.services.VerificationResendCoalescer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class VerificationResendCoalescerTest {
+
+  private final AtomicLong clock = new AtomicLong();
+  private VerificationResendCoalescer coalescer;
+  private User fakeUser;
+
+  @Before
+  public void setup() {
+    coalescer = new VerificationResendCoalescer(new RegistrationConfig(false, 0, 0, 60, 2, false, null), clock::get);
+    fakeUser = new User(1, "fakeUser", "fakePassword", "fakeEmail@fake.com");
+  }
+
+  @Test
+  public void tryAcquire_WithinWindow_CoalescesResends() {
+    Assert.assertTrue(coalescer.tryAcquire("expiredToken", fakeUser));
+    Assert.assertFalse(coalescer.tryAcquire("otherExpiredToken", fakeUser));
+
+    Assert.assertEquals("fakeEmail@fake.com", coalescer.findRenewedEmail("expiredToken"));
+    Assert.assertNull(coalescer.findRenewedEmail("otherExpiredToken"));
+    Assert.assertEquals(2, coalescer.getAvoidedSends());
+  }
+
+  @Test
+  public void tryAcquire_AfterWindow_AllowsResend() {
+    coalescer.tryAcquire("expiredToken", fakeUser);
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+    Assert.assertNull(coalescer.findRenewedEmail("expiredToken"));
+    Assert.assertTrue(coalescer.tryAcquire("renewedToken", fakeUser));
+  }
+
+  @Test
+  public void release_AfterFailedResend_AllowsRetry() {
+    coalescer.tryAcquire("expiredToken", fakeUser);
+
+    coalescer.release("expiredToken", fakeUser);
+
+    Assert.assertNull(coalescer.findRenewedEmail("expiredToken"));
+    Assert.assertTrue(coalescer.tryAcquire("expiredToken", fakeUser));
+  }
+
+  @Test
+  public void tryAcquire_WhenFullOfLiveEntries_FailsOpen() {
+    coalescer.tryAcquire("expiredToken", fakeUser);
+    User otherUser = new User(2, "otherUser", "fakePassword", "other@fake.com");
+
+    Assert.assertTrue(coalescer.tryAcquire("otherToken", otherUser));
+    Assert.assertTrue(coalescer.tryAcquire("otherToken", otherUser));
+    Assert.assertEquals(2, coalescer.size());
+  }
+}
@@ -0,0 +1,143 @@
+package com.birozsombor4.springrestapitemplate.user;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.birozsombor4.springrestapitemplate.models.daos.User;
+import com.birozsombor4.springrestapitemplate.models.daos.VerificationResendJob;
+import com.birozsombor4.springrestapitemplate.models.dtos.VerificationResendJobDTO;
+import com.birozsombor4.springrestapitemplate.respositories.UserRepository;
+import com.birozsombor4.springrestapitemplate.respositories.VerificationResendJobRepository;
+import com.birozsombor4.springrestapitemplate.services.VerificationResendJobRunner;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import java.time.LocalDateTime;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles("test")
+@Sql(value = {"/db/test/clear_allTable.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class VerificationResendJobTests {
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+  @Autowired
+  private VerificationResendJobRepository verificationResendJobRepository;
+  @Autowired
+  private VerificationResendJobRunner verificationResendJobRunner;
+  private GreenMail smtpServer;
+
+  @Before
+  public void setup() throws Exception {
+    smtpServer = new GreenMail(ServerSetupTest.SMTP);
+    smtpServer.start();
+    for (int i = 1; i <= 3; i++) {
+      mockMvc.perform(post("/register")
+          .contentType(MediaType.APPLICATION_JSON)
+          .content("{\"username\": \"resendUser" + i + "\", \"password\": \"fakePassword\", "
+              + "\"email\": \"resend" + i + "@fake.com\"}"))
+          .andExpect(status().isOk());
+    }
+    Assert.assertTrue(smtpServer.waitForIncomingEmail(5000, 3));
+    User verifiedUser = userRepository.findByUsername("resendUser1").get();
+    verifiedUser.setVerified(true);
+    userRepository.save(verifiedUser);
+  }
+
+  @After
+  public void tearDown() {
+    smtpServer.stop();
+  }
+
+  @Test
+  public void start_WithUnverifiedUsers_RenewsTokensAndResendsEmails() throws Exception {
+    String oldToken = tokenOf("resendUser2");
+
+    VerificationResendJobDTO job = verificationResendJobRunner.start();
+
+    Assert.assertEquals(VerificationResendJob.RUNNING, job.getStatus());
+    Assert.assertEquals(2, job.getRemaining());
+    VerificationResendJobDTO finishedJob = awaitCompletion();
+    Assert.assertEquals(2, finishedJob.getProcessed());
+    Assert.assertTrue(smtpServer.waitForIncomingEmail(5000, 5));
+    Assert.assertEquals(5, smtpServer.getReceivedMessages().length);
+    Assert.assertNotEquals(oldToken, tokenOf("resendUser2"));
+  }
+
+  @Test
+  public void requestResume_WithAbandonedJob_ContinuesAfterCheckpoint() throws Exception {
+    String skippedToken = tokenOf("resendUser2");
+    String pendingToken = tokenOf("resendUser3");
+    VerificationResendJob abandonedJob = new VerificationResendJob(LocalDateTime.now().minusMinutes(5));
+    abandonedJob.setLastUserId(userRepository.findByUsername("resendUser2").get().getId());
+    abandonedJob.setProcessed(1);
+    abandonedJob.setLeaseOwner("crashedNode");
+    abandonedJob.setLeaseUntil(LocalDateTime.now().minusMinutes(1));
+    verificationResendJobRepository.save(abandonedJob);
+
+    verificationResendJobRunner.requestResume();
+
+    Assert.assertEquals(2, awaitCompletion().getProcessed());
+    Assert.assertTrue(smtpServer.waitForIncomingEmail(5000, 4));
+    Assert.assertEquals(skippedToken, tokenOf("resendUser2"));
+    Assert.assertNotEquals(pendingToken, tokenOf("resendUser3"));
+  }
+
+  @Test(expected = DataIntegrityViolationException.class)
+  public void save_WithSecondRunningJob_IsRejectedByTheDatabase() {
+    VerificationResendJob runningJob = new VerificationResendJob(LocalDateTime.now());
+    runningJob.setLeaseOwner("otherNode");
+    runningJob.setLeaseUntil(LocalDateTime.now().plusMinutes(5));
+    verificationResendJobRepository.save(runningJob);
+
+    verificationResendJobRepository.save(new VerificationResendJob(LocalDateTime.now()));
+  }
+
+  @Test
+  public void start_WhileAnotherNodeRunsAJob_ReturnsTheRunningJob() {
+    VerificationResendJob runningJob = new VerificationResendJob(LocalDateTime.now());
+    runningJob.setLeaseOwner("otherNode");
+    runningJob.setLeaseUntil(LocalDateTime.now().plusMinutes(5));
+    runningJob = verificationResendJobRepository.save(runningJob);
+
+    Assert.assertEquals(runningJob.getId(), verificationResendJobRunner.start().getId());
+    Assert.assertEquals(1, verificationResendJobRepository.count());
+  }
+
+  private VerificationResendJobDTO awaitCompletion() throws InterruptedException {
+    for (int i = 0; i < 50; i++) {
+      VerificationResendJobDTO job = verificationResendJobRunner.getLatestJob().get();
+      if (!VerificationResendJob.RUNNING.equals(job.getStatus())) {
+        Assert.assertEquals(VerificationResendJob.COMPLETED, job.getStatus());
+        return job;
+      }
+      Thread.sleep(100);
+    }
+    throw new AssertionError("Verification resend job did not complete");
+  }
+
+  private String tokenOf(String username) {
+    return jdbcTemplate.queryForObject("SELECT t.token FROM verification_tokens t "
+        + "JOIN users u ON t.user_id = u.id WHERE u.username = ?", String.class, username);
+  }
+}
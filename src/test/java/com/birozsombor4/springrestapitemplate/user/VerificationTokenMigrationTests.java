@@ -0,0 +1,92 @@
+package com.birozsombor4.springrestapitemplate.user;
+
+import com.birozsombor4.springrestapitemplate.models.daos.UuidBinaryConverter;
+import java.util.List;
+import java.util.UUID;
+import org.flywaydb.core.Flyway;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+public class VerificationTokenMigrationTests {
+
+  private DriverManagerDataSource dataSource;
+  private JdbcTemplate jdbcTemplate;
+
+  @Before
+  public void setup() {
+    dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "sa", "");
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    migrate("0.0.7");
+    jdbcTemplate.update("INSERT INTO users (id, username, password, email, avatar, verified) "
+        + "VALUES (1, 'fakeUser', 'fakePassword', 'fakeEmail@fake.com', 'default.png', 0)");
+  }
+
+  @Test
+  public void storeTokensAsBinary_WithUuidToken_KeepsToken() {
+    String token = UUID.randomUUID().toString();
+    insertToken(1, token);
+
+    migrate("0.0.8");
+
+    Assert.assertEquals(token, UuidBinaryConverter.fromBytes(readToken(1)));
+  }
+
+  @Test
+  public void storeTokensAsBinary_WithNonUuidToken_ReplacesItWithRandomUuid() {
+    insertToken(1, "legacy-token");
+    insertToken(2, "another-legacy-token");
+
+    migrate("0.0.8");
+
+    byte[] first = readToken(1);
+    byte[] second = readToken(2);
+    Assert.assertNotNull(first);
+    Assert.assertNotNull(second);
+    Assert.assertTrue(UuidBinaryConverter.isValid(UuidBinaryConverter.fromBytes(first)));
+    Assert.assertNotEquals(UuidBinaryConverter.fromBytes(first), UuidBinaryConverter.fromBytes(second));
+  }
+
+  @Test
+  public void storeTokensAsBinary_MakesTokenNotNull() {
+    insertToken(1, UUID.randomUUID().toString());
+
+    migrate("0.0.8");
+
+    Assert.assertEquals("NO", jdbcTemplate.queryForObject("SELECT IS_NULLABLE FROM INFORMATION_SCHEMA.COLUMNS "
+        + "WHERE TABLE_NAME = 'VERIFICATION_TOKENS' AND COLUMN_NAME = 'TOKEN'", String.class));
+  }
+
+  @Test
+  public void storeTokensAsBinary_AfterInterruptedRun_ContinuesFromCurrentSchema() {
+    String token = UUID.randomUUID().toString();
+    insertToken(1, token);
+    insertToken(2, "legacy-token");
+    jdbcTemplate.execute("ALTER TABLE verification_tokens ADD COLUMN token_uuid VARBINARY(16) NULL");
+    jdbcTemplate.update("UPDATE verification_tokens SET token_uuid = ? WHERE id = 1",
+        UuidBinaryConverter.toBytes(token));
+
+    migrate("0.0.8");
+
+    Assert.assertEquals(token, UuidBinaryConverter.fromBytes(readToken(1)));
+    Assert.assertTrue(UuidBinaryConverter.isValid(UuidBinaryConverter.fromBytes(readToken(2))));
+  }
+
+  private void migrate(String target) {
+    Flyway.configure().dataSource(dataSource).target(target).load().migrate();
+  }
+
+  private void insertToken(int id, String token) {
+    jdbcTemplate.update("INSERT INTO verification_tokens (id, expiry_date, token, user_id) "
+        + "VALUES (?, '2020-06-05 12:00:00', ?, 1)", id, token);
+  }
+
+  private byte[] readToken(int id) {
+    List<byte[]> tokens = jdbcTemplate.queryForList("SELECT token FROM verification_tokens WHERE id = ?",
+        byte[].class, id);
+    return tokens.get(0);
+  }
+}